@@ -0,0 +1,153 @@
+package datastructures.arrays;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks comparing ArrayList against {@code java.util.ArrayList}.
+ *
+ * The lists hold size elements. The distribution decides which indices are
+ * accessed: sequential walks the list from front to back, random picks
+ * uniformly random indices and skewed concentrates on the front of the list,
+ * which is the expensive end for index insertion and removal.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ArrayListBenchmark {
+    private static final int OPERATIONS = 1 << 16;
+    private static final double SKEW = 4.0;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    private int size;
+
+    @Param({"sequential", "random", "skewed"})
+    private String distribution;
+
+    private Integer[] values;
+    private int[] indices;
+    private int cursor;
+
+    private ArrayList<Integer> list;
+    private java.util.ArrayList<Integer> javaList;
+
+    @Setup
+    public void setUp() {
+        values = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = i;
+        }
+        indices = accessOrder(distribution, size, OPERATIONS, 43);
+
+        list = new ArrayList<>();
+        javaList = new java.util.ArrayList<>();
+        for (Integer value : values) {
+            list.addToBack(value);
+            javaList.add(value);
+        }
+    }
+
+    @Benchmark
+    public Integer get() {
+        return list.get(indices[cursor++ & (OPERATIONS - 1)]);
+    }
+
+    @Benchmark
+    public Integer javaGet() {
+        return javaList.get(indices[cursor++ & (OPERATIONS - 1)]);
+    }
+
+    @Benchmark
+    public Integer addThenRemoveAtIndex() {
+        int index = indices[cursor++ & (OPERATIONS - 1)];
+        list.addAtIndex(index, values[index]);
+        return list.removeAtIndex(index);
+    }
+
+    @Benchmark
+    public Integer javaAddThenRemoveAtIndex() {
+        int index = indices[cursor++ & (OPERATIONS - 1)];
+        javaList.add(index, values[index]);
+        return javaList.remove(index);
+    }
+
+    @Benchmark
+    public Integer addThenRemoveFromBack() {
+        list.addToBack(values[indices[cursor++ & (OPERATIONS - 1)]]);
+        return list.removeFromBack();
+    }
+
+    @Benchmark
+    public Integer javaAddThenRemoveFromBack() {
+        javaList.add(values[indices[cursor++ & (OPERATIONS - 1)]]);
+        return javaList.remove(javaList.size() - 1);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ArrayList<Integer> build() {
+        ArrayList<Integer> built = new ArrayList<>();
+        for (Integer value : values) {
+            built.addToBack(value);
+        }
+        return built;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public java.util.ArrayList<Integer> javaBuild() {
+        java.util.ArrayList<Integer> built = new java.util.ArrayList<>();
+        for (Integer value : values) {
+            built.add(value);
+        }
+        return built;
+    }
+
+    /**
+     * Returns {@code count} indices in the range 0 to size - 1 drawn from the
+     * given distribution.
+     *
+     * @param distribution sequential, random or skewed
+     * @param size the number of elements in the list
+     * @param count the number of indices to draw
+     * @param seed the random seed
+     * @return the drawn indices
+     */
+    static int[] accessOrder(String distribution, int size, int count, long seed) {
+        Random random = new Random(seed);
+        int[] indices = new int[count];
+        for (int i = 0; i < count; i++) {
+            switch (distribution) {
+                case "sequential":
+                    indices[i] = i % size;
+                    break;
+                case "random":
+                    indices[i] = random.nextInt(size);
+                    break;
+                case "skewed":
+                    indices[i] = (int) (size * Math.pow(random.nextDouble(), SKEW));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown distribution " + distribution);
+            }
+        }
+        return indices;
+    }
+}
@@ -0,0 +1,178 @@
+package datastructures.avls;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks comparing AVL against {@code java.util.TreeSet}.
+ *
+ * The trees hold the keys 0 to size - 1. With the sequential distribution the
+ * keys are inserted and looked up in ascending order, which makes every add
+ * rotate; with random they are inserted and looked up in uniformly random
+ * order, and with skewed they are inserted in random order but most lookups
+ * hit a small set of hot keys.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class AVLBenchmark {
+    private static final int OPERATIONS = 1 << 16;
+    private static final double SKEW = 4.0;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    private int size;
+
+    @Param({"sequential", "random", "skewed"})
+    private String distribution;
+
+    private Integer[] inserts;
+    private Integer[] lookups;
+    private int cursor;
+
+    private AVL<Integer> tree;
+    private TreeSet<Integer> javaTree;
+
+    @Setup
+    public void setUp() {
+        inserts = insertionOrder(distribution, size, 42);
+        lookups = accessOrder(distribution, size, OPERATIONS, 43);
+
+        tree = new AVL<>();
+        javaTree = new TreeSet<>();
+        for (Integer key : inserts) {
+            tree.add(key);
+            javaTree.add(key);
+        }
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return tree.contains(lookups[cursor++ & (OPERATIONS - 1)]);
+    }
+
+    @Benchmark
+    public boolean javaContains() {
+        return javaTree.contains(lookups[cursor++ & (OPERATIONS - 1)]);
+    }
+
+    @Benchmark
+    public Integer get() {
+        return tree.get(lookups[cursor++ & (OPERATIONS - 1)]);
+    }
+
+    @Benchmark
+    public Integer javaCeiling() {
+        return javaTree.ceiling(lookups[cursor++ & (OPERATIONS - 1)]);
+    }
+
+    @Benchmark
+    public int removeThenAdd() {
+        Integer key = lookups[cursor++ & (OPERATIONS - 1)];
+        tree.remove(key);
+        tree.add(key);
+        return tree.size();
+    }
+
+    @Benchmark
+    public int javaRemoveThenAdd() {
+        Integer key = lookups[cursor++ & (OPERATIONS - 1)];
+        javaTree.remove(key);
+        javaTree.add(key);
+        return javaTree.size();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public AVL<Integer> build() {
+        AVL<Integer> built = new AVL<>();
+        for (Integer key : inserts) {
+            built.add(key);
+        }
+        return built;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public TreeSet<Integer> javaBuild() {
+        TreeSet<Integer> built = new TreeSet<>();
+        for (Integer key : inserts) {
+            built.add(key);
+        }
+        return built;
+    }
+
+    /**
+     * Returns the keys 0 to size - 1, ascending for the sequential
+     * distribution and shuffled otherwise.
+     *
+     * @param distribution the key distribution
+     * @param size the number of keys
+     * @param seed the random seed
+     * @return the keys in insertion order
+     */
+    static Integer[] insertionOrder(String distribution, int size, long seed) {
+        Integer[] keys = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = i;
+        }
+        if (!distribution.equals("sequential")) {
+            Random random = new Random(seed);
+            for (int i = size - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                Integer temp = keys[i];
+                keys[i] = keys[j];
+                keys[j] = temp;
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Returns {@code count} keys in the range 0 to size - 1 drawn from the
+     * given distribution.
+     *
+     * @param distribution sequential, random or skewed
+     * @param size the number of distinct keys
+     * @param count the number of keys to draw
+     * @param seed the random seed
+     * @return the drawn keys
+     */
+    static Integer[] accessOrder(String distribution, int size, int count, long seed) {
+        Random random = new Random(seed);
+        Integer[] keys = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            switch (distribution) {
+                case "sequential":
+                    keys[i] = i % size;
+                    break;
+                case "random":
+                    keys[i] = random.nextInt(size);
+                    break;
+                case "skewed":
+                    keys[i] = (int) (size * Math.pow(random.nextDouble(), SKEW));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown distribution " + distribution);
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,105 @@
+package datastructures.graphs;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for CsrGraphAlgorithms.deltaStepping against the sequential
+ * CsrGraphAlgorithms.dijkstras.
+ *
+ * The grid graphs are square grids with edges between neighboring cells,
+ * like a road network: low degree and a large diameter. The power law graphs
+ * have eight edges per vertex on average with one end of each edge biased
+ * towards low indices, giving a few hubs and a small diameter. Weights are
+ * random from 1 to 1000. A delta of 0 means the bucket width chosen by
+ * {@link CsrGraphAlgorithms#defaultDelta(CsrGraph)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class DeltaSteppingBenchmark {
+    private static final int MAX_WEIGHT = 1000;
+
+    @Param({"10000", "1000000"})
+    private int vertices;
+
+    @Param({"grid", "powerLaw"})
+    private String shape;
+
+    @Param({"0", "100", "1000", "10000"})
+    private int delta;
+
+    @Param({"1", "2", "4", "8", "16", "32"})
+    private int parallelism;
+
+    private CsrGraph<Integer> graph;
+    private Vertex<Integer> start;
+    private int width;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LinkedHashSet<Edge<Integer>> edges = new LinkedHashSet<>();
+        if (shape.equals("grid")) {
+            int side = (int) Math.sqrt(vertices);
+            for (int row = 0; row < side; row++) {
+                for (int col = 0; col < side; col++) {
+                    int cell = row * side + col;
+                    if (col + 1 < side) {
+                        edges.add(new Edge<>(new Vertex<>(cell), new Vertex<>(cell + 1),
+                                1 + random.nextInt(MAX_WEIGHT), false));
+                    }
+                    if (row + 1 < side) {
+                        edges.add(new Edge<>(new Vertex<>(cell), new Vertex<>(cell + side),
+                                1 + random.nextInt(MAX_WEIGHT), false));
+                    }
+                }
+            }
+        } else {
+            for (int i = 0; i < vertices * 4; i++) {
+                edges.add(new Edge<>(new Vertex<>(random.nextInt(vertices)),
+                        new Vertex<>((int) (vertices * Math.pow(random.nextDouble(), 3))),
+                        1 + random.nextInt(MAX_WEIGHT), false));
+            }
+        }
+        graph = new CsrGraph<>(edges);
+        start = graph.getVertex(0);
+        width = delta == 0 ? CsrGraphAlgorithms.defaultDelta(graph) : delta;
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public Map<Vertex<Integer>, Integer> dijkstras() {
+        return CsrGraphAlgorithms.dijkstras(start, graph);
+    }
+
+    @Benchmark
+    public Map<Vertex<Integer>, Integer> deltaStepping() {
+        return CsrGraphAlgorithms.deltaStepping(start, graph, width, pool);
+    }
+}
@@ -0,0 +1,74 @@
+package datastructures.graphs;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for the ordering algorithms of CsrGraphAlgorithms on
+ * dependency-style graphs: stronglyConnectedComponents, topologicalSort and
+ * findCycle.
+ *
+ * Each graph has four edges per vertex, all from a lower index to a higher
+ * one so the graph is acyclic. The cyclic graph adds a single edge back from
+ * the last vertex to the first, which puts most vertices on cycles. The
+ * topological sort runs on the acyclic graph and the others on the cyclic
+ * one. Times should grow in step with the size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class GraphOrderingBenchmark {
+    private static final int DEGREE = 4;
+
+    @Param({"10000", "100000", "1000000"})
+    private int vertices;
+
+    private CsrGraph<Integer> acyclic;
+    private CsrGraph<Integer> cyclic;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LinkedHashSet<Edge<Integer>> edges = new LinkedHashSet<>();
+        for (int i = 1; i < vertices; i++) {
+            for (int j = 0; j < DEGREE; j++) {
+                edges.add(new Edge<>(new Vertex<>(random.nextInt(i)), new Vertex<>(i), 1, true));
+            }
+        }
+        acyclic = new CsrGraph<>(edges);
+        edges.add(new Edge<>(new Vertex<>(vertices - 1), new Vertex<>(0), 1, true));
+        cyclic = new CsrGraph<>(edges);
+    }
+
+    @Benchmark
+    public int[] stronglyConnectedComponents() {
+        return CsrGraphAlgorithms.stronglyConnectedComponents(cyclic);
+    }
+
+    @Benchmark
+    public List<Vertex<Integer>> topologicalSort() {
+        return CsrGraphAlgorithms.topologicalSort(acyclic);
+    }
+
+    @Benchmark
+    public List<Vertex<Integer>> findCycle() {
+        return CsrGraphAlgorithms.findCycle(cyclic);
+    }
+}
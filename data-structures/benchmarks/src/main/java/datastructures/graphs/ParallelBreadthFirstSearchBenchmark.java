@@ -0,0 +1,89 @@
+package datastructures.graphs;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for CsrGraphAlgorithms.parallelBreadthFirstSearch against
+ * the sequential CsrGraphAlgorithms.breadthFirstSearch.
+ *
+ * The graphs are undirected with eight edges per vertex on average. In the
+ * uniform graphs both ends of each edge are picked uniformly; in the skewed
+ * graphs one end is biased towards low indices, giving a few hubs of very
+ * high degree as in power law graphs. The parallel search runs in a pool of
+ * the given parallelism, so the results show how it scales with cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ParallelBreadthFirstSearchBenchmark {
+    private static final int DEGREE = 8;
+
+    @Param({"10000", "100000", "1000000"})
+    private int vertices;
+
+    @Param({"uniform", "skewed"})
+    private String shape;
+
+    @Param({"1", "2", "4", "8", "16", "32"})
+    private int parallelism;
+
+    private CsrGraph<Integer> graph;
+    private Vertex<Integer> start;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LinkedHashSet<Edge<Integer>> edges = new LinkedHashSet<>();
+        for (int i = 0; i < vertices * DEGREE / 2; i++) {
+            int u = random.nextInt(vertices),
+                v = shape.equals("skewed")
+                    ? (int) (vertices * Math.pow(random.nextDouble(), 3))
+                    : random.nextInt(vertices);
+            edges.add(new Edge<>(new Vertex<>(u), new Vertex<>(v), 1, false));
+        }
+        graph = new CsrGraph<>(edges);
+        start = graph.getVertex(0);
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public List<Vertex<Integer>> sequential() {
+        return CsrGraphAlgorithms.breadthFirstSearch(start, graph);
+    }
+
+    @Benchmark
+    public List<List<Vertex<Integer>>> topDown() {
+        return CsrGraphAlgorithms.parallelBreadthFirstSearch(start, graph, pool, false);
+    }
+
+    @Benchmark
+    public List<List<Vertex<Integer>>> directionOptimizing() {
+        return CsrGraphAlgorithms.parallelBreadthFirstSearch(start, graph, pool, true);
+    }
+}
@@ -0,0 +1,86 @@
+package datastructures.graphs;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for Dijkstra's and Prim's algorithms with a lazy priority
+ * queue, as in GraphAlgorithms, against an indexed decrease-key heap, as in
+ * CsrGraphAlgorithms.
+ *
+ * The graphs are undirected with random weights and the given average
+ * degree, so the denser graphs relax many more edges per vertex and the lazy
+ * queue fills with stale entries. Run with {@code -prof gc} to compare the
+ * allocation rates as well as the times.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ShortestPathBenchmark {
+
+    @Param({"1000", "10000"})
+    private int vertices;
+
+    @Param({"8", "64", "256"})
+    private int degree;
+
+    private Graph<Integer> graph;
+    private CsrGraph<Integer> csrGraph;
+    private Vertex<Integer> start;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LinkedHashSet<Edge<Integer>> edges = new LinkedHashSet<>();
+        for (int i = 0; i < vertices; i++) {
+            // A path through every vertex keeps the graph connected.
+            edges.add(new Edge<>(new Vertex<>(i), new Vertex<>((i + 1) % vertices),
+                    1 + random.nextInt(1000), false));
+        }
+        for (long i = 0; i < (long) vertices * degree / 2; i++) {
+            edges.add(new Edge<>(new Vertex<>(random.nextInt(vertices)),
+                    new Vertex<>(random.nextInt(vertices)), 1 + random.nextInt(1000), false));
+        }
+        graph = new Graph<>(edges);
+        csrGraph = new CsrGraph<>(edges);
+        start = new Vertex<>(0);
+    }
+
+    @Benchmark
+    public Map<Vertex<Integer>, Integer> lazyDijkstras() {
+        return GraphAlgorithms.dijkstras(start, graph);
+    }
+
+    @Benchmark
+    public Map<Vertex<Integer>, Integer> indexedDijkstras() {
+        return CsrGraphAlgorithms.dijkstras(start, csrGraph);
+    }
+
+    @Benchmark
+    public Set<Edge<Integer>> lazyPrims() {
+        return GraphAlgorithms.prims(start, graph);
+    }
+
+    @Benchmark
+    public Set<Edge<Integer>> indexedPrims() {
+        return CsrGraphAlgorithms.prims(start, csrGraph);
+    }
+}
@@ -0,0 +1,109 @@
+package datastructures.hashmaps;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for maps shared between threads: ConcurrentHashMap against
+ * HashMap behind a single lock and {@code java.util.concurrent.ConcurrentHashMap}.
+ *
+ * Every thread runs the same mix of gets and puts of existing keys over one
+ * shared map, each starting at its own offset into the operation list. The
+ * results are throughput per second, so run the class at increasing thread
+ * counts to see how each map scales with cores, for example
+ * {@code for t in 1 2 4 8 16 32; do java ... ConcurrentHashMapBenchmark -t $t; done}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ConcurrentHashMapBenchmark {
+    private static final int OPERATIONS = 1 << 16;
+
+    /*
+     * Three shared maps of 10M boxed keys do not fit in the benchmark heap,
+     * so this stops at 1M.
+     */
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    @Param({"sequential", "random", "skewed"})
+    private String distribution;
+
+    @Param({"0", "10", "50"})
+    private int writePercent;
+
+    private Integer[] keys;
+    private boolean[] writes;
+
+    private ConcurrentHashMap<Integer, Integer> map;
+    private HashMap<Integer, Integer> lockedMap;
+    private java.util.concurrent.ConcurrentHashMap<Integer, Integer> javaMap;
+
+    /**
+     * Where each thread is in the operation list.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        @Setup
+        public void setUp() {
+            next = ThreadLocalRandom.current().nextInt(OPERATIONS);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        keys = HashMapBenchmark.accessOrder(distribution, size, OPERATIONS, 43);
+        writes = new boolean[OPERATIONS];
+        Random random = new Random(44);
+        for (int i = 0; i < OPERATIONS; i++) {
+            writes[i] = random.nextInt(100) < writePercent;
+        }
+
+        map = new ConcurrentHashMap<>();
+        lockedMap = new HashMap<>();
+        javaMap = new java.util.concurrent.ConcurrentHashMap<>();
+        for (Integer key : HashMapBenchmark.insertionOrder(distribution, size, 42)) {
+            map.put(key, key);
+            lockedMap.put(key, key);
+            javaMap.put(key, key);
+        }
+    }
+
+    @Benchmark
+    public Integer concurrent(Cursor cursor) {
+        int i = cursor.next++ & (OPERATIONS - 1);
+        return writes[i] ? map.put(keys[i], keys[i]) : map.get(keys[i]);
+    }
+
+    @Benchmark
+    public Integer locked(Cursor cursor) {
+        int i = cursor.next++ & (OPERATIONS - 1);
+        synchronized (lockedMap) {
+            return writes[i] ? lockedMap.put(keys[i], keys[i]) : lockedMap.get(keys[i]);
+        }
+    }
+
+    @Benchmark
+    public Integer javaConcurrent(Cursor cursor) {
+        int i = cursor.next++ & (OPERATIONS - 1);
+        return writes[i] ? javaMap.put(keys[i], keys[i]) : javaMap.get(keys[i]);
+    }
+}
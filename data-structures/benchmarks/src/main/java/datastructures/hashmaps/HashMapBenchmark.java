@@ -0,0 +1,269 @@
+package datastructures.hashmaps;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.StreamSupport;
+
+/**
+ * JMH benchmarks comparing HashMap against {@code java.util.HashMap}.
+ *
+ * The maps hold the keys 0 to size - 1. With the sequential distribution the
+ * keys are inserted and looked up in ascending order, with random they are
+ * inserted and looked up in uniformly random order, and with skewed they are
+ * inserted in random order but most lookups hit a small set of hot keys.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class HashMapBenchmark {
+    private static final int OPERATIONS = 1 << 16;
+    private static final double SKEW = 4.0;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    private int size;
+
+    @Param({"sequential", "random", "skewed"})
+    private String distribution;
+
+    private Integer[] inserts;
+    private Integer[] lookups;
+    private Integer[] misses;
+    private int cursor;
+    private long scanned;
+
+    private HashMap<Integer, Integer> map;
+    private java.util.HashMap<Integer, Integer> javaMap;
+    private IntIntHashMap intMap;
+    private BackwardShiftHashMap<Integer, Integer> shiftMap;
+
+    @Setup
+    public void setUp() {
+        inserts = insertionOrder(distribution, size, 42);
+        lookups = accessOrder(distribution, size, OPERATIONS, 43);
+        misses = new Integer[OPERATIONS];
+        for (int i = 0; i < OPERATIONS; i++) {
+            misses[i] = size + lookups[i];
+        }
+
+        map = new HashMap<>();
+        javaMap = new java.util.HashMap<>();
+        intMap = new IntIntHashMap();
+        shiftMap = new BackwardShiftHashMap<>();
+        for (Integer key : inserts) {
+            map.put(key, key);
+            javaMap.put(key, key);
+            intMap.put(key, key);
+            shiftMap.put(key, key);
+        }
+    }
+
+    @Benchmark
+    public Integer get() {
+        return map.get(lookups[cursor++ & (OPERATIONS - 1)]);
+    }
+
+    @Benchmark
+    public Integer javaGet() {
+        return javaMap.get(lookups[cursor++ & (OPERATIONS - 1)]);
+    }
+
+    @Benchmark
+    public int intIntGet() {
+        return intMap.get(lookups[cursor++ & (OPERATIONS - 1)]);
+    }
+
+    @Benchmark
+    public boolean containsMissingKey() {
+        return map.containsKey(misses[cursor++ & (OPERATIONS - 1)]);
+    }
+
+    @Benchmark
+    public boolean javaContainsMissingKey() {
+        return javaMap.containsKey(misses[cursor++ & (OPERATIONS - 1)]);
+    }
+
+    @Benchmark
+    public boolean backwardShiftContainsMissingKey() {
+        return shiftMap.containsKey(misses[cursor++ & (OPERATIONS - 1)]);
+    }
+
+    @Benchmark
+    public Integer putExisting() {
+        Integer key = lookups[cursor++ & (OPERATIONS - 1)];
+        return map.put(key, key);
+    }
+
+    @Benchmark
+    public Integer javaPutExisting() {
+        Integer key = lookups[cursor++ & (OPERATIONS - 1)];
+        return javaMap.put(key, key);
+    }
+
+    @Benchmark
+    public int intIntPutExisting() {
+        int key = lookups[cursor++ & (OPERATIONS - 1)];
+        return intMap.put(key, key);
+    }
+
+    @Benchmark
+    public Integer removeThenPut() {
+        Integer key = lookups[cursor++ & (OPERATIONS - 1)];
+        map.remove(key);
+        return map.put(key, key);
+    }
+
+    @Benchmark
+    public Integer javaRemoveThenPut() {
+        Integer key = lookups[cursor++ & (OPERATIONS - 1)];
+        javaMap.remove(key);
+        return javaMap.put(key, key);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long keySetScan() {
+        long sum = 0;
+        for (Integer key : map.keySet()) {
+            sum += key;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long keyIteratorScan() {
+        long sum = 0;
+        for (Iterator<Integer> keys = map.keyIterator(); keys.hasNext(); ) {
+            sum += keys.next();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long forEachScan() {
+        scanned = 0;
+        map.forEach((key, value) -> scanned += value);
+        return scanned;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long parallelStreamScan() {
+        return StreamSupport.stream(map.keySpliterator(), true).mapToLong(Integer::longValue).sum();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long javaForEachScan() {
+        scanned = 0;
+        javaMap.forEach((key, value) -> scanned += value);
+        return scanned;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public HashMap<Integer, Integer> build() {
+        HashMap<Integer, Integer> built = new HashMap<>();
+        for (Integer key : inserts) {
+            built.put(key, key);
+        }
+        return built;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public java.util.HashMap<Integer, Integer> javaBuild() {
+        java.util.HashMap<Integer, Integer> built = new java.util.HashMap<>();
+        for (Integer key : inserts) {
+            built.put(key, key);
+        }
+        return built;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public IntIntHashMap intIntBuild() {
+        IntIntHashMap built = new IntIntHashMap();
+        for (Integer key : inserts) {
+            built.put(key, key);
+        }
+        return built;
+    }
+
+    /**
+     * Returns the keys 0 to size - 1, ascending for the sequential
+     * distribution and shuffled otherwise.
+     *
+     * @param distribution the key distribution
+     * @param size the number of keys
+     * @param seed the random seed
+     * @return the keys in insertion order
+     */
+    static Integer[] insertionOrder(String distribution, int size, long seed) {
+        Integer[] keys = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = i;
+        }
+        if (!distribution.equals("sequential")) {
+            Random random = new Random(seed);
+            for (int i = size - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                Integer temp = keys[i];
+                keys[i] = keys[j];
+                keys[j] = temp;
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Returns {@code count} keys in the range 0 to size - 1 drawn from the
+     * given distribution.
+     *
+     * @param distribution sequential, random or skewed
+     * @param size the number of distinct keys
+     * @param count the number of keys to draw
+     * @param seed the random seed
+     * @return the drawn keys
+     */
+    static Integer[] accessOrder(String distribution, int size, int count, long seed) {
+        Random random = new Random(seed);
+        Integer[] keys = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            switch (distribution) {
+                case "sequential":
+                    keys[i] = i % size;
+                    break;
+                case "random":
+                    keys[i] = random.nextInt(size);
+                    break;
+                case "skewed":
+                    keys[i] = (int) (size * Math.pow(random.nextDouble(), SKEW));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown distribution " + distribution);
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,125 @@
+package datastructures.hashmaps;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for sustained put/remove churn.
+ *
+ * Each map starts with size keys. Every operation removes the oldest key and
+ * puts a new one, so the size stays fixed while the keys keep moving. This is
+ * the workload where tombstones pile up in HashMap and get and containsKey
+ * for missing keys slow down until the next resize.
+ *
+ * Keys are scrambled with a multiplicative hash so that the window of live
+ * keys does not collapse into one long run of consecutive home slots.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class HashMapChurnBenchmark {
+    private static final int SCRAMBLE = 0x9E3779B1;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    private int size;
+
+    private int oldest;
+    private HashMapInterface<Integer, Integer> tombstoneMap;
+    private HashMapInterface<Integer, Integer> backwardShiftMap;
+    private java.util.HashMap<Integer, Integer> javaMap;
+
+    @Setup
+    public void setUp() {
+        oldest = 0;
+        tombstoneMap = new HashMap<>();
+        backwardShiftMap = new BackwardShiftHashMap<>();
+        javaMap = new java.util.HashMap<>();
+        for (int i = 0; i < size; i++) {
+            tombstoneMap.put(i * SCRAMBLE, i);
+            backwardShiftMap.put(i * SCRAMBLE, i);
+            javaMap.put(i * SCRAMBLE, i);
+        }
+    }
+
+    /**
+     * Prints the tail of the probe length histograms after each trial, so
+     * the effect of the churn on lookup cost can be checked alongside the
+     * timings.
+     */
+    @TearDown
+    public void printProbeLengths() {
+        System.out.printf("tombstone: hit p99 %d, miss p99 %d; backward shift: hit p99 %d, miss p99 %d%n",
+                percentile(tombstoneMap.probeLengthHistogram(), 0.99),
+                percentile(tombstoneMap.missProbeLengthHistogram(), 0.99),
+                percentile(backwardShiftMap.probeLengthHistogram(), 0.99),
+                percentile(backwardShiftMap.missProbeLengthHistogram(), 0.99));
+    }
+
+    @Benchmark
+    public Integer tombstoneChurn() {
+        tombstoneMap.remove(oldest * SCRAMBLE);
+        return tombstoneMap.put((oldest + size) * SCRAMBLE, oldest++);
+    }
+
+    @Benchmark
+    public Integer backwardShiftChurn() {
+        backwardShiftMap.remove(oldest * SCRAMBLE);
+        return backwardShiftMap.put((oldest + size) * SCRAMBLE, oldest++);
+    }
+
+    @Benchmark
+    public Integer javaChurn() {
+        javaMap.remove(oldest * SCRAMBLE);
+        return javaMap.put((oldest + size) * SCRAMBLE, oldest++);
+    }
+
+    @Benchmark
+    public boolean tombstoneChurnThenMiss() {
+        tombstoneChurn();
+        return tombstoneMap.containsKey(-1 - oldest);
+    }
+
+    @Benchmark
+    public boolean backwardShiftChurnThenMiss() {
+        backwardShiftChurn();
+        return backwardShiftMap.containsKey(-1 - oldest);
+    }
+
+    /**
+     * Returns the smallest probe length that covers the given fraction of
+     * the histogram.
+     *
+     * @param histogram the probe length histogram
+     * @param fraction the fraction to cover, between 0 and 1
+     * @return the probe length at that percentile
+     */
+    static int percentile(int[] histogram, double fraction) {
+        long total = 0;
+        for (int count : histogram) {
+            total += count;
+        }
+        long seen = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen >= total * fraction) {
+                return i;
+            }
+        }
+        return histogram.length - 1;
+    }
+}
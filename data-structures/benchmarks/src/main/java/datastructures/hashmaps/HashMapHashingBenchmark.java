@@ -0,0 +1,146 @@
+package datastructures.hashmaps;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks comparing modulo indexing on odd table lengths
+ * (BackwardShiftHashMap) against masked indexing of a mixed hash on power of
+ * two lengths (PowerOfTwoHashMap). Both delete by backward shifting, so the
+ * only difference is how a key finds its home slot.
+ *
+ * The keys are Integers, whose hash code is the value itself. Sequential
+ * keys are 0 to size - 1, strided keys are multiples of 1024, which share
+ * their low ten bits, and random keys are uniformly random ints. Lookups hit
+ * the keys in random order and misses use keys of the same shape that are
+ * not in the map. The clustering each scheme ends up with is printed after
+ * each trial.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class HashMapHashingBenchmark {
+    private static final int OPERATIONS = 1 << 16;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    private int size;
+
+    @Param({"sequential", "strided", "random"})
+    private String keys;
+
+    private Integer[] lookups;
+    private Integer[] misses;
+    private int cursor;
+
+    private BackwardShiftHashMap<Integer, Integer> moduloMap;
+    private PowerOfTwoHashMap<Integer, Integer> maskMap;
+    private java.util.HashMap<Integer, Integer> javaMap;
+
+    @Setup
+    public void setUp() {
+        int[] present = new int[size];
+        int[] absent = new int[size];
+        Random random = new Random(42);
+        java.util.HashSet<Integer> seen = new java.util.HashSet<>();
+        for (int i = 0; i < size; i++) {
+            switch (keys) {
+                case "sequential":
+                    present[i] = i;
+                    absent[i] = size + i;
+                    break;
+                case "strided":
+                    present[i] = i << 10;
+                    absent[i] = (size + i) << 10;
+                    break;
+                case "random":
+                    do {
+                        present[i] = random.nextInt();
+                    } while (!seen.add(present[i]));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown keys " + keys);
+            }
+        }
+        if (keys.equals("random")) {
+            for (int i = 0; i < size; i++) {
+                do {
+                    absent[i] = random.nextInt();
+                } while (seen.contains(absent[i]));
+            }
+        }
+
+        moduloMap = new BackwardShiftHashMap<>();
+        maskMap = new PowerOfTwoHashMap<>();
+        javaMap = new java.util.HashMap<>();
+        for (Integer key : HashMapBenchmark.insertionOrder("random", size, 42)) {
+            moduloMap.put(present[key], key);
+            maskMap.put(present[key], key);
+            javaMap.put(present[key], key);
+        }
+
+        lookups = new Integer[OPERATIONS];
+        misses = new Integer[OPERATIONS];
+        for (int i = 0; i < OPERATIONS; i++) {
+            lookups[i] = present[random.nextInt(size)];
+            misses[i] = absent[random.nextInt(size)];
+        }
+    }
+
+    /**
+     * Prints the tail of each map's probe length histograms.
+     */
+    @TearDown
+    public void printProbeLengths() {
+        System.out.printf("modulo: hit p99 %d, miss p99 %d; mask: hit p99 %d, miss p99 %d%n",
+                HashMapChurnBenchmark.percentile(moduloMap.probeLengthHistogram(), 0.99),
+                HashMapChurnBenchmark.percentile(moduloMap.missProbeLengthHistogram(), 0.99),
+                HashMapChurnBenchmark.percentile(maskMap.probeLengthHistogram(), 0.99),
+                HashMapChurnBenchmark.percentile(maskMap.missProbeLengthHistogram(), 0.99));
+    }
+
+    @Benchmark
+    public Integer moduloGet() {
+        return moduloMap.get(lookups[cursor++ & (OPERATIONS - 1)]);
+    }
+
+    @Benchmark
+    public Integer maskGet() {
+        return maskMap.get(lookups[cursor++ & (OPERATIONS - 1)]);
+    }
+
+    @Benchmark
+    public Integer javaGet() {
+        return javaMap.get(lookups[cursor++ & (OPERATIONS - 1)]);
+    }
+
+    @Benchmark
+    public boolean moduloContainsMissingKey() {
+        return moduloMap.containsKey(misses[cursor++ & (OPERATIONS - 1)]);
+    }
+
+    @Benchmark
+    public boolean maskContainsMissingKey() {
+        return maskMap.containsKey(misses[cursor++ & (OPERATIONS - 1)]);
+    }
+
+    @Benchmark
+    public boolean javaContainsMissingKey() {
+        return javaMap.containsKey(misses[cursor++ & (OPERATIONS - 1)]);
+    }
+}
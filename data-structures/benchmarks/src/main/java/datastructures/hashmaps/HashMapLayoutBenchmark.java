@@ -0,0 +1,123 @@
+package datastructures.hashmaps;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks comparing the flat FlatHashMap layout against a MapEntry[]
+ * table. PowerOfTwoHashMap is the MapEntry[] side: it shares FlatHashMap's
+ * hash mixing and power of two lengths, so the remaining difference is
+ * whether a probe chases a pointer to an entry or reads control bytes and
+ * inline keys.
+ *
+ * The maps hold the keys 0 to size - 1, inserted and looked up in the orders
+ * given by the distribution, as in HashMapBenchmark. Misses use the keys
+ * size to 2 * size - 1.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class HashMapLayoutBenchmark {
+    private static final int OPERATIONS = 1 << 16;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    private int size;
+
+    @Param({"sequential", "random", "skewed"})
+    private String distribution;
+
+    private Integer[] inserts;
+    private Integer[] lookups;
+    private Integer[] misses;
+    private int cursor;
+
+    private FlatHashMap<Integer, Integer> flatMap;
+    private PowerOfTwoHashMap<Integer, Integer> entryMap;
+
+    @Setup
+    public void setUp() {
+        inserts = HashMapBenchmark.insertionOrder(distribution, size, 42);
+        lookups = HashMapBenchmark.accessOrder(distribution, size, OPERATIONS, 43);
+        misses = new Integer[OPERATIONS];
+        for (int i = 0; i < OPERATIONS; i++) {
+            misses[i] = size + lookups[i];
+        }
+
+        flatMap = new FlatHashMap<>();
+        entryMap = new PowerOfTwoHashMap<>();
+        for (Integer key : inserts) {
+            flatMap.put(key, key);
+            entryMap.put(key, key);
+        }
+    }
+
+    @Benchmark
+    public Integer flatGet() {
+        return flatMap.get(lookups[cursor++ & (OPERATIONS - 1)]);
+    }
+
+    @Benchmark
+    public Integer entryGet() {
+        return entryMap.get(lookups[cursor++ & (OPERATIONS - 1)]);
+    }
+
+    @Benchmark
+    public boolean flatContainsMissingKey() {
+        return flatMap.containsKey(misses[cursor++ & (OPERATIONS - 1)]);
+    }
+
+    @Benchmark
+    public boolean entryContainsMissingKey() {
+        return entryMap.containsKey(misses[cursor++ & (OPERATIONS - 1)]);
+    }
+
+    @Benchmark
+    public Integer flatRemoveThenPut() {
+        Integer key = lookups[cursor++ & (OPERATIONS - 1)];
+        flatMap.remove(key);
+        return flatMap.put(key, key);
+    }
+
+    @Benchmark
+    public Integer entryRemoveThenPut() {
+        Integer key = lookups[cursor++ & (OPERATIONS - 1)];
+        entryMap.remove(key);
+        return entryMap.put(key, key);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public FlatHashMap<Integer, Integer> flatBuild() {
+        FlatHashMap<Integer, Integer> built = new FlatHashMap<>();
+        for (Integer key : inserts) {
+            built.put(key, key);
+        }
+        return built;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public PowerOfTwoHashMap<Integer, Integer> entryBuild() {
+        PowerOfTwoHashMap<Integer, Integer> built = new PowerOfTwoHashMap<>();
+        for (Integer key : inserts) {
+            built.put(key, key);
+        }
+        return built;
+    }
+}
@@ -0,0 +1,101 @@
+package datastructures.hashmaps;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for lookups as the load factor rises.
+ *
+ * Each map is filled with size random keys and then resized so that it sits
+ * at exactly the given load factor, past MAX_LOAD_FACTOR if need be. Plain
+ * linear probing has to scan the whole cluster for a missing key, while Robin
+ * Hood probing can stop early, so the miss benchmarks are where the two
+ * drift apart.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class HashMapLoadFactorBenchmark {
+    private static final int OPERATIONS = 1 << 16;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    private int size;
+
+    @Param({"0.5", "0.67", "0.8", "0.9", "0.95"})
+    private double loadFactor;
+
+    private Integer[] hits;
+    private Integer[] misses;
+    private int cursor;
+
+    private HashMapInterface<Integer, Integer> linearMap;
+    private HashMapInterface<Integer, Integer> robinHoodMap;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Set<Integer> keys = new HashSet<>();
+        while (keys.size() < size) {
+            keys.add(random.nextInt(Integer.MAX_VALUE));
+        }
+        Integer[] inserted = keys.toArray(new Integer[0]);
+
+        hits = new Integer[OPERATIONS];
+        misses = new Integer[OPERATIONS];
+        for (int i = 0; i < OPERATIONS; i++) {
+            hits[i] = inserted[random.nextInt(size)];
+            int miss;
+            do {
+                miss = random.nextInt(Integer.MAX_VALUE);
+            } while (keys.contains(miss));
+            misses[i] = miss;
+        }
+
+        linearMap = new BackwardShiftHashMap<>();
+        robinHoodMap = new RobinHoodHashMap<>();
+        for (Integer key : inserted) {
+            linearMap.put(key, key);
+            robinHoodMap.put(key, key);
+        }
+        int length = (int) Math.ceil(size / loadFactor);
+        linearMap.resizeBackingTable(length);
+        robinHoodMap.resizeBackingTable(length);
+    }
+
+    @Benchmark
+    public Integer linearGet() {
+        return linearMap.get(hits[cursor++ & (OPERATIONS - 1)]);
+    }
+
+    @Benchmark
+    public Integer robinHoodGet() {
+        return robinHoodMap.get(hits[cursor++ & (OPERATIONS - 1)]);
+    }
+
+    @Benchmark
+    public boolean linearContainsMissingKey() {
+        return linearMap.containsKey(misses[cursor++ & (OPERATIONS - 1)]);
+    }
+
+    @Benchmark
+    public boolean robinHoodContainsMissingKey() {
+        return robinHoodMap.containsKey(misses[cursor++ & (OPERATIONS - 1)]);
+    }
+}
@@ -0,0 +1,77 @@
+package datastructures.hashmaps;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for the latency of individual puts into a growing map.
+ *
+ * Each benchmark keeps putting new keys until the map holds size of them and
+ * then starts again with an empty map, so every resize on the way up to size
+ * is measured. Sample mode reports percentiles of single puts: HashMap's p100
+ * is the put that rehashes the whole table, which IncrementalHashMap spreads
+ * over the puts that follow it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class HashMapResizeLatencyBenchmark {
+    private static final int SCRAMBLE = 0x9E3779B1;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    private int size;
+
+    private int next;
+    private HashMap<Integer, Integer> map;
+    private IncrementalHashMap<Integer, Integer> incrementalMap;
+    private java.util.HashMap<Integer, Integer> javaMap;
+
+    @Setup
+    public void setUp() {
+        next = 0;
+        map = new HashMap<>();
+        incrementalMap = new IncrementalHashMap<>();
+        javaMap = new java.util.HashMap<>();
+    }
+
+    @Benchmark
+    public Integer put() {
+        if (next == size) {
+            next = 0;
+            map = new HashMap<>();
+        }
+        return map.put(next * SCRAMBLE, next++);
+    }
+
+    @Benchmark
+    public Integer incrementalPut() {
+        if (next == size) {
+            next = 0;
+            incrementalMap = new IncrementalHashMap<>();
+        }
+        return incrementalMap.put(next * SCRAMBLE, next++);
+    }
+
+    @Benchmark
+    public Integer javaPut() {
+        if (next == size) {
+            next = 0;
+            javaMap = new java.util.HashMap<>();
+        }
+        return javaMap.put(next * SCRAMBLE, next++);
+    }
+}
@@ -0,0 +1,97 @@
+package datastructures.hashmaps;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks comparing MappedHashMap against HashMap for Integer to Long
+ * mappings, and timing how long an existing map file takes to reopen.
+ *
+ * The maps hold the keys 0 to size - 1, inserted and looked up in the orders
+ * given by the distribution, as in HashMapBenchmark. Both maps are created
+ * large enough to hold every key without resizing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class MappedHashMapBenchmark {
+    private static final int OPERATIONS = 1 << 16;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    private int size;
+
+    @Param({"sequential", "random", "skewed"})
+    private String distribution;
+
+    private Integer[] lookups;
+    private int cursor;
+
+    private Path file;
+    private MappedHashMap<Integer, Long> mappedMap;
+    private HashMap<Integer, Long> map;
+
+    @Setup
+    public void setUp() throws IOException {
+        lookups = HashMapBenchmark.accessOrder(distribution, size, OPERATIONS, 43);
+
+        file = Files.createTempFile("benchmark", ".map");
+        Files.delete(file);
+        int capacity = (int) ((size + 2) / HashMapInterface.MAX_LOAD_FACTOR) + 1;
+        mappedMap = new MappedHashMap<>(file, Serializer.INTEGER, Serializer.LONG, capacity);
+        map = new HashMap<>(capacity);
+        for (Integer key : HashMapBenchmark.insertionOrder(distribution, size, 42)) {
+            mappedMap.put(key, (long) key);
+            map.put(key, (long) key);
+        }
+        mappedMap.force();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        mappedMap.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Long mappedGet() {
+        return mappedMap.get(lookups[cursor++ & (OPERATIONS - 1)]);
+    }
+
+    @Benchmark
+    public Long get() {
+        return map.get(lookups[cursor++ & (OPERATIONS - 1)]);
+    }
+
+    @Benchmark
+    public Long mappedPutExisting() {
+        Integer key = lookups[cursor++ & (OPERATIONS - 1)];
+        return mappedMap.put(key, (long) key);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int reopen() throws IOException {
+        mappedMap.close();
+        mappedMap = new MappedHashMap<>(file, Serializer.INTEGER, Serializer.LONG);
+        return mappedMap.size();
+    }
+}
@@ -0,0 +1,103 @@
+package datastructures.heaps;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Multi-producer, multi-consumer JMH benchmarks for priority queues shared
+ * between threads: ConcurrentMinPriorityQueue against MinPriorityQueue behind
+ * a single lock and {@code java.util.concurrent.PriorityBlockingQueue}.
+ *
+ * Each operation enqueues a key and dequeues one, so every thread is both a
+ * producer and a consumer and the queues stay at their starting size. The
+ * MultiQueue gets heapsPerThread heaps for each benchmark thread. The
+ * results are throughput per second, so run the class at increasing thread
+ * counts to see how each queue scales with cores, for example
+ * {@code for t in 1 2 4 8 16 32; do java ... ConcurrentPriorityQueueBenchmark -t $t; done}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ConcurrentPriorityQueueBenchmark {
+    private static final int OPERATIONS = 1 << 16;
+
+    @Param({"1000", "1000000"})
+    private int size;
+
+    @Param({"random", "skewed"})
+    private String distribution;
+
+    @Param({"2", "4"})
+    private int heapsPerThread;
+
+    private Integer[] operations;
+
+    private ConcurrentMinPriorityQueue<Integer> queue;
+    private MinPriorityQueue<Integer> lockedQueue;
+    private PriorityBlockingQueue<Integer> javaQueue;
+
+    /**
+     * Where each thread is in the operation list.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        @Setup
+        public void setUp() {
+            next = ThreadLocalRandom.current().nextInt(OPERATIONS);
+        }
+    }
+
+    @Setup
+    public void setUp(BenchmarkParams params) {
+        Integer[] keys = HeapBenchmark.accessOrder(distribution, size, size, 42);
+        operations = HeapBenchmark.accessOrder(distribution, size, OPERATIONS, 43);
+
+        queue = new ConcurrentMinPriorityQueue<>(heapsPerThread * params.getThreads());
+        lockedQueue = new MinPriorityQueue<>();
+        javaQueue = new PriorityBlockingQueue<>();
+        for (Integer key : keys) {
+            queue.enqueue(key);
+            lockedQueue.enqueue(key);
+            javaQueue.add(key);
+        }
+    }
+
+    @Benchmark
+    public Integer concurrent(Cursor cursor) {
+        queue.enqueue(operations[cursor.next++ & (OPERATIONS - 1)]);
+        return queue.poll();
+    }
+
+    @Benchmark
+    public Integer locked(Cursor cursor) {
+        synchronized (lockedQueue) {
+            lockedQueue.enqueue(operations[cursor.next++ & (OPERATIONS - 1)]);
+            return lockedQueue.dequeue();
+        }
+    }
+
+    @Benchmark
+    public Integer javaBlocking(Cursor cursor) {
+        javaQueue.add(operations[cursor.next++ & (OPERATIONS - 1)]);
+        return javaQueue.poll();
+    }
+}
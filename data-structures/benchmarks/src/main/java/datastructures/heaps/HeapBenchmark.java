@@ -0,0 +1,167 @@
+package datastructures.heaps;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks comparing MinHeap against {@code java.util.PriorityQueue}.
+ *
+ * The heaps start out holding size keys drawn from the distribution:
+ * sequential keys arrive in ascending order, random keys are uniform and
+ * skewed keys crowd towards the minimum, so most of them tie near the root.
+ * build adds the keys one at a time, while heapify builds the heap from all
+ * of them at once with the bulk constructor.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class HeapBenchmark {
+    private static final int OPERATIONS = 1 << 16;
+    private static final double SKEW = 4.0;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    private int size;
+
+    @Param({"sequential", "random", "skewed"})
+    private String distribution;
+
+    private Integer[] keys;
+    private Integer[] operations;
+    private int cursor;
+
+    private MinHeap<Integer> heap;
+    private PriorityQueue<Integer> javaQueue;
+
+    @Setup
+    public void setUp() {
+        keys = accessOrder(distribution, size, size, 42);
+        operations = accessOrder(distribution, size, OPERATIONS, 43);
+
+        heap = new MinHeap<>();
+        javaQueue = new PriorityQueue<>();
+        for (Integer key : keys) {
+            heap.add(key);
+            javaQueue.add(key);
+        }
+    }
+
+    @Benchmark
+    public Integer addThenRemove() {
+        heap.add(operations[cursor++ & (OPERATIONS - 1)]);
+        return heap.remove();
+    }
+
+    @Benchmark
+    public Integer javaAddThenRemove() {
+        javaQueue.add(operations[cursor++ & (OPERATIONS - 1)]);
+        return javaQueue.poll();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public MinHeap<Integer> build() {
+        MinHeap<Integer> built = new MinHeap<>();
+        for (Integer key : keys) {
+            built.add(key);
+        }
+        return built;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public PriorityQueue<Integer> javaBuild() {
+        PriorityQueue<Integer> built = new PriorityQueue<>();
+        for (Integer key : keys) {
+            built.add(key);
+        }
+        return built;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public MinHeap<Integer> heapify() {
+        return new MinHeap<>(Arrays.asList(keys));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public PriorityQueue<Integer> javaHeapify() {
+        return new PriorityQueue<>(Arrays.asList(keys));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int buildThenDrain() {
+        MinHeap<Integer> built = build();
+        int checksum = 0;
+        while (!built.isEmpty()) {
+            checksum += built.remove();
+        }
+        return checksum;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int javaBuildThenDrain() {
+        PriorityQueue<Integer> built = javaBuild();
+        int checksum = 0;
+        while (!built.isEmpty()) {
+            checksum += built.poll();
+        }
+        return checksum;
+    }
+
+    /**
+     * Returns {@code count} keys in the range 0 to size - 1 drawn from the
+     * given distribution.
+     *
+     * @param distribution sequential, random or skewed
+     * @param size the number of distinct keys
+     * @param count the number of keys to draw
+     * @param seed the random seed
+     * @return the drawn keys
+     */
+    static Integer[] accessOrder(String distribution, int size, int count, long seed) {
+        Random random = new Random(seed);
+        Integer[] keys = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            switch (distribution) {
+                case "sequential":
+                    keys[i] = i % size;
+                    break;
+                case "random":
+                    keys[i] = random.nextInt(size);
+                    break;
+                case "skewed":
+                    keys[i] = (int) (size * Math.pow(random.nextDouble(), SKEW));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown distribution " + distribution);
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,149 @@
+package datastructures.heaps;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks comparing the HeapInterface implementations with each other
+ * and with {@code java.util.PriorityQueue}.
+ *
+ * Every heap is used through HeapInterface, with PriorityQueue wrapped in a
+ * small adapter, so all of them pay the same interface call. The keys are
+ * drawn as in HeapBenchmark. addThenRemove keeps the heap at its starting
+ * size, which is the steady state of a scheduler. buildThenDrain adds every
+ * key and removes them all again.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class HeapImplementationBenchmark {
+    private static final int OPERATIONS = 1 << 16;
+
+    @Param({"minHeap", "dary2", "dary4", "dary8", "pairing", "java"})
+    private String implementation;
+
+    @Param({"1000", "100000", "10000000"})
+    private int size;
+
+    @Param({"random", "skewed"})
+    private String distribution;
+
+    private Integer[] keys;
+    private Integer[] operations;
+    private int cursor;
+
+    private HeapInterface<Integer> heap;
+
+    @Setup
+    public void setUp() {
+        keys = HeapBenchmark.accessOrder(distribution, size, size, 42);
+        operations = HeapBenchmark.accessOrder(distribution, size, OPERATIONS, 43);
+
+        heap = newHeap();
+        for (Integer key : keys) {
+            heap.add(key);
+        }
+    }
+
+    @Benchmark
+    public Integer addThenRemove() {
+        heap.add(operations[cursor++ & (OPERATIONS - 1)]);
+        return heap.remove();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int buildThenDrain() {
+        HeapInterface<Integer> built = newHeap();
+        for (Integer key : keys) {
+            built.add(key);
+        }
+        int checksum = 0;
+        while (!built.isEmpty()) {
+            checksum += built.remove();
+        }
+        return checksum;
+    }
+
+    /**
+     * Creates an empty heap of the benchmarked implementation.
+     *
+     * @return the new heap
+     */
+    private HeapInterface<Integer> newHeap() {
+        switch (implementation) {
+            case "minHeap":
+                return new MinHeap<>();
+            case "dary2":
+                return new DaryMinHeap<>(2);
+            case "dary4":
+                return new DaryMinHeap<>(4);
+            case "dary8":
+                return new DaryMinHeap<>(8);
+            case "pairing":
+                return new PairingHeap<>();
+            case "java":
+                return new JavaHeap<>();
+            default:
+                throw new IllegalArgumentException("Unknown implementation " + implementation);
+        }
+    }
+
+    /**
+     * Adapts {@code java.util.PriorityQueue} to HeapInterface.
+     */
+    private static final class JavaHeap<T extends Comparable<? super T>> implements HeapInterface<T> {
+        private final PriorityQueue<T> queue = new PriorityQueue<>();
+
+        @Override
+        public void add(T item) {
+            queue.add(item);
+        }
+
+        @Override
+        public T remove() {
+            T item = queue.poll();
+            if (item == null) {
+                throw new NoSuchElementException("Cannot remove from an empty heap.");
+            }
+            return item;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return queue.isEmpty();
+        }
+
+        @Override
+        public int size() {
+            return queue.size();
+        }
+
+        @Override
+        public void clear() {
+            queue.clear();
+        }
+
+        @Override
+        public Comparable[] getBackingArray() {
+            return queue.toArray(new Comparable[0]);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package datastructures.heaps;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for LongMinHeap and DoubleMinHeap against a boxed
+ * {@code MinHeap<Long>}.
+ *
+ * The keys are timestamps: each operation removes the earliest and adds a
+ * new one a random delay after it, as a timer wheel or event simulator
+ * does, so the heap stays at its starting size. The boxed heap allocates a
+ * Long for most new keys, while the primitive heaps allocate nothing. Run
+ * with {@code -prof gc} to compare the allocation rates as well as the
+ * times.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class PrimitiveHeapBenchmark {
+    private static final int OPERATIONS = 1 << 16;
+
+    @Param({"1000", "100000", "10000000"})
+    private int size;
+
+    @Param({"random", "skewed"})
+    private String distribution;
+
+    private long[] delays;
+    private int cursor;
+
+    private MinHeap<Long> boxedHeap;
+    private LongMinHeap longHeap;
+    private LongMinHeap payloadHeap;
+    private DoubleMinHeap doubleHeap;
+
+    @Setup
+    public void setUp() {
+        Integer[] starts = HeapBenchmark.accessOrder(distribution, size, size, 42);
+        Integer[] draws = HeapBenchmark.accessOrder(distribution, size, OPERATIONS, 43);
+        delays = new long[OPERATIONS];
+        for (int i = 0; i < OPERATIONS; i++) {
+            delays[i] = draws[i] + 1;
+        }
+
+        boxedHeap = new MinHeap<>();
+        longHeap = new LongMinHeap();
+        payloadHeap = new LongMinHeap();
+        doubleHeap = new DoubleMinHeap();
+        for (int i = 0; i < size; i++) {
+            boxedHeap.add((long) starts[i]);
+            longHeap.add(starts[i]);
+            payloadHeap.add(starts[i], i);
+            doubleHeap.add(starts[i]);
+        }
+    }
+
+    @Benchmark
+    public long boxed() {
+        long now = boxedHeap.remove();
+        boxedHeap.add(now + delays[cursor++ & (OPERATIONS - 1)]);
+        return now;
+    }
+
+    @Benchmark
+    public long primitive() {
+        long now = longHeap.remove();
+        longHeap.add(now + delays[cursor++ & (OPERATIONS - 1)]);
+        return now;
+    }
+
+    @Benchmark
+    public long primitiveWithPayload() {
+        long event = payloadHeap.peekPayload();
+        long now = payloadHeap.remove();
+        payloadHeap.add(now + delays[cursor++ & (OPERATIONS - 1)], event);
+        return now ^ event;
+    }
+
+    @Benchmark
+    public double primitiveDouble() {
+        double now = doubleHeap.remove();
+        doubleHeap.add(now + delays[cursor++ & (OPERATIONS - 1)]);
+        return now;
+    }
+}
@@ -0,0 +1,81 @@
+package datastructures.heaps;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * JMH benchmarks for picking the k smallest of n keys: TopKHeap's collector
+ * on a sequential and a parallel stream, against enqueueing every key into a
+ * MinPriorityQueue and dequeueing k, and against sorting the stream and
+ * taking the first k.
+ *
+ * The keys are drawn as in HeapBenchmark. Only the TopKHeap versions keep
+ * fewer than n keys in memory.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TopKBenchmark {
+
+    @Param({"100000", "10000000"})
+    private int size;
+
+    @Param({"10", "1000"})
+    private int k;
+
+    @Param({"random", "skewed"})
+    private String distribution;
+
+    private List<Integer> keys;
+
+    @Setup
+    public void setUp() {
+        keys = Arrays.asList(HeapBenchmark.accessOrder(distribution, size, size, 42));
+    }
+
+    @Benchmark
+    public List<Integer> topK() {
+        return keys.stream().collect(TopKHeap.smallest(k));
+    }
+
+    @Benchmark
+    public List<Integer> parallelTopK() {
+        return keys.parallelStream().collect(TopKHeap.smallest(k));
+    }
+
+    @Benchmark
+    public List<Integer> priorityQueue() {
+        MinPriorityQueue<Integer> queue = new MinPriorityQueue<>();
+        for (Integer key : keys) {
+            queue.enqueue(key);
+        }
+        List<Integer> smallest = new ArrayList<>(k);
+        for (int i = 0; i < k && !queue.isEmpty(); i++) {
+            smallest.add(queue.dequeue());
+        }
+        return smallest;
+    }
+
+    @Benchmark
+    public List<Integer> sortAndLimit() {
+        return keys.stream().sorted().limit(k).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,192 @@
+package datastructures.stacksqueues;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayDeque;
+import java.util.LinkedList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks comparing the stacks and queues against
+ * {@code java.util.ArrayDeque} and {@code java.util.LinkedList}.
+ *
+ * Every structure starts out holding size elements, so the steady state
+ * benchmarks run at that depth. Stacks and queues never look at their
+ * contents, so the distribution only decides which values are pushed; it is
+ * kept so the results line up with the other data structure benchmarks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class StacksQueuesBenchmark {
+    private static final int OPERATIONS = 1 << 16;
+    private static final double SKEW = 4.0;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    private int size;
+
+    @Param({"sequential", "random", "skewed"})
+    private String distribution;
+
+    private Integer[] values;
+    private int cursor;
+
+    private ArrayStack<Integer> arrayStack;
+    private LinkedStack<Integer> linkedStack;
+    private ArrayQueue<Integer> arrayQueue;
+    private LinkedQueue<Integer> linkedQueue;
+    private ArrayDeque<Integer> javaArrayDeque;
+    private LinkedList<Integer> javaLinkedList;
+
+    @Setup
+    public void setUp() {
+        values = accessOrder(distribution, size, OPERATIONS, 43);
+
+        arrayStack = new ArrayStack<>();
+        linkedStack = new LinkedStack<>();
+        arrayQueue = new ArrayQueue<>();
+        linkedQueue = new LinkedQueue<>();
+        javaArrayDeque = new ArrayDeque<>();
+        javaLinkedList = new LinkedList<>();
+        for (int i = 0; i < size; i++) {
+            Integer value = values[i & (OPERATIONS - 1)];
+            arrayStack.push(value);
+            linkedStack.push(value);
+            arrayQueue.enqueue(value);
+            linkedQueue.enqueue(value);
+            javaArrayDeque.addLast(value);
+            javaLinkedList.addLast(value);
+        }
+    }
+
+    @Benchmark
+    public Integer arrayStackPushPop() {
+        arrayStack.push(values[cursor++ & (OPERATIONS - 1)]);
+        return arrayStack.pop();
+    }
+
+    @Benchmark
+    public Integer linkedStackPushPop() {
+        linkedStack.push(values[cursor++ & (OPERATIONS - 1)]);
+        return linkedStack.pop();
+    }
+
+    @Benchmark
+    public Integer javaArrayDequePushPop() {
+        javaArrayDeque.push(values[cursor++ & (OPERATIONS - 1)]);
+        return javaArrayDeque.pop();
+    }
+
+    @Benchmark
+    public Integer arrayQueueEnqueueDequeue() {
+        arrayQueue.enqueue(values[cursor++ & (OPERATIONS - 1)]);
+        return arrayQueue.dequeue();
+    }
+
+    @Benchmark
+    public Integer linkedQueueEnqueueDequeue() {
+        linkedQueue.enqueue(values[cursor++ & (OPERATIONS - 1)]);
+        return linkedQueue.dequeue();
+    }
+
+    @Benchmark
+    public Integer javaArrayDequeOfferPoll() {
+        javaArrayDeque.offerLast(values[cursor++ & (OPERATIONS - 1)]);
+        return javaArrayDeque.pollFirst();
+    }
+
+    @Benchmark
+    public Integer javaLinkedListOfferPoll() {
+        javaLinkedList.offerLast(values[cursor++ & (OPERATIONS - 1)]);
+        return javaLinkedList.pollFirst();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ArrayStack<Integer> arrayStackBuild() {
+        ArrayStack<Integer> built = new ArrayStack<>();
+        for (int i = 0; i < size; i++) {
+            built.push(values[i & (OPERATIONS - 1)]);
+        }
+        return built;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ArrayQueue<Integer> arrayQueueBuild() {
+        ArrayQueue<Integer> built = new ArrayQueue<>();
+        for (int i = 0; i < size; i++) {
+            built.enqueue(values[i & (OPERATIONS - 1)]);
+        }
+        return built;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public LinkedQueue<Integer> linkedQueueBuild() {
+        LinkedQueue<Integer> built = new LinkedQueue<>();
+        for (int i = 0; i < size; i++) {
+            built.enqueue(values[i & (OPERATIONS - 1)]);
+        }
+        return built;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ArrayDeque<Integer> javaArrayDequeBuild() {
+        ArrayDeque<Integer> built = new ArrayDeque<>();
+        for (int i = 0; i < size; i++) {
+            built.addLast(values[i & (OPERATIONS - 1)]);
+        }
+        return built;
+    }
+
+    /**
+     * Returns {@code count} values in the range 0 to size - 1 drawn from the
+     * given distribution.
+     *
+     * @param distribution sequential, random or skewed
+     * @param size the number of distinct values
+     * @param count the number of values to draw
+     * @param seed the random seed
+     * @return the drawn values
+     */
+    static Integer[] accessOrder(String distribution, int size, int count, long seed) {
+        Random random = new Random(seed);
+        Integer[] values = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            switch (distribution) {
+                case "sequential":
+                    values[i] = i % size;
+                    break;
+                case "random":
+                    values[i] = random.nextInt(size);
+                    break;
+                case "skewed":
+                    values[i] = (int) (size * Math.pow(random.nextDouble(), SKEW));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown distribution " + distribution);
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,274 @@
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable graph stored in compressed sparse row form.
+ *
+ * Every vertex is given a dense index from 0 to vertexCount() - 1. The
+ * neighbors of vertex i are {@code targets[offsets[i]]} up to but not
+ * including {@code targets[offsets[i + 1]]}, with the matching edge weights
+ * at the same positions of {@code weights}. An undirected edge appears once
+ * in each direction. Each vertex's neighbors are in the same order as in the
+ * adjacency list of a Graph built from the same edges, so traversals visit
+ * vertices in the same order on both.
+ */
+public class CsrGraph<T> {
+
+    /**
+     * Maps between vertices and their dense indices. A graph built from
+     * edges keeps its vertices in an array, while one copied from a
+     * MappedCsrGraph reads each vertex from the file when it is asked for.
+     *
+     * @param <T> the type of the vertex data
+     */
+    interface VertexIndex<T> {
+
+        /**
+         * Gets the vertex with the given dense index.
+         *
+         * @param index the index of the vertex
+         * @return the vertex
+         */
+        Vertex<T> get(int index);
+
+        /**
+         * Gets the dense index of a vertex.
+         *
+         * @param vertex the vertex to look up
+         * @return the index of the vertex, or -1 if it is not in the graph
+         */
+        int indexOf(Vertex<T> vertex);
+    }
+
+    private final VertexIndex<T> vertices;
+    private final int vertexCount;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+    private final boolean directed;
+    private CsrGraph<T> transpose;
+
+    /**
+     * Constructor to build a CsrGraph from an edge list.
+     *
+     * @param edges the edge list to build the graph from.
+     */
+    public CsrGraph(LinkedHashSet<Edge<T>> edges) {
+        this(new LinkedHashSet<>(), edges);
+    }
+
+    /**
+     * Constructor to build a CsrGraph from a set of vertices and
+     * an edge list to allow for isolated vertices.
+     *
+     * @param vertices the vertex set
+     * @param edges the edge set
+     */
+    public CsrGraph(Set<Vertex<T>> vertices, LinkedHashSet<Edge<T>> edges) {
+        Map<Vertex<T>, Integer> indices = new HashMap<>();
+        for (Vertex<T> v : vertices) {
+            indices.putIfAbsent(v, indices.size());
+        }
+        boolean anyDirected = false;
+        for (Edge<T> e : edges) {
+            indices.putIfAbsent(e.getU(), indices.size());
+            indices.putIfAbsent(e.getV(), indices.size());
+            anyDirected |= e.isDirected();
+        }
+        directed = anyDirected;
+        vertexCount = indices.size();
+
+        Vertex<T>[] array = (Vertex<T>[]) new Vertex[vertexCount];
+        for (Map.Entry<Vertex<T>, Integer> entry : indices.entrySet()) {
+            array[entry.getValue()] = entry.getKey();
+        }
+        this.vertices = new ArrayVertexIndex<>(array, indices);
+
+        offsets = new int[vertexCount + 1];
+        for (Edge<T> e : edges) {
+            offsets[indices.get(e.getU()) + 1]++;
+            if (!e.isDirected()) {
+                offsets[indices.get(e.getV()) + 1]++;
+            }
+        }
+        for (int i = 0; i < vertexCount; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        targets = new int[offsets[vertexCount]];
+        weights = new int[targets.length];
+        int[] next = Arrays.copyOf(offsets, vertexCount);
+        for (Edge<T> e : edges) {
+            int u = indices.get(e.getU()),
+                v = indices.get(e.getV());
+            targets[next[u]] = v;
+            weights[next[u]++] = e.getWeight();
+            if (!e.isDirected()) {
+                targets[next[v]] = u;
+                weights[next[v]++] = e.getWeight();
+            }
+        }
+    }
+
+    /**
+     * Constructor for a graph from arrays that are already in compressed
+     * sparse row form, such as those copied from a MappedCsrGraph. The
+     * arrays are used as they are, not copied.
+     *
+     * @param vertices the vertex index
+     * @param offsets the offsets array, of length vertexCount + 1
+     * @param targets the targets array
+     * @param weights the weights array, of the same length as targets
+     * @param directed whether the edges are directed
+     */
+    CsrGraph(VertexIndex<T> vertices, int[] offsets, int[] targets, int[] weights, boolean directed) {
+        this.vertices = vertices;
+        this.vertexCount = offsets.length - 1;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.directed = directed;
+    }
+
+    /**
+     * Gets the transpose of this graph, with every edge reversed and the
+     * same vertex indices. Vertex i's neighbors in the transpose are the
+     * vertices with an edge to i. An undirected graph is its own transpose.
+     * The transpose is built on the first call and kept.
+     *
+     * @return the transposed graph
+     */
+    public CsrGraph<T> transpose() {
+        if (!directed) {
+            return this;
+        }
+        if (transpose == null) {
+            int[] reverseOffsets = new int[offsets.length];
+            for (int e = 0; e < targets.length; e++) {
+                reverseOffsets[targets[e] + 1]++;
+            }
+            for (int i = 0; i < vertexCount; i++) {
+                reverseOffsets[i + 1] += reverseOffsets[i];
+            }
+            int[] reverseTargets = new int[targets.length];
+            int[] reverseWeights = new int[targets.length];
+            int[] next = Arrays.copyOf(reverseOffsets, vertexCount);
+            for (int u = 0; u < vertexCount; u++) {
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    reverseTargets[next[targets[e]]] = u;
+                    reverseWeights[next[targets[e]]++] = weights[e];
+                }
+            }
+            CsrGraph<T> reversed = new CsrGraph<>(vertices, reverseOffsets, reverseTargets, reverseWeights,
+                    true);
+            reversed.transpose = this;
+            transpose = reversed;
+        }
+        return transpose;
+    }
+
+    /**
+     * Gets the number of vertices in this graph.
+     *
+     * @return the number of vertices
+     */
+    public int vertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * Gets the dense index of a vertex.
+     *
+     * @param vertex the vertex to look up
+     * @return the index of the vertex, or -1 if it is not in this graph
+     */
+    public int indexOf(Vertex<T> vertex) {
+        return vertices.indexOf(vertex);
+    }
+
+    /**
+     * Gets the vertex with the given dense index.
+     *
+     * @param index the index of the vertex
+     * @return the vertex
+     */
+    public Vertex<T> getVertex(int index) {
+        return vertices.get(index);
+    }
+
+    /**
+     * Gets the offsets array. Vertex i's neighbors are at positions
+     * {@code offsets[i]} to {@code offsets[i + 1] - 1} of the targets and
+     * weights arrays. This is not a copy and must not be modified.
+     *
+     * @return the offsets array, of length vertexCount() + 1
+     */
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    /**
+     * Gets the targets array, holding the index of each edge's end vertex.
+     * This is not a copy and must not be modified.
+     *
+     * @return the targets array
+     */
+    public int[] getTargets() {
+        return targets;
+    }
+
+    /**
+     * Gets the weights array, holding the weight of each edge. This is not a
+     * copy and must not be modified.
+     *
+     * @return the weights array
+     */
+    public int[] getWeights() {
+        return weights;
+    }
+
+    /**
+     * Gets whether or not the edges of this graph are directed.
+     *
+     * @return true if this graph is directed, false otherwise
+     */
+    public boolean isDirected() {
+        return directed;
+    }
+
+    /**
+     * A vertex index for a graph built in memory, holding the vertices in an
+     * array and their indices in a map.
+     *
+     * @param <T> the type of the vertex data
+     */
+    private static final class ArrayVertexIndex<T> implements VertexIndex<T> {
+        private final Vertex<T>[] vertices;
+        private final Map<Vertex<T>, Integer> indices;
+
+        /**
+         * Creates the index.
+         *
+         * @param vertices the vertex with each index
+         * @param indices the index of each vertex
+         */
+        ArrayVertexIndex(Vertex<T>[] vertices, Map<Vertex<T>, Integer> indices) {
+            this.vertices = vertices;
+            this.indices = indices;
+        }
+
+        @Override
+        public Vertex<T> get(int index) {
+            return vertices[index];
+        }
+
+        @Override
+        public int indexOf(Vertex<T> vertex) {
+            Integer index = indices.get(vertex);
+            return index == null ? -1 : index;
+        }
+    }
+}
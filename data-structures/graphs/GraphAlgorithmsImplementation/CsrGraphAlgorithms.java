@@ -0,0 +1,1370 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Implementations of graph algorithms on a CsrGraph. Each one gives the same
+ * result as the GraphAlgorithms method of the same name run on a Graph built
+ * from the same edges, but keeps its working state in arrays indexed by
+ * vertex rather than in sets and maps of vertices.
+ */
+public class CsrGraphAlgorithms {
+
+    /*
+     * Frontier vertices and graph vertices per leaf task of the parallel
+     * algorithms, and the switching thresholds of its direction
+     * optimization: go bottom-up once the frontier has more than
+     * 1 / TOP_DOWN_FACTOR of the unexplored edges, and back to top-down once
+     * it has fewer than 1 / BOTTOM_UP_FACTOR of the vertices.
+     */
+    private static final int FRONTIER_GRAIN = 1024;
+    private static final int VERTEX_GRAIN = 8192;
+    private static final int TOP_DOWN_FACTOR = 14;
+    private static final int BOTTOM_UP_FACTOR = 24;
+
+    /**
+     * Perform breadth first search on a CsrGraph, visiting vertices in the
+     * same order as on a Graph built from the same edges. The search keeps
+     * its queue and visited flags in arrays indexed by vertex, so it
+     * allocates nothing per edge.
+     *
+     * @throws IllegalArgumentException if any input is null, or if
+     *         {@code start} doesn't exist in the graph
+     * @param start the Vertex to be started at
+     * @param graph the CsrGraph that is being traversed
+     * @param <T> the data type representing the vertices in the graph.
+     * @return a List of vertices in the order that they are visited
+     */
+    public static <T> List<Vertex<T>> breadthFirstSearch(Vertex<T> start,
+            CsrGraph<T> graph) {
+        int source = startIndex(start, graph);
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+
+        List<Vertex<T>> list = new ArrayList<>();
+        boolean[] visited = new boolean[graph.vertexCount()];
+        int[] queue = new int[graph.vertexCount()];
+        int head = 0,
+            tail = 0;
+        queue[tail++] = source;
+        visited[source] = true;
+
+        while (head < tail) {
+            int curr = queue[head++];
+            list.add(graph.getVertex(curr));
+
+            for (int e = offsets[curr]; e < offsets[curr + 1]; e++) {
+                if (!visited[targets[e]]) {
+                    visited[targets[e]] = true;
+                    queue[tail++] = targets[e];
+                }
+            }
+        }
+
+        return list;
+    }
+
+    /**
+     * Perform depth first search on a CsrGraph, visiting vertices in the
+     * same order as on a Graph built from the same edges. The search keeps
+     * an explicit stack of vertices and how far through each one's edges it
+     * has got, so deep graphs cannot overflow the call stack and nothing is
+     * allocated per edge.
+     *
+     * @throws IllegalArgumentException if any input is null, or if
+     *         {@code start} doesn't exist in the graph
+     * @param start the Vertex to start at
+     * @param graph the CsrGraph being traversed
+     * @param <T> the data type representing the vertices in the graph.
+     * @return a List of vertices in the order that they are visited
+     */
+    public static <T> List<Vertex<T>> depthFirstSearch(Vertex<T> start,
+            CsrGraph<T> graph) {
+        int source = startIndex(start, graph);
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+
+        List<Vertex<T>> list = new ArrayList<>();
+        boolean[] visited = new boolean[graph.vertexCount()];
+        int[] stack = new int[graph.vertexCount()];
+        int[] next = new int[graph.vertexCount()];
+        int top = 0;
+        stack[top] = source;
+        next[top] = offsets[source];
+        visited[source] = true;
+        list.add(graph.getVertex(source));
+
+        while (top >= 0) {
+            int curr = stack[top];
+            if (next[top] == offsets[curr + 1]) {
+                top--;
+            } else {
+                int child = targets[next[top]++];
+                if (!visited[child]) {
+                    visited[child] = true;
+                    list.add(graph.getVertex(child));
+                    stack[++top] = child;
+                    next[top] = offsets[child];
+                }
+            }
+        }
+
+        return list;
+    }
+
+    /**
+     * Find the shortest distance between the start vertex and all other
+     * vertices of a CsrGraph, with the same result as on a Graph built from
+     * the same edges. Distances are kept in an array indexed by vertex and
+     * the priority queue is an indexed heap, so a shorter path to a vertex
+     * lowers its key in place instead of adding another entry. The queue
+     * never holds more than one entry per vertex and nothing is allocated
+     * per edge until the result map is built.
+     *
+     * @throws IllegalArgumentException if any input is null, or if
+     *         {@code start} doesn't exist in the graph
+     * @param start the Vertex that is being started from
+     * @param graph the CsrGraph that is being searched
+     * @param <T> the data type representing the vertices in the graph.
+     * @return a map of the shortest distances from start to every other node
+     *         in the graph.
+     */
+    public static <T> Map<Vertex<T>, Integer> dijkstras(Vertex<T> start,
+            CsrGraph<T> graph) {
+        int source = startIndex(start, graph);
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
+
+        int[] distance = new int[graph.vertexCount()];
+        Arrays.fill(distance, Integer.MAX_VALUE);
+        distance[source] = 0;
+        IndexedHeap pq = new IndexedHeap(graph.vertexCount());
+        pq.addOrDecreaseKey(source, 0);
+
+        while (!pq.isEmpty()) {
+            int curr = pq.remove();
+
+            for (int e = offsets[curr]; e < offsets[curr + 1]; e++) {
+                int newDistance = distance[curr] + weights[e];
+                if (newDistance < distance[targets[e]]) {
+                    distance[targets[e]] = newDistance;
+                    pq.addOrDecreaseKey(targets[e], newDistance);
+                }
+            }
+        }
+
+        Map<Vertex<T>, Integer> distances = new HashMap<>();
+        for (int i = 0; i < distance.length; i++) {
+            distances.put(graph.getVertex(i), distance[i]);
+        }
+        return distances;
+    }
+
+    /**
+     * Run Prim's algorithm on a CsrGraph and return the minimum spanning
+     * tree in the form of a set of Edges.  If the graph is disconnected, and
+     * therefore there is no valid MST, return null. The priority queue is
+     * an indexed heap of the vertices outside the tree, keyed by the weight
+     * of the lightest edge joining each one to the tree, so it holds at most
+     * one entry per vertex and the only Edges created are the ones in the
+     * tree.
+     *
+     * @throws IllegalArgumentException if any input is null, or if
+     *         {@code start} doesn't exist in the graph
+     * @param start the Vertex to be started at
+     * @param graph the CsrGraph the MST is being created for
+     * @param <T> the data type representing the vertices in the graph.
+     * @return the MST of the graph; null if no valid MST exists.
+     */
+    public static <T> Set<Edge<T>> prims(Vertex<T> start, CsrGraph<T> graph) {
+        int source = startIndex(start, graph);
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
+
+        Set<Edge<T>> mst = new HashSet<>();
+        boolean[] visited = new boolean[graph.vertexCount()];
+        int[] lightest = new int[graph.vertexCount()];
+        int[] parent = new int[graph.vertexCount()];
+        Arrays.fill(lightest, Integer.MAX_VALUE);
+        IndexedHeap pq = new IndexedHeap(graph.vertexCount());
+        int curr = source;
+        visited[source] = true;
+
+        while (true) {
+            for (int e = offsets[curr]; e < offsets[curr + 1]; e++) {
+                int next = targets[e];
+                if (!visited[next] && weights[e] < lightest[next]) {
+                    lightest[next] = weights[e];
+                    parent[next] = curr;
+                    pq.addOrDecreaseKey(next, weights[e]);
+                }
+            }
+            if (pq.isEmpty()) {
+                break;
+            }
+
+            curr = pq.remove();
+            visited[curr] = true;
+            mst.add(new Edge<>(graph.getVertex(parent[curr]), graph.getVertex(curr),
+                    lightest[curr], graph.isDirected()));
+        }
+
+        if (mst.size() != graph.vertexCount() - 1) {
+            return null;
+        }
+
+        return mst;
+    }
+
+    /**
+     * Perform a parallel breadth first search on a CsrGraph in the common
+     * fork-join pool, switching between top-down and bottom-up steps as the
+     * frontier grows and shrinks.
+     *
+     * @throws IllegalArgumentException if any input is null, or if
+     *         {@code start} doesn't exist in the graph
+     * @param start the Vertex to be started at
+     * @param graph the CsrGraph that is being traversed
+     * @param <T> the data type representing the vertices in the graph.
+     * @return the layers of the search; see
+     *         {@link #parallelBreadthFirstSearch(Vertex, CsrGraph, ForkJoinPool, boolean)}
+     */
+    public static <T> List<List<Vertex<T>>> parallelBreadthFirstSearch(
+            Vertex<T> start, CsrGraph<T> graph) {
+        return parallelBreadthFirstSearch(start, graph, ForkJoinPool.commonPool(), true);
+    }
+
+    /**
+     * Perform a parallel, level synchronous breadth first search on a
+     * CsrGraph. Each level expands the whole frontier at once, split across
+     * fork-join tasks, and visited vertices are claimed in an atomic bitset
+     * so that each vertex joins exactly one layer.
+     *
+     * A top-down step checks every edge out of the frontier. When
+     * directionOptimizing is set and the frontier's edges outnumber a
+     * fraction of the unexplored edges, the search switches to bottom-up
+     * steps, in which every unvisited vertex looks through its incoming
+     * edges for a parent in the frontier and stops at the first one. It
+     * switches back once the frontier is small again. Bottom-up steps on a
+     * directed graph use {@link CsrGraph#transpose()}.
+     *
+     * Layer i holds the vertices at distance i from start, counting edges,
+     * so the layers are the same as those of breadthFirstSearch. The order
+     * of the vertices within a layer depends on scheduling.
+     *
+     * @throws IllegalArgumentException if any input is null, or if
+     *         {@code start} doesn't exist in the graph
+     * @param start the Vertex to be started at
+     * @param graph the CsrGraph that is being traversed
+     * @param pool the pool to run the search's tasks in
+     * @param directionOptimizing whether to use bottom-up steps
+     * @param <T> the data type representing the vertices in the graph.
+     * @return a List of the layers of the search, starting with the layer
+     *         holding only start
+     */
+    public static <T> List<List<Vertex<T>>> parallelBreadthFirstSearch(
+            Vertex<T> start, CsrGraph<T> graph, ForkJoinPool pool,
+            boolean directionOptimizing) {
+        int source = startIndex(start, graph);
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool must be valid.");
+        }
+        int n = graph.vertexCount();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        CsrGraph<T> reverse = directionOptimizing ? graph.transpose() : null;
+
+        AtomicBitSet visited = new AtomicBitSet(n);
+        visited.set(source);
+        int[] frontier = {source};
+        long unexploredEdges = targets.length;
+        boolean bottomUp = false;
+        List<List<Vertex<T>>> layers = new ArrayList<>();
+
+        while (frontier.length > 0) {
+            List<Vertex<T>> layer = new ArrayList<>(frontier.length);
+            long frontierEdges = 0;
+            for (int v : frontier) {
+                layer.add(graph.getVertex(v));
+                frontierEdges += offsets[v + 1] - offsets[v];
+            }
+            layers.add(layer);
+            unexploredEdges -= frontierEdges;
+
+            if (directionOptimizing) {
+                if (!bottomUp) {
+                    bottomUp = frontierEdges > unexploredEdges / TOP_DOWN_FACTOR;
+                } else {
+                    bottomUp = frontier.length >= n / BOTTOM_UP_FACTOR;
+                }
+            }
+
+            if (bottomUp) {
+                long[] inFrontier = new long[(n + 63) >>> 6];
+                for (int v : frontier) {
+                    inFrontier[v >>> 6] |= 1L << v;
+                }
+                frontier = pool.invoke(new BottomUpStep(0, n, reverse.getOffsets(),
+                        reverse.getTargets(), inFrontier, visited));
+            } else {
+                frontier = pool.invoke(new TopDownStep(frontier, 0, frontier.length,
+                        offsets, targets, visited));
+            }
+        }
+
+        return layers;
+    }
+
+    /**
+     * Find the shortest distances from the start vertex with parallel delta
+     * stepping in the common fork-join pool, with the bucket width given by
+     * defaultDelta.
+     *
+     * @throws IllegalArgumentException if any input is null, or if
+     *         {@code start} doesn't exist in the graph
+     * @param start the Vertex that is being started from
+     * @param graph the CsrGraph that is being searched
+     * @param <T> the data type representing the vertices in the graph.
+     * @return a map of the shortest distances from start to every other node
+     *         in the graph.
+     */
+    public static <T> Map<Vertex<T>, Integer> deltaStepping(Vertex<T> start,
+            CsrGraph<T> graph) {
+        startIndex(start, graph);
+        return deltaStepping(start, graph, defaultDelta(graph), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Picks a bucket width for deltaStepping: the largest edge weight
+     * divided by the average degree, at least 1. With random weights this
+     * keeps the number of times each vertex is relaxed close to one while
+     * still giving each bucket several vertices to work on.
+     *
+     * @throws IllegalArgumentException if graph is null
+     * @param graph the CsrGraph that will be searched
+     * @return the bucket width
+     */
+    public static int defaultDelta(CsrGraph<?> graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Graph must be valid.");
+        }
+        int maxWeight = 1;
+        for (int weight : graph.getWeights()) {
+            maxWeight = Math.max(maxWeight, weight);
+        }
+        int averageDegree = Math.max(1, graph.getTargets().length / Math.max(1, graph.vertexCount()));
+        return Math.max(1, maxWeight / averageDegree);
+    }
+
+    /**
+     * Find the shortest distances from the start vertex with parallel delta
+     * stepping, with the same result as dijkstras.
+     *
+     * Vertices are kept in buckets of tentative distances delta wide, and
+     * the lowest nonempty bucket is processed as a whole: the light edges,
+     * of weight at most delta, out of all its vertices are relaxed at once
+     * across fork-join tasks, repeating while that puts vertices back into
+     * the bucket. Once the bucket stays empty its vertices' distances are
+     * final and their heavy edges are relaxed, again in parallel. Distances
+     * are lowered with compare and set, so relaxations racing on the same
+     * vertex keep the smallest.
+     *
+     * A small delta gives buckets with little work to share between
+     * threads; a large one relaxes edges from vertices whose distances are
+     * not yet final, which wastes work. A delta of 1 visits the vertices in
+     * the same order as Dijkstra's algorithm, and a delta at least the
+     * largest distance turns the search into a parallel Bellman-Ford.
+     *
+     * @throws IllegalArgumentException if any input is null, if
+     *         {@code start} doesn't exist in the graph, or if delta is less
+     *         than 1
+     * @param start the Vertex that is being started from
+     * @param graph the CsrGraph that is being searched
+     * @param delta the width of each bucket
+     * @param pool the pool to run the search's tasks in
+     * @param <T> the data type representing the vertices in the graph.
+     * @return a map of the shortest distances from start to every other node
+     *         in the graph.
+     */
+    public static <T> Map<Vertex<T>, Integer> deltaStepping(Vertex<T> start,
+            CsrGraph<T> graph, int delta, ForkJoinPool pool) {
+        int source = startIndex(start, graph);
+        if (delta < 1) {
+            throw new IllegalArgumentException("Delta must be at least 1.");
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool must be valid.");
+        }
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
+
+        AtomicIntegerArray distance = new AtomicIntegerArray(graph.vertexCount());
+        for (int i = 0; i < graph.vertexCount(); i++) {
+            distance.set(i, Integer.MAX_VALUE);
+        }
+        distance.set(source, 0);
+        TreeMap<Integer, IntList> buckets = new TreeMap<>();
+        buckets.computeIfAbsent(0, k -> new IntList()).add(source);
+
+        // The round each vertex was last taken out of a bucket in, to skip
+        // duplicate entries, and the bucket it was settled in, so it is
+        // only settled once.
+        int[] takenIn = new int[graph.vertexCount()];
+        int[] settledIn = new int[graph.vertexCount()];
+        Arrays.fill(settledIn, -1);
+        int round = 0;
+
+        while (!buckets.isEmpty()) {
+            int bucket = buckets.firstKey();
+            IntList settled = new IntList();
+
+            while (buckets.containsKey(bucket)) {
+                IntList entries = buckets.remove(bucket);
+                IntList current = new IntList();
+                round++;
+                for (int i = 0; i < entries.size; i++) {
+                    int v = entries.values[i];
+                    if (takenIn[v] != round && distance.get(v) / delta == bucket) {
+                        takenIn[v] = round;
+                        current.add(v);
+                        if (settledIn[v] != bucket) {
+                            settledIn[v] = bucket;
+                            settled.add(v);
+                        }
+                    }
+                }
+                distribute(pool.invoke(new RelaxStep(current.toArray(), 0, current.size,
+                        offsets, targets, weights, delta, true, distance)), distance, delta, buckets);
+            }
+
+            distribute(pool.invoke(new RelaxStep(settled.toArray(), 0, settled.size,
+                    offsets, targets, weights, delta, false, distance)), distance, delta, buckets);
+        }
+
+        Map<Vertex<T>, Integer> distances = new HashMap<>();
+        for (int i = 0; i < graph.vertexCount(); i++) {
+            distances.put(graph.getVertex(i), distance.get(i));
+        }
+        return distances;
+    }
+
+    /**
+     * Run Boruvka's algorithm on a CsrGraph in the common fork-join pool and
+     * return the minimum spanning tree in the form of a set of Edges. If the
+     * graph is disconnected, and therefore there is no valid MST, return
+     * null.
+     *
+     * @throws IllegalArgumentException if the graph is null
+     * @param graph the CsrGraph the MST is being created for
+     * @param <T> the data type representing the vertices in the graph.
+     * @return the MST of the graph; null if no valid MST exists.
+     */
+    public static <T> Set<Edge<T>> boruvkas(CsrGraph<T> graph) {
+        return boruvkas(graph, false, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Run a parallel Boruvka's algorithm on a CsrGraph. Every round, each
+     * component of the forest built so far finds the lightest edge leaving
+     * it and all of those edges are added at once, so the number of
+     * components at least halves each round and there are at most log n
+     * rounds. The search for the lightest edges is split across fork-join
+     * tasks over ranges of vertices, each lowering its components' best
+     * edges with compare and set. Ties between equal weights are broken by
+     * edge position, and an edge whose ends are already in one tree is
+     * skipped, so the forest never gains a cycle. Edge directions are
+     * ignored.
+     *
+     * If the graph is disconnected there is no spanning tree. Then this
+     * returns the minimum spanning forest, with a tree for each connected
+     * component, if forest is true, and null otherwise.
+     *
+     * @throws IllegalArgumentException if the graph or pool is null
+     * @param graph the CsrGraph the MST is being created for
+     * @param forest whether to return the minimum spanning forest of a
+     *        disconnected graph rather than null
+     * @param pool the pool to run the search's tasks in
+     * @param <T> the data type representing the vertices in the graph.
+     * @return the MST of the graph, or its minimum spanning forest; null if
+     *         the graph is disconnected and forest is false.
+     */
+    public static <T> Set<Edge<T>> boruvkas(CsrGraph<T> graph, boolean forest,
+            ForkJoinPool pool) {
+        if (graph == null || pool == null) {
+            throw new IllegalArgumentException("Graph and pool must be valid.");
+        }
+        int n = graph.vertexCount();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
+        CsrGraph<T> reverse = graph.transpose();
+
+        // Each vertex's component, always the root of its set in trees.
+        int[] component = new int[n];
+        for (int i = 0; i < n; i++) {
+            component[i] = i;
+        }
+        DisjointSet trees = new DisjointSet(n);
+        AtomicLongArray lightest = new AtomicLongArray(n);
+        int[] roots = component.clone();
+        int[] relabel = new int[n];
+        int rootCount = n;
+        Set<Edge<T>> mst = new HashSet<>();
+
+        while (rootCount > 1) {
+            for (int i = 0; i < rootCount; i++) {
+                lightest.set(roots[i], Long.MAX_VALUE);
+            }
+            pool.invoke(new LightestEdgeStep(0, n, component, graph, reverse, lightest));
+
+            boolean merged = false;
+            for (int i = 0; i < rootCount; i++) {
+                long best = lightest.get(roots[i]);
+                if (best == Long.MAX_VALUE) {
+                    continue;
+                }
+                long e = best & 0xFFFFFFFFL;
+                boolean reversed = e >= targets.length;
+                int[] edgeOffsets = reversed ? reverse.getOffsets() : offsets;
+                int position = (int) (reversed ? e - targets.length : e);
+                int u = sourceOf(position, edgeOffsets),
+                    v = reversed ? reverse.getTargets()[position] : targets[position];
+                if (trees.union(u, v)) {
+                    merged = true;
+                    int from = reversed ? v : u,
+                        to = reversed ? u : v;
+                    mst.add(new Edge<>(graph.getVertex(from), graph.getVertex(to),
+                            (int) (best >> 32), graph.isDirected()));
+                }
+            }
+            if (!merged) {
+                break;
+            }
+
+            // Map each old root to its new one, keep the roots that are
+            // still roots, then move every vertex to its new root.
+            int newCount = 0;
+            for (int i = 0; i < rootCount; i++) {
+                int root = roots[i];
+                relabel[root] = trees.find(root);
+                if (relabel[root] == root) {
+                    roots[newCount++] = root;
+                }
+            }
+            rootCount = newCount;
+            pool.invoke(new RelabelStep(0, n, component, relabel));
+        }
+
+        if (!forest && trees.count() > 1) {
+            return null;
+        }
+
+        return mst;
+    }
+
+    /**
+     * Find the strongly connected components of a CsrGraph with Tarjan's
+     * algorithm. Two vertices are in the same component if each can reach
+     * the other. The edges of an undirected graph go both ways, so its
+     * components are its connected components.
+     *
+     * The depth first search behind Tarjan's algorithm runs on explicit
+     * stacks of vertex indices rather than the call stack, so it handles
+     * paths of any length in O(V + E) time.
+     *
+     * Components are numbered from 0 in the order Tarjan's algorithm
+     * finishes them, which is a reverse topological order: every edge
+     * between two components goes from a higher number to a lower one.
+     *
+     * @throws IllegalArgumentException if the graph is null
+     * @param graph the CsrGraph to split into components
+     * @param <T> the data type representing the vertices in the graph.
+     * @return the component number of each vertex, indexed by vertex
+     */
+    public static <T> int[] stronglyConnectedComponents(CsrGraph<T> graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Graph must be valid.");
+        }
+        int n = graph.vertexCount();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+
+        int[] order = new int[n];
+        int[] low = new int[n];
+        int[] component = new int[n];
+        Arrays.fill(order, -1);
+        Arrays.fill(component, -1);
+        int[] path = new int[n];
+        int[] next = new int[n];
+        int[] open = new int[n];
+        int openSize = 0,
+            visited = 0,
+            components = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (order[root] != -1) {
+                continue;
+            }
+            int depth = 0;
+            order[root] = low[root] = visited++;
+            open[openSize++] = root;
+            path[depth] = root;
+            next[depth++] = offsets[root];
+
+            while (depth > 0) {
+                int curr = path[depth - 1];
+                if (next[depth - 1] < offsets[curr + 1]) {
+                    int child = targets[next[depth - 1]++];
+                    if (order[child] == -1) {
+                        order[child] = low[child] = visited++;
+                        open[openSize++] = child;
+                        path[depth] = child;
+                        next[depth++] = offsets[child];
+                    } else if (component[child] == -1) {
+                        // Still open, so on the current path's component stack.
+                        low[curr] = Math.min(low[curr], order[child]);
+                    }
+                } else {
+                    depth--;
+                    if (low[curr] == order[curr]) {
+                        int member;
+                        do {
+                            member = open[--openSize];
+                            component[member] = components;
+                        } while (member != curr);
+                        components++;
+                    }
+                    if (depth > 0) {
+                        int parent = path[depth - 1];
+                        low[parent] = Math.min(low[parent], low[curr]);
+                    }
+                }
+            }
+        }
+
+        return component;
+    }
+
+    /**
+     * Sort the vertices of a CsrGraph topologically with Kahn's algorithm,
+     * so that every edge goes from a vertex to one later in the order.
+     * Vertices with no edges into them are taken first, in index order, and
+     * taking a vertex removes its edges. The edges of an undirected graph go
+     * both ways, so any edge makes a cycle. This runs in O(V + E) time.
+     *
+     * @throws IllegalArgumentException if the graph is null
+     * @param graph the CsrGraph to sort
+     * @param <T> the data type representing the vertices in the graph.
+     * @return the vertices in topological order; null if the graph has a
+     *         cycle, which findCycle can report.
+     */
+    public static <T> List<Vertex<T>> topologicalSort(CsrGraph<T> graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Graph must be valid.");
+        }
+        int[] order = kahnsOrder(graph);
+        if (order.length < graph.vertexCount()) {
+            return null;
+        }
+
+        List<Vertex<T>> list = new ArrayList<>(order.length);
+        for (int v : order) {
+            list.add(graph.getVertex(v));
+        }
+        return list;
+    }
+
+    /**
+     * Find a cycle in a CsrGraph. Kahn's algorithm removes every vertex not
+     * on or downstream of a cycle; each vertex left has an edge into it
+     * from another vertex left, so walking those edges backwards from any of
+     * them must come back round to a vertex already seen. This runs in
+     * O(V + E) time.
+     *
+     * @throws IllegalArgumentException if the graph is null
+     * @param graph the CsrGraph to search
+     * @param <T> the data type representing the vertices in the graph.
+     * @return the vertices of a cycle in the order its edges go, with the
+     *         first vertex not repeated at the end; null if the graph has no
+     *         cycle.
+     */
+    public static <T> List<Vertex<T>> findCycle(CsrGraph<T> graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Graph must be valid.");
+        }
+        int n = graph.vertexCount();
+        int[] order = kahnsOrder(graph);
+        if (order.length == n) {
+            return null;
+        }
+
+        boolean[] removed = new boolean[n];
+        for (int v : order) {
+            removed[v] = true;
+        }
+        int start = 0;
+        while (removed[start]) {
+            start++;
+        }
+
+        CsrGraph<T> reverse = graph.transpose();
+        int[] reverseOffsets = reverse.getOffsets();
+        int[] reverseTargets = reverse.getTargets();
+        // Where each vertex is on the backwards walk, or -1.
+        int[] step = new int[n];
+        Arrays.fill(step, -1);
+        int[] walk = new int[n];
+        int length = 0,
+            curr = start;
+        while (step[curr] == -1) {
+            step[curr] = length;
+            walk[length++] = curr;
+            int e = reverseOffsets[curr];
+            while (removed[reverseTargets[e]]) {
+                e++;
+            }
+            curr = reverseTargets[e];
+        }
+
+        // The walk went against the edges, so read the loop back to front.
+        List<Vertex<T>> cycle = new ArrayList<>();
+        for (int i = length - 1; i >= step[curr]; i--) {
+            cycle.add(graph.getVertex(walk[i]));
+        }
+        return cycle;
+    }
+
+    /**
+     * Checks the arguments of a CsrGraph algorithm and looks up the start
+     * vertex.
+     *
+     * @throws IllegalArgumentException if any input is null, or if
+     *         {@code start} doesn't exist in the graph
+     * @param start the Vertex to be started at
+     * @param graph the CsrGraph being searched
+     * @param <T> the data type representing the vertices in the graph.
+     * @return the index of the start vertex
+     */
+    private static <T> int startIndex(Vertex<T> start, CsrGraph<T> graph) {
+        if (start == null || graph == null) {
+            throw new IllegalArgumentException("Start vertex and graph must be valid.");
+        }
+        int index = graph.indexOf(start);
+        if (index == -1) {
+            throw new IllegalArgumentException("Start vertex must exist within the graph.");
+        }
+        return index;
+    }
+
+    /**
+     * Runs Kahn's algorithm on a CsrGraph.
+     *
+     * @param graph the graph to sort
+     * @return the vertices Kahn's algorithm could order, in order; all of
+     *         them unless the graph has a cycle
+     */
+    private static int[] kahnsOrder(CsrGraph<?> graph) {
+        int n = graph.vertexCount();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+
+        int[] inDegree = new int[n];
+        for (int target : targets) {
+            inDegree[target]++;
+        }
+        int[] queue = new int[n];
+        int head = 0,
+            tail = 0;
+        for (int v = 0; v < n; v++) {
+            if (inDegree[v] == 0) {
+                queue[tail++] = v;
+            }
+        }
+        while (head < tail) {
+            int curr = queue[head++];
+            for (int e = offsets[curr]; e < offsets[curr + 1]; e++) {
+                if (--inDegree[targets[e]] == 0) {
+                    queue[tail++] = targets[e];
+                }
+            }
+        }
+        return Arrays.copyOf(queue, tail);
+    }
+
+    /**
+     * Finds the vertex an edge of a CsrGraph starts from.
+     *
+     * @param edge the position of the edge in the targets array
+     * @param offsets the offsets array of the graph
+     * @return the index of the vertex whose edges include edge
+     */
+    private static int sourceOf(int edge, int[] offsets) {
+        int low = 0,
+            high = offsets.length - 2;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (offsets[mid] <= edge) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * A 4-ary indexed min heap of the vertices 0 to capacity - 1 with int
+     * keys. It remembers each vertex's position so a key can be lowered in
+     * place. This is the heaps package's IndexedMinHeap cut down to what
+     * the algorithms here use.
+     */
+    private static final class IndexedHeap {
+        private static final int ARITY = 4;
+
+        private final int[] heap;
+        private final int[] heapKeys;
+        private final int[] position;
+        private int size;
+
+        /**
+         * Creates an empty heap.
+         *
+         * @param capacity the number of vertices
+         */
+        IndexedHeap(int capacity) {
+            heap = new int[capacity];
+            heapKeys = new int[capacity];
+            position = new int[capacity];
+            Arrays.fill(position, -1);
+        }
+
+        /**
+         * Adds a vertex, or lowers its key if it is already in the heap.
+         * The key must be no greater than the vertex's current key.
+         *
+         * @param index the vertex
+         * @param key its key
+         */
+        void addOrDecreaseKey(int index, int key) {
+            int i = position[index];
+            if (i == -1) {
+                i = size++;
+            }
+            while (i > 0 && heapKeys[(i - 1) / ARITY] > key) {
+                heap[i] = heap[(i - 1) / ARITY];
+                heapKeys[i] = heapKeys[(i - 1) / ARITY];
+                position[heap[i]] = i;
+                i = (i - 1) / ARITY;
+            }
+            heap[i] = index;
+            heapKeys[i] = key;
+            position[index] = i;
+        }
+
+        /**
+         * Removes the vertex with the smallest key.
+         *
+         * @return the vertex removed
+         */
+        int remove() {
+            int min = heap[0];
+            position[min] = -1;
+            int index = heap[--size],
+                key = heapKeys[size],
+                i = 0;
+            if (size == 0) {
+                return min;
+            }
+            while (i * ARITY + 1 < size) {
+                int child = i * ARITY + 1,
+                    last = Math.min(child + ARITY, size);
+                for (int c = child + 1; c < last; c++) {
+                    if (heapKeys[c] < heapKeys[child]) {
+                        child = c;
+                    }
+                }
+                if (heapKeys[child] >= key) {
+                    break;
+                }
+                heap[i] = heap[child];
+                heapKeys[i] = heapKeys[child];
+                position[heap[i]] = i;
+                i = child;
+            }
+            heap[i] = index;
+            heapKeys[i] = key;
+            position[index] = i;
+            return min;
+        }
+
+        /**
+         * Returns whether the heap is empty.
+         *
+         * @return true if the heap has no vertices
+         */
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+
+    /**
+     * One top-down step of parallelBreadthFirstSearch over part of the
+     * frontier. Returns the vertices it claimed for the next frontier.
+     */
+    private static final class TopDownStep extends RecursiveTask<int[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] frontier;
+        private final int from;
+        private final int to;
+        private final int[] offsets;
+        private final int[] targets;
+        private final AtomicBitSet visited;
+
+        /**
+         * Creates a step over frontier[from] to frontier[to - 1].
+         *
+         * @param frontier the current frontier
+         * @param from the first position of the frontier to expand
+         * @param to one past the last position of the frontier to expand
+         * @param offsets the offsets array of the graph
+         * @param targets the targets array of the graph
+         * @param visited the vertices already claimed
+         */
+        TopDownStep(int[] frontier, int from, int to, int[] offsets,
+                int[] targets, AtomicBitSet visited) {
+            this.frontier = frontier;
+            this.from = from;
+            this.to = to;
+            this.offsets = offsets;
+            this.targets = targets;
+            this.visited = visited;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from > FRONTIER_GRAIN) {
+                int mid = (from + to) >>> 1;
+                TopDownStep left = new TopDownStep(frontier, from, mid, offsets, targets, visited);
+                left.fork();
+                int[] right = new TopDownStep(frontier, mid, to, offsets, targets, visited).compute();
+                return concat(left.join(), right);
+            }
+
+            int[] next = new int[16];
+            int size = 0;
+            for (int i = from; i < to; i++) {
+                int curr = frontier[i];
+                for (int e = offsets[curr]; e < offsets[curr + 1]; e++) {
+                    if (!visited.get(targets[e]) && visited.set(targets[e])) {
+                        if (size == next.length) {
+                            next = Arrays.copyOf(next, size * 2);
+                        }
+                        next[size++] = targets[e];
+                    }
+                }
+            }
+            return Arrays.copyOf(next, size);
+        }
+    }
+
+    /**
+     * One bottom-up step of parallelBreadthFirstSearch over a range of
+     * vertices. Returns the vertices in the range that found a parent in
+     * the frontier.
+     */
+    private static final class BottomUpStep extends RecursiveTask<int[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int[] reverseOffsets;
+        private final int[] reverseTargets;
+        private final long[] inFrontier;
+        private final AtomicBitSet visited;
+
+        /**
+         * Creates a step over the vertices from to to - 1.
+         *
+         * @param from the first vertex to check
+         * @param to one past the last vertex to check
+         * @param reverseOffsets the offsets array of the transposed graph
+         * @param reverseTargets the targets array of the transposed graph
+         * @param inFrontier a bitset of the vertices in the current frontier
+         * @param visited the vertices already claimed
+         */
+        BottomUpStep(int from, int to, int[] reverseOffsets, int[] reverseTargets,
+                long[] inFrontier, AtomicBitSet visited) {
+            this.from = from;
+            this.to = to;
+            this.reverseOffsets = reverseOffsets;
+            this.reverseTargets = reverseTargets;
+            this.inFrontier = inFrontier;
+            this.visited = visited;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from > VERTEX_GRAIN) {
+                // Split on a multiple of 64 so each task owns whole words of
+                // the visited bitset.
+                int mid = ((from + to) >>> 1) & ~63;
+                BottomUpStep left = new BottomUpStep(from, mid, reverseOffsets,
+                        reverseTargets, inFrontier, visited);
+                left.fork();
+                int[] right = new BottomUpStep(mid, to, reverseOffsets,
+                        reverseTargets, inFrontier, visited).compute();
+                return concat(left.join(), right);
+            }
+
+            int[] next = new int[16];
+            int size = 0;
+            for (int v = from; v < to; v++) {
+                if (visited.get(v)) {
+                    continue;
+                }
+                for (int e = reverseOffsets[v]; e < reverseOffsets[v + 1]; e++) {
+                    int parent = reverseTargets[e];
+                    if ((inFrontier[parent >>> 6] & (1L << parent)) != 0) {
+                        visited.set(v);
+                        if (size == next.length) {
+                            next = Arrays.copyOf(next, size * 2);
+                        }
+                        next[size++] = v;
+                        break;
+                    }
+                }
+            }
+            return Arrays.copyOf(next, size);
+        }
+    }
+
+    /**
+     * Puts vertices whose distances were lowered into the buckets for their
+     * new distances.
+     *
+     * @param updated the vertices to put in buckets
+     * @param distance the tentative distances
+     * @param delta the width of each bucket
+     * @param buckets the buckets, keyed by distance / delta
+     */
+    private static void distribute(int[] updated, AtomicIntegerArray distance, int delta,
+            TreeMap<Integer, IntList> buckets) {
+        for (int v : updated) {
+            buckets.computeIfAbsent(distance.get(v) / delta, k -> new IntList()).add(v);
+        }
+    }
+
+    /**
+     * One relaxation step of deltaStepping over part of a list of vertices,
+     * relaxing either their light edges or their heavy edges. Returns the
+     * vertices whose distances it lowered.
+     */
+    private static final class RelaxStep extends RecursiveTask<int[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] sources;
+        private final int from;
+        private final int to;
+        private final int[] offsets;
+        private final int[] targets;
+        private final int[] weights;
+        private final int delta;
+        private final boolean light;
+        private final AtomicIntegerArray distance;
+
+        /**
+         * Creates a step over sources[from] to sources[to - 1].
+         *
+         * @param sources the vertices whose edges to relax
+         * @param from the first position of sources to relax
+         * @param to one past the last position of sources to relax
+         * @param offsets the offsets array of the graph
+         * @param targets the targets array of the graph
+         * @param weights the weights array of the graph
+         * @param delta the width of each bucket
+         * @param light true to relax edges of weight at most delta, false to
+         *        relax the heavier ones
+         * @param distance the tentative distances
+         */
+        RelaxStep(int[] sources, int from, int to, int[] offsets, int[] targets,
+                int[] weights, int delta, boolean light, AtomicIntegerArray distance) {
+            this.sources = sources;
+            this.from = from;
+            this.to = to;
+            this.offsets = offsets;
+            this.targets = targets;
+            this.weights = weights;
+            this.delta = delta;
+            this.light = light;
+            this.distance = distance;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from > FRONTIER_GRAIN) {
+                int mid = (from + to) >>> 1;
+                RelaxStep left = new RelaxStep(sources, from, mid, offsets, targets,
+                        weights, delta, light, distance);
+                left.fork();
+                int[] right = new RelaxStep(sources, mid, to, offsets, targets,
+                        weights, delta, light, distance).compute();
+                return concat(left.join(), right);
+            }
+
+            IntList updated = new IntList();
+            for (int i = from; i < to; i++) {
+                int curr = sources[i];
+                int currDistance = distance.get(curr);
+                for (int e = offsets[curr]; e < offsets[curr + 1]; e++) {
+                    if ((weights[e] <= delta) != light) {
+                        continue;
+                    }
+                    int newDistance = currDistance + weights[e];
+                    int old = distance.get(targets[e]);
+                    while (newDistance < old) {
+                        if (distance.compareAndSet(targets[e], old, newDistance)) {
+                            updated.add(targets[e]);
+                            break;
+                        }
+                        old = distance.get(targets[e]);
+                    }
+                }
+            }
+            return updated.toArray();
+        }
+    }
+
+    /**
+     * A growable list of ints.
+     */
+    private static final class IntList {
+        private int[] values = new int[16];
+        private int size;
+
+        /**
+         * Adds a value to the end of the list.
+         *
+         * @param value the value to add
+         */
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        /**
+         * Copies the list into an array.
+         *
+         * @return an array of the list's values
+         */
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    /**
+     * The search of one round of boruvkas over a range of vertices. Each
+     * vertex's lightest edge to another component is offered to its
+     * component, packed as the weight and the edge's position, with
+     * positions in the transposed graph after those in the graph.
+     */
+    private static final class LightestEdgeStep extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int[] component;
+        private final CsrGraph<?> graph;
+        private final CsrGraph<?> reverse;
+        private final AtomicLongArray lightest;
+
+        /**
+         * Creates a step over the vertices from to to - 1.
+         *
+         * @param from the first vertex to check
+         * @param to one past the last vertex to check
+         * @param component the component of each vertex
+         * @param graph the graph
+         * @param reverse the transpose of the graph
+         * @param lightest the lightest edge found so far for each component
+         */
+        LightestEdgeStep(int from, int to, int[] component, CsrGraph<?> graph,
+                CsrGraph<?> reverse, AtomicLongArray lightest) {
+            this.from = from;
+            this.to = to;
+            this.component = component;
+            this.graph = graph;
+            this.reverse = reverse;
+            this.lightest = lightest;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > VERTEX_GRAIN) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new LightestEdgeStep(from, mid, component, graph, reverse, lightest),
+                        new LightestEdgeStep(mid, to, component, graph, reverse, lightest));
+                return;
+            }
+
+            int edges = graph.getTargets().length;
+            for (int v = from; v < to; v++) {
+                long best = lightestEdge(v, graph, 0);
+                if (graph.isDirected()) {
+                    best = Math.min(best, lightestEdge(v, reverse, edges));
+                }
+                if (best == Long.MAX_VALUE) {
+                    continue;
+                }
+                int c = component[v];
+                long old = lightest.get(c);
+                while (best < old && !lightest.compareAndSet(c, old, best)) {
+                    old = lightest.get(c);
+                }
+            }
+        }
+
+        /**
+         * Finds a vertex's lightest edge to another component.
+         *
+         * @param v the vertex
+         * @param edges the graph whose edges to look through
+         * @param base the number to add to edge positions, as a long so that
+         *             positions past the first 2^31 edges do not overflow
+         * @return the packed weight and position of the edge, or
+         *         Long.MAX_VALUE if every edge stays in the component
+         */
+        private long lightestEdge(int v, CsrGraph<?> edges, long base) {
+            int[] offsets = edges.getOffsets();
+            int[] targets = edges.getTargets();
+            int[] weights = edges.getWeights();
+            long best = Long.MAX_VALUE;
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                if (component[targets[e]] != component[v]) {
+                    best = Math.min(best, ((long) weights[e] << 32) | (base + e));
+                }
+            }
+            return best;
+        }
+    }
+
+    /**
+     * Moves every vertex in a range to its component's new root after a
+     * round of boruvkas.
+     */
+    private static final class RelabelStep extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int[] component;
+        private final int[] relabel;
+
+        /**
+         * Creates a step over the vertices from to to - 1.
+         *
+         * @param from the first vertex to relabel
+         * @param to one past the last vertex to relabel
+         * @param component the component of each vertex
+         * @param relabel the new root of each old root
+         */
+        RelabelStep(int from, int to, int[] component, int[] relabel) {
+            this.from = from;
+            this.to = to;
+            this.component = component;
+            this.relabel = relabel;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > VERTEX_GRAIN) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new RelabelStep(from, mid, component, relabel),
+                        new RelabelStep(mid, to, component, relabel));
+                return;
+            }
+            for (int v = from; v < to; v++) {
+                component[v] = relabel[component[v]];
+            }
+        }
+    }
+
+    /**
+     * Joins two arrays end to end.
+     *
+     * @param first the first array
+     * @param second the second array
+     * @return a new array holding first's values then second's
+     */
+    private static int[] concat(int[] first, int[] second) {
+        if (first.length == 0) {
+            return second;
+        }
+        if (second.length == 0) {
+            return first;
+        }
+        int[] joined = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, joined, first.length, second.length);
+        return joined;
+    }
+
+    /**
+     * A fixed size bitset whose bits can be set from many threads at once.
+     */
+    private static final class AtomicBitSet {
+        private final AtomicLongArray words;
+
+        /**
+         * Creates a bitset with every bit clear.
+         *
+         * @param size the number of bits
+         */
+        AtomicBitSet(int size) {
+            words = new AtomicLongArray((size + 63) >>> 6);
+        }
+
+        /**
+         * Returns whether a bit is set.
+         *
+         * @param index the bit to check
+         * @return true if the bit is set
+         */
+        boolean get(int index) {
+            return (words.get(index >>> 6) & (1L << index)) != 0;
+        }
+
+        /**
+         * Sets a bit.
+         *
+         * @param index the bit to set
+         * @return true if this call set the bit, false if it was already set
+         */
+        boolean set(int index) {
+            int word = index >>> 6;
+            long bit = 1L << index;
+            long old;
+            do {
+                old = words.get(word);
+                if ((old & bit) != 0) {
+                    return false;
+                }
+            } while (!words.compareAndSet(word, old, old | bit));
+            return true;
+        }
+    }
+}
@@ -0,0 +1,429 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Reads and writes CsrGraphs in a compact binary file format.
+ *
+ * A file is a header, the offsets, targets and weights arrays of the graph
+ * as little endian ints, a hash table from vertex labels to indices, and
+ * then the label of each vertex as UTF-8:
+ *
+ * <pre>
+ * int    magic          0x43535247 ("CSRG")
+ * int    version        2
+ * int    flags          bit 0 set if the graph is directed
+ * int    vertexCount    n
+ * int    edgeCount      m, the length of the targets array
+ * int    tableLength    t, 0 if n is 0 and otherwise a power of two above n
+ * int[]  offsets        n + 1 ints
+ * int[]  targets        m ints
+ * int[]  weights        m ints
+ * int[]  table          t ints, each a vertex index + 1 or 0 if empty
+ * int    padding        present if needed to align the next section to 8
+ * long[] labelStarts    n + 1 longs, where label i starts and ends in the
+ *                       label data
+ * byte[] labelData      the labels, one after another
+ * </pre>
+ *
+ * The table is open addressed with linear probing, and a label starts at
+ * the slot given by its hash, from labelHash.
+ *
+ * load maps the file and returns a MappedCsrGraph that serves the offsets,
+ * targets and weights straight from the mapping, so nothing is copied onto
+ * the heap and loading takes the same time whatever the size of the graph.
+ * Labels are not decoded when the file is loaded either: getVertex decodes
+ * one label each time it is called, and indexOf encodes the vertex it is
+ * given and looks it up in the table.
+ */
+public final class CsrGraphFile {
+
+    private static final int MAGIC = 0x43535247;
+    private static final int VERSION = 2;
+    private static final int DIRECTED = 1;
+    private static final int HEADER_BYTES = 6 * Integer.BYTES;
+
+    private static final int CHUNK_BYTES = 1 << 30;
+    private static final int WRITE_BUFFER_BYTES = 1 << 16;
+
+    private CsrGraphFile() {
+    }
+
+    /**
+     * Writes a graph to a file, replacing the file if it exists.
+     *
+     * @param <T> the type of the vertex data
+     * @param graph the graph to write
+     * @param path the file to write to
+     * @param encoder turns the data of each vertex into a string that the
+     *                decoder passed to load can turn back into the data
+     * @throws IllegalArgumentException if any argument is null, the encoder
+     * gives two vertices the same string, or the graph is too large for the
+     * file format
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    public static <T> void write(CsrGraph<T> graph, Path path, Function<? super T, String> encoder) {
+        if (graph == null || path == null || encoder == null) {
+            throw new IllegalArgumentException("Graph, path and encoder must be valid.");
+        }
+
+        int n = graph.vertexCount();
+        int m = graph.getTargets().length;
+        byte[][] labels = new byte[n][];
+        for (int i = 0; i < n; i++) {
+            labels[i] = encoder.apply(graph.getVertex(i).getData()).getBytes(StandardCharsets.UTF_8);
+        }
+        int[] table = buildTable(labels);
+        checkSections(n, m, table.length);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC)
+                    .putInt(VERSION)
+                    .putInt(graph.isDirected() ? DIRECTED : 0)
+                    .putInt(n)
+                    .putInt(m)
+                    .putInt(table.length);
+            writeInts(channel, buffer, graph.getOffsets());
+            writeInts(channel, buffer, graph.getTargets());
+            writeInts(channel, buffer, graph.getWeights());
+            writeInts(channel, buffer, table);
+            // The header is 24 bytes, so an odd number of ints needs padding.
+            if (((long) n + 1 + 2L * m + table.length) % 2 != 0) {
+                writeInts(channel, buffer, new int[1]);
+            }
+
+            long start = 0;
+            for (int i = 0; i <= n; i++) {
+                if (buffer.remaining() < Long.BYTES) {
+                    flush(channel, buffer);
+                }
+                buffer.putLong(start);
+                if (i < n) {
+                    start += labels[i].length;
+                }
+            }
+            for (byte[] label : labels) {
+                for (int written = 0; written < label.length;) {
+                    if (!buffer.hasRemaining()) {
+                        flush(channel, buffer);
+                    }
+                    int length = Math.min(buffer.remaining(), label.length - written);
+                    buffer.put(label, written, length);
+                    written += length;
+                }
+            }
+            flush(channel, buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Loads a graph written by write. The offsets, targets and weights of
+     * the graph are read only views of the mapped file, and the vertex
+     * labels are decoded only when a vertex is asked for.
+     *
+     * Only the header and the ends of each section are checked, so loading
+     * does not read the whole file. A file whose targets have been corrupted
+     * loads, and the algorithms in CsrGraphAlgorithms then throw an
+     * IndexOutOfBoundsException when they reach a target that is not a
+     * vertex of the graph returned by toCsrGraph.
+     *
+     * @param <T> the type of the vertex data
+     * @param path the file to read
+     * @param encoder turns vertex data into a string, as the encoder passed
+     *                to write did, so that indexOf can look vertices up
+     * @param decoder turns each string written by the encoder back into the
+     *                data of a vertex
+     * @return the graph in the file
+     * @throws IllegalArgumentException if any argument is null, or the file
+     * is not a valid graph file
+     * @throws UncheckedIOException if the file cannot be opened or mapped
+     */
+    public static <T> MappedCsrGraph<T> load(Path path, Function<? super T, String> encoder,
+            Function<String, ? extends T> decoder) {
+        if (path == null || encoder == null || decoder == null) {
+            throw new IllegalArgumentException("Path, encoder and decoder must be valid.");
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES) {
+                throw new IllegalArgumentException("File is too short to be a graph file.");
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt() != MAGIC) {
+                throw new IllegalArgumentException("File is not a graph file.");
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported graph file version " + version + ".");
+            }
+            boolean directed = (header.getInt() & DIRECTED) != 0;
+            int n = header.getInt();
+            int m = header.getInt();
+            int t = header.getInt();
+            if (n < 0 || m < 0 || t != tableLength(n)) {
+                throw new IllegalArgumentException("Graph file is truncated or corrupt.");
+            }
+            checkSections(n, m, t);
+            long labels = labelStartsPosition(n, m, t) + ((long) n + 1) * Long.BYTES;
+            if (labels > size) {
+                throw new IllegalArgumentException("Graph file is truncated or corrupt.");
+            }
+
+            long position = HEADER_BYTES;
+            IntBuffer offsets = mapInts(channel, position, n + 1);
+            position += ((long) n + 1) * Integer.BYTES;
+            IntBuffer targets = mapInts(channel, position, m);
+            position += (long) m * Integer.BYTES;
+            IntBuffer weights = mapInts(channel, position, m);
+            position += (long) m * Integer.BYTES;
+            IntBuffer table = mapInts(channel, position, t);
+            LongBuffer starts = channel.map(FileChannel.MapMode.READ_ONLY, labelStartsPosition(n, m, t),
+                    ((long) n + 1) * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+            if (offsets.get(0) != 0 || offsets.get(n) != m
+                    || starts.get(0) != 0 || starts.get(n) != size - labels) {
+                throw new IllegalArgumentException("Graph file is truncated or corrupt.");
+            }
+
+            ByteBuffer[] chunks = new ByteBuffer[(int) ((size - labels + CHUNK_BYTES - 1) / CHUNK_BYTES)];
+            for (int i = 0; i < chunks.length; i++) {
+                long chunk = labels + (long) i * CHUNK_BYTES;
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, chunk, Math.min(CHUNK_BYTES, size - chunk));
+            }
+            MappedVertices<T> vertices = new MappedVertices<>(table, starts, chunks, encoder, decoder);
+            return new MappedCsrGraph<>(vertices, offsets, targets, weights, directed);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Gets the length of the label table for a number of vertices, the
+     * smallest power of two that is at least twice the number of vertices.
+     *
+     * @param n the number of vertices
+     * @return the table length
+     */
+    private static int tableLength(int n) {
+        return n == 0 ? 0 : Integer.highestOneBit(2 * n - 1) << 1;
+    }
+
+    /**
+     * Hashes a label, mixing the high bits into the low ones used to pick a
+     * slot of the table.
+     *
+     * @param label the encoded label
+     * @return the hash
+     */
+    private static int labelHash(byte[] label) {
+        int h = Arrays.hashCode(label);
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Builds the table from labels to vertex indices.
+     *
+     * @param labels the encoded label of each vertex
+     * @return the table
+     * @throws IllegalArgumentException if two vertices have the same label
+     */
+    private static int[] buildTable(byte[][] labels) {
+        if (labels.length > Integer.MAX_VALUE / 4) {
+            throw new IllegalArgumentException("Graph is too large for the file format.");
+        }
+        int[] table = new int[tableLength(labels.length)];
+        int mask = table.length - 1;
+        for (int i = 0; i < labels.length; i++) {
+            int slot = labelHash(labels[i]) & mask;
+            while (table[slot] != 0) {
+                if (Arrays.equals(labels[table[slot] - 1], labels[i])) {
+                    throw new IllegalArgumentException("Encoder gave two vertices the same string.");
+                }
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = i + 1;
+        }
+        return table;
+    }
+
+    /**
+     * Checks that every section before the label data can be mapped in one
+     * piece.
+     *
+     * @param n the number of vertices
+     * @param m the number of edges
+     * @param t the length of the table
+     * @throws IllegalArgumentException if a section is too large
+     */
+    private static void checkSections(int n, int m, int t) {
+        long largest = Math.max(((long) n + 1) * Long.BYTES, (long) Math.max(m, t) * Integer.BYTES);
+        if (largest > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Graph is too large for the file format.");
+        }
+    }
+
+    /**
+     * Finds where the label starts begin in a file.
+     *
+     * @param n the number of vertices
+     * @param m the number of edges
+     * @param t the length of the table
+     * @return the position of the label starts, a multiple of 8
+     */
+    private static long labelStartsPosition(int n, int m, int t) {
+        long position = HEADER_BYTES + ((long) n + 1 + 2L * m + t) * Integer.BYTES;
+        return (position + Long.BYTES - 1) & -Long.BYTES;
+    }
+
+    /**
+     * Writes an array of ints through the buffer, flushing it when full.
+     *
+     * @param channel the channel to write to
+     * @param buffer the buffer, which may already hold some bytes
+     * @param values the ints to write
+     * @throws IOException if the channel cannot be written
+     */
+    private static void writeInts(FileChannel channel, ByteBuffer buffer, int[] values) throws IOException {
+        for (int written = 0; written < values.length;) {
+            if (buffer.remaining() < Integer.BYTES) {
+                flush(channel, buffer);
+            }
+            IntBuffer ints = buffer.asIntBuffer();
+            int length = Math.min(ints.remaining(), values.length - written);
+            ints.put(values, written, length);
+            buffer.position(buffer.position() + length * Integer.BYTES);
+            written += length;
+        }
+    }
+
+    /**
+     * Writes out everything in the buffer and clears it.
+     *
+     * @param channel the channel to write to
+     * @param buffer the buffer to empty
+     * @throws IOException if the channel cannot be written
+     */
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Maps part of the file as ints.
+     *
+     * @param channel the file
+     * @param position the position of the first int in the file
+     * @param count the number of ints
+     * @return a read only view of the ints
+     * @throws IOException if the file cannot be mapped
+     */
+    private static IntBuffer mapInts(FileChannel channel, long position, int count) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, (long) count * Integer.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    /**
+     * The vertex index of a loaded graph, which reads labels from the mapped
+     * file and decodes or compares them on each call rather than keeping
+     * any vertices on the heap.
+     *
+     * @param <T> the type of the vertex data
+     */
+    private static final class MappedVertices<T> implements CsrGraph.VertexIndex<T> {
+        private final IntBuffer table;
+        private final LongBuffer starts;
+        private final ByteBuffer[] chunks;
+        private final Function<? super T, String> encoder;
+        private final Function<String, ? extends T> decoder;
+
+        /**
+         * Creates the index.
+         *
+         * @param table the mapped label table
+         * @param starts the mapped label starts
+         * @param chunks the mapped label data, in pieces of CHUNK_BYTES
+         * @param encoder turns vertex data into its label
+         * @param decoder turns a label back into vertex data
+         */
+        MappedVertices(IntBuffer table, LongBuffer starts, ByteBuffer[] chunks,
+                Function<? super T, String> encoder, Function<String, ? extends T> decoder) {
+            this.table = table;
+            this.starts = starts;
+            this.chunks = chunks;
+            this.encoder = encoder;
+            this.decoder = decoder;
+        }
+
+        @Override
+        public Vertex<T> get(int index) {
+            return new Vertex<>(decoder.apply(new String(label(index), StandardCharsets.UTF_8)));
+        }
+
+        @Override
+        public int indexOf(Vertex<T> vertex) {
+            if (vertex == null || table.limit() == 0) {
+                return -1;
+            }
+            byte[] label = encoder.apply(vertex.getData()).getBytes(StandardCharsets.UTF_8);
+            int mask = table.limit() - 1;
+            int slot = labelHash(label) & mask;
+            for (int probes = 0; probes < table.limit(); probes++) {
+                int entry = table.get(slot);
+                if (entry == 0) {
+                    return -1;
+                }
+                if (entry < 0 || entry >= starts.limit()) {
+                    throw new IllegalArgumentException("Graph file is truncated or corrupt.");
+                }
+                if (Arrays.equals(label(entry - 1), label)) {
+                    return entry - 1;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        /**
+         * Reads the label of a vertex, which may span two chunks.
+         *
+         * @param index the index of the vertex
+         * @return the encoded label
+         * @throws IllegalArgumentException if the label starts are corrupt
+         */
+        private byte[] label(int index) {
+            long start = starts.get(index);
+            long end = starts.get(index + 1);
+            long total = starts.get(starts.limit() - 1);
+            if (start < 0 || end < start || end > total || end - start > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Graph file is truncated or corrupt.");
+            }
+            byte[] label = new byte[(int) (end - start)];
+            for (int read = 0; read < label.length;) {
+                long position = start + read;
+                ByteBuffer chunk = chunks[(int) (position / CHUNK_BYTES)].duplicate();
+                chunk.position((int) (position % CHUNK_BYTES));
+                int length = Math.min(chunk.remaining(), label.length - read);
+                chunk.get(label, read, length);
+                read += length;
+            }
+            return label;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CsrGraphFileTests {
+    private static final int TIMEOUT = 200;
+
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("graph", ".csr");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testRoundTrip() {
+        Random random = new Random(20);
+        for (boolean directed : new boolean[] {true, false}) {
+            LinkedHashSet<Edge<Integer>> edges = new LinkedHashSet<>();
+            for (int i = 0; i < 2000; i++) {
+                edges.add(new Edge<>(new Vertex<>(random.nextInt(500)), new Vertex<>(random.nextInt(500)),
+                        random.nextInt(100), directed));
+            }
+            Set<Vertex<Integer>> vertices = new HashSet<>();
+            vertices.add(new Vertex<>(-1));
+            CsrGraph<Integer> graph = new CsrGraph<>(vertices, edges);
+
+            CsrGraphFile.write(graph, file, String::valueOf);
+            MappedCsrGraph<Integer> loaded = CsrGraphFile.load(file, String::valueOf, Integer::valueOf);
+
+            assertEquals(directed, loaded.isDirected());
+            assertEquals(graph.vertexCount(), loaded.vertexCount());
+            for (int i = 0; i < graph.vertexCount(); i++) {
+                assertEquals(graph.getVertex(i), loaded.getVertex(i));
+                assertEquals(i, loaded.indexOf(graph.getVertex(i)));
+            }
+            assertEquals(IntBuffer.wrap(graph.getOffsets()), loaded.getOffsets());
+            assertEquals(IntBuffer.wrap(graph.getTargets()), loaded.getTargets());
+            assertEquals(IntBuffer.wrap(graph.getWeights()), loaded.getWeights());
+            CsrGraph<Integer> copied = loaded.toCsrGraph();
+            assertSame(copied, loaded.toCsrGraph());
+            assertArrayEquals(graph.getOffsets(), copied.getOffsets());
+            assertArrayEquals(graph.getTargets(), copied.getTargets());
+            assertArrayEquals(graph.getWeights(), copied.getWeights());
+
+            Vertex<Integer> start = graph.getVertex(1);
+            assertEquals(CsrGraphAlgorithms.dijkstras(start, graph), CsrGraphAlgorithms.dijkstras(start, copied));
+            assertEquals(CsrGraphAlgorithms.breadthFirstSearch(start, graph),
+                    CsrGraphAlgorithms.breadthFirstSearch(start, copied.transpose().transpose()));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testStringVertices() {
+        LinkedHashSet<Edge<String>> edges = new LinkedHashSet<>();
+        edges.add(new Edge<>(new Vertex<>("Z\u00fcrich"), new Vertex<>(""), 3, true));
+        edges.add(new Edge<>(new Vertex<>(""), new Vertex<>("a b"), 4, true));
+        CsrGraph<String> graph = new CsrGraph<>(edges);
+
+        CsrGraphFile.write(graph, file, data -> data);
+        MappedCsrGraph<String> loaded = CsrGraphFile.load(file, data -> data, data -> data);
+        assertEquals(3, loaded.vertexCount());
+        assertEquals(2, loaded.indexOf(new Vertex<>("a b")));
+        assertEquals(-1, loaded.indexOf(new Vertex<>("a")));
+        assertEquals(7, (int) CsrGraphAlgorithms.dijkstras(new Vertex<>("Z\u00fcrich"), loaded.toCsrGraph())
+                .get(new Vertex<>("a b")));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testEmptyGraph() {
+        CsrGraphFile.write(new CsrGraph<Integer>(new LinkedHashSet<>()), file, String::valueOf);
+        MappedCsrGraph<Integer> loaded = CsrGraphFile.load(file, String::valueOf, Integer::valueOf);
+        assertEquals(0, loaded.vertexCount());
+        assertFalse(loaded.isDirected());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testCorruptFiles() throws IOException {
+        LinkedHashSet<Edge<Integer>> edges = new LinkedHashSet<>();
+        edges.add(new Edge<>(new Vertex<>(1), new Vertex<>(2), 5, true));
+        CsrGraphFile.write(new CsrGraph<>(edges), file, String::valueOf);
+        byte[] bytes = Files.readAllBytes(file);
+
+        byte[] truncated = new byte[bytes.length - 1];
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+        assertTrue(failsToLoad(truncated));
+
+        byte[] badMagic = bytes.clone();
+        badMagic[0]++;
+        assertTrue(failsToLoad(badMagic));
+
+        byte[] badTarget = bytes.clone();
+        badTarget[6 * Integer.BYTES + 3 * Integer.BYTES] = 7;
+        assertFalse(failsToLoad(badTarget));
+        MappedCsrGraph<Integer> loaded = CsrGraphFile.load(file, String::valueOf, Integer::valueOf);
+        try {
+            CsrGraphAlgorithms.breadthFirstSearch(new Vertex<>(1), loaded.toCsrGraph());
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            assertEquals(2, loaded.vertexCount());
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testDecodesOnlyWhatIsAskedFor() {
+        LinkedHashSet<Edge<Integer>> edges = new LinkedHashSet<>();
+        for (int i = 1; i < 100; i++) {
+            edges.add(new Edge<>(new Vertex<>(i - 1), new Vertex<>(i), 1, false));
+        }
+        CsrGraphFile.write(new CsrGraph<>(edges), file, String::valueOf);
+
+        AtomicInteger decoded = new AtomicInteger();
+        MappedCsrGraph<Integer> loaded = CsrGraphFile.load(file, String::valueOf, data -> {
+            decoded.incrementAndGet();
+            return Integer.valueOf(data);
+        });
+        assertEquals(0, decoded.get());
+        assertEquals(42, loaded.indexOf(new Vertex<>(42)));
+        assertEquals(-1, loaded.indexOf(new Vertex<>(100)));
+        assertEquals(42, loaded.toCsrGraph().indexOf(new Vertex<>(42)));
+        assertEquals(0, decoded.get());
+        assertEquals(new Vertex<>(7), loaded.getVertex(7));
+        assertEquals(1, decoded.get());
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testEncoderCollision() {
+        LinkedHashSet<Edge<Integer>> edges = new LinkedHashSet<>();
+        edges.add(new Edge<>(new Vertex<>(1), new Vertex<>(2), 5, true));
+        CsrGraphFile.write(new CsrGraph<>(edges), file, data -> "same");
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testNullDecoder() {
+        CsrGraphFile.load(file, String::valueOf, null);
+    }
+
+    /**
+     * Writes bytes to the file and tries to load it.
+     *
+     * @param bytes the contents of the file
+     * @return true if loading threw an IllegalArgumentException
+     * @throws IOException if the file cannot be written
+     */
+    private boolean failsToLoad(byte[] bytes) throws IOException {
+        Files.write(file, bytes);
+        try {
+            CsrGraphFile.load(file, String::valueOf, Integer::valueOf);
+            return false;
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
+    }
+}
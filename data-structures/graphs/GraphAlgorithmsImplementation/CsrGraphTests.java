@@ -0,0 +1,369 @@
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CsrGraphTests {
+    private static final int TIMEOUT = 200;
+    // For the tests whose graphs must be larger than the parallel grain sizes.
+    private static final int LARGE_TIMEOUT = 2000;
+
+    /**
+     * Makes a random graph on the vertices 0 to vertices - 1.
+     *
+     * @param vertices the number of vertices
+     * @param edges the number of edges to try to add
+     * @param directed whether the edges are directed
+     * @param seed the random seed
+     * @return the edge list
+     */
+    private static LinkedHashSet<Edge<Integer>> randomEdges(int vertices, int edges, boolean directed, long seed) {
+        Random random = new Random(seed);
+        LinkedHashSet<Edge<Integer>> set = new LinkedHashSet<>();
+        for (int i = 0; i < edges; i++) {
+            set.add(new Edge<>(new Vertex<>(random.nextInt(vertices)), new Vertex<>(random.nextInt(vertices)),
+                    1 + random.nextInt(100), directed));
+        }
+        return set;
+    }
+
+    /**
+     * Returns the total weight of a spanning tree.
+     *
+     * @param mst the tree's edges
+     * @return the sum of their weights
+     */
+    private static int weight(Set<Edge<Integer>> mst) {
+        int sum = 0;
+        for (Edge<Integer> edge : mst) {
+            sum += edge.getWeight();
+        }
+        return sum;
+    }
+
+    /**
+     * Groups the vertices reachable from start by their distance in edges,
+     * using the Graph's adjacency list.
+     *
+     * @param start the vertex to measure from
+     * @param graph the graph to search
+     * @return the set of vertices at each distance
+     */
+    private static List<Set<Vertex<Integer>>> layers(Vertex<Integer> start, Graph<Integer> graph) {
+        List<Set<Vertex<Integer>>> layers = new ArrayList<>();
+        Set<Vertex<Integer>> visited = new HashSet<>();
+        Set<Vertex<Integer>> frontier = new HashSet<>(Collections.singleton(start));
+        visited.add(start);
+        while (!frontier.isEmpty()) {
+            layers.add(frontier);
+            Set<Vertex<Integer>> next = new HashSet<>();
+            for (Vertex<Integer> vertex : frontier) {
+                for (VertexDistancePair<Integer> pair : graph.getAdjacencyList().get(vertex)) {
+                    if (visited.add(pair.getVertex())) {
+                        next.add(pair.getVertex());
+                    }
+                }
+            }
+            frontier = next;
+        }
+        return layers;
+    }
+
+    /**
+     * Turns each layer of a search into a set.
+     *
+     * @param layers the layers
+     * @return the layers as sets
+     */
+    private static List<Set<Vertex<Integer>>> asSets(List<List<Vertex<Integer>>> layers) {
+        List<Set<Vertex<Integer>>> sets = new ArrayList<>();
+        for (List<Vertex<Integer>> layer : layers) {
+            Set<Vertex<Integer>> set = new HashSet<>(layer);
+            assertEquals(layer.size(), set.size());
+            sets.add(set);
+        }
+        return sets;
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void layoutKeepsEdgeOrderPerVertex() {
+        LinkedHashSet<Edge<String>> edges = new LinkedHashSet<>();
+        edges.add(new Edge<>(new Vertex<>("A"), new Vertex<>("B"), 3, false));
+        edges.add(new Edge<>(new Vertex<>("C"), new Vertex<>("A"), 5, false));
+        edges.add(new Edge<>(new Vertex<>("B"), new Vertex<>("C"), 7, false));
+        Set<Vertex<String>> vertices = new HashSet<>(Arrays.asList(new Vertex<>("D")));
+        CsrGraph<String> graph = new CsrGraph<>(vertices, edges);
+
+        assertEquals(4, graph.vertexCount());
+        int a = graph.indexOf(new Vertex<>("A")),
+            b = graph.indexOf(new Vertex<>("B")),
+            c = graph.indexOf(new Vertex<>("C")),
+            d = graph.indexOf(new Vertex<>("D"));
+        assertEquals(-1, graph.indexOf(new Vertex<>("E")));
+        int[] offsets = graph.getOffsets();
+        assertEquals(0, offsets[d + 1] - offsets[d]);
+        assertArrayEquals(new int[] {b, c},
+                Arrays.copyOfRange(graph.getTargets(), offsets[a], offsets[a + 1]));
+        assertArrayEquals(new int[] {3, 5},
+                Arrays.copyOfRange(graph.getWeights(), offsets[a], offsets[a + 1]));
+        assertArrayEquals(new int[] {a, c},
+                Arrays.copyOfRange(graph.getTargets(), offsets[b], offsets[b + 1]));
+        assertEquals(new Vertex<>("C"), graph.getVertex(c));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void traversalsMatchGraph() {
+        for (long seed = 0; seed < 20; seed++) {
+            boolean directed = seed % 2 == 0;
+            LinkedHashSet<Edge<Integer>> edges = randomEdges(60, 150, directed, seed);
+            Graph<Integer> graph = new Graph<>(edges);
+            CsrGraph<Integer> csr = new CsrGraph<>(edges);
+            Vertex<Integer> start = edges.iterator().next().getU();
+
+            assertEquals(GraphAlgorithms.breadthFirstSearch(start, graph),
+                    CsrGraphAlgorithms.breadthFirstSearch(start, csr));
+            assertEquals(GraphAlgorithms.depthFirstSearch(start, graph),
+                    CsrGraphAlgorithms.depthFirstSearch(start, csr));
+            assertEquals(GraphAlgorithms.dijkstras(start, graph),
+                    CsrGraphAlgorithms.dijkstras(start, csr));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void primsMatchesGraph() {
+        for (long seed = 0; seed < 20; seed++) {
+            LinkedHashSet<Edge<Integer>> edges = randomEdges(40, seed < 10 ? 200 : 30, false, seed);
+            Graph<Integer> graph = new Graph<>(edges);
+            CsrGraph<Integer> csr = new CsrGraph<>(edges);
+            Vertex<Integer> start = edges.iterator().next().getU();
+
+            Set<Edge<Integer>> expected = GraphAlgorithms.prims(start, graph);
+            Set<Edge<Integer>> actual = CsrGraphAlgorithms.prims(start, csr);
+            if (expected == null) {
+                assertNull(actual);
+            } else {
+                assertEquals(expected.size(), actual.size());
+                assertEquals(weight(expected), weight(actual));
+            }
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void transposeReversesEdges() {
+        LinkedHashSet<Edge<String>> edges = new LinkedHashSet<>();
+        edges.add(new Edge<>(new Vertex<>("A"), new Vertex<>("B"), 3, true));
+        edges.add(new Edge<>(new Vertex<>("C"), new Vertex<>("B"), 5, true));
+        CsrGraph<String> graph = new CsrGraph<>(edges);
+        CsrGraph<String> transpose = graph.transpose();
+
+        int a = graph.indexOf(new Vertex<>("A")),
+            b = graph.indexOf(new Vertex<>("B")),
+            c = graph.indexOf(new Vertex<>("C"));
+        int[] offsets = transpose.getOffsets();
+        assertArrayEquals(new int[] {a, c},
+                Arrays.copyOfRange(transpose.getTargets(), offsets[b], offsets[b + 1]));
+        assertArrayEquals(new int[] {3, 5},
+                Arrays.copyOfRange(transpose.getWeights(), offsets[b], offsets[b + 1]));
+        assertEquals(0, offsets[a + 1] - offsets[a]);
+        assertSame(graph, transpose.transpose());
+
+        CsrGraph<Integer> undirected = new CsrGraph<>(randomEdges(10, 10, false, 1));
+        assertSame(undirected, undirected.transpose());
+    }
+
+    @Test(timeout = LARGE_TIMEOUT)
+    public void parallelLayersMatchGraph() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (long seed = 0; seed < 2; seed++) {
+                boolean directed = seed % 2 == 0;
+                LinkedHashSet<Edge<Integer>> edges = randomEdges(9000, 20000, directed, seed);
+                Graph<Integer> graph = new Graph<>(edges);
+                CsrGraph<Integer> csr = new CsrGraph<>(edges);
+                Vertex<Integer> start = edges.iterator().next().getU();
+
+                List<Set<Vertex<Integer>>> expected = layers(start, graph);
+                assertEquals(expected, asSets(
+                        CsrGraphAlgorithms.parallelBreadthFirstSearch(start, csr, pool, false)));
+                assertEquals(expected, asSets(
+                        CsrGraphAlgorithms.parallelBreadthFirstSearch(start, csr, pool, true)));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(timeout = LARGE_TIMEOUT)
+    public void deltaSteppingMatchesDijkstras() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (long seed = 0; seed < 4; seed++) {
+                boolean directed = seed % 2 == 0;
+                LinkedHashSet<Edge<Integer>> edges = randomEdges(3000, seed < 2 ? 12000 : 2500, directed, seed);
+                CsrGraph<Integer> csr = new CsrGraph<>(edges);
+                Vertex<Integer> start = edges.iterator().next().getU();
+
+                Map<Vertex<Integer>, Integer> expected = CsrGraphAlgorithms.dijkstras(start, csr);
+                for (int delta : new int[] {1, 7, 40, 1000000}) {
+                    assertEquals(expected, CsrGraphAlgorithms.deltaStepping(start, csr, delta, pool));
+                }
+                assertEquals(expected, CsrGraphAlgorithms.deltaStepping(start, csr));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void deltaSteppingNeedsPositiveDelta() {
+        CsrGraph<Integer> csr = new CsrGraph<>(randomEdges(10, 10, false, 1));
+        CsrGraphAlgorithms.deltaStepping(csr.getVertex(0), csr, 0, ForkJoinPool.commonPool());
+    }
+
+    @Test(timeout = LARGE_TIMEOUT)
+    public void boruvkasMatchesKruskals() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (long seed = 0; seed < 8; seed++) {
+                boolean directed = seed % 4 == 3;
+                int vertices = seed == 0 ? 9000 : 300;
+                LinkedHashSet<Edge<Integer>> edges = randomEdges(vertices, seed < 4 ? vertices : vertices / 2,
+                        directed, seed);
+                Random random = new Random(seed);
+                for (int i = 1; seed < 4 && i < vertices; i++) {
+                    edges.add(new Edge<>(new Vertex<>(random.nextInt(i)), new Vertex<>(i), 100, directed));
+                }
+                Graph<Integer> graph = new Graph<>(edges);
+                CsrGraph<Integer> csr = new CsrGraph<>(edges);
+
+                Set<Edge<Integer>> expected = GraphAlgorithms.kruskals(graph, true);
+                Set<Edge<Integer>> forest = CsrGraphAlgorithms.boruvkas(csr, true, pool);
+                assertEquals(expected.size(), forest.size());
+                assertEquals(weight(expected), weight(forest));
+                assertTrue(edges.containsAll(forest));
+
+                Set<Edge<Integer>> tree = CsrGraphAlgorithms.boruvkas(csr, false, pool);
+                if (expected.size() == csr.vertexCount() - 1) {
+                    assertEquals(forest, tree);
+                } else {
+                    assertNull(tree);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void componentsAreMutuallyReachable() {
+        for (long seed = 0; seed < 10; seed++) {
+            LinkedHashSet<Edge<Integer>> edges = randomEdges(40, 20 + 5 * (int) seed, true, seed);
+            Graph<Integer> graph = new Graph<>(edges);
+            CsrGraph<Integer> csr = new CsrGraph<>(edges);
+            int[] component = CsrGraphAlgorithms.stronglyConnectedComponents(csr);
+
+            List<Set<Vertex<Integer>>> reachable = new ArrayList<>();
+            for (int v = 0; v < csr.vertexCount(); v++) {
+                reachable.add(new HashSet<>(GraphAlgorithms.breadthFirstSearch(csr.getVertex(v), graph)));
+            }
+            for (int u = 0; u < csr.vertexCount(); u++) {
+                for (int v = 0; v < csr.vertexCount(); v++) {
+                    boolean mutual = reachable.get(u).contains(csr.getVertex(v))
+                            && reachable.get(v).contains(csr.getVertex(u));
+                    assertEquals(mutual, component[u] == component[v]);
+                }
+            }
+            int[] offsets = csr.getOffsets();
+            for (int u = 0; u < csr.vertexCount(); u++) {
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    assertTrue(component[u] >= component[csr.getTargets()[e]]);
+                }
+            }
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void topologicalSortOrdersEveryEdge() {
+        Random random = new Random(3);
+        LinkedHashSet<Edge<Integer>> edges = new LinkedHashSet<>();
+        for (int i = 0; i < 2000; i++) {
+            int u = random.nextInt(500),
+                v = random.nextInt(500);
+            if (u != v) {
+                edges.add(new Edge<>(new Vertex<>(Math.min(u, v)), new Vertex<>(Math.max(u, v)), i, true));
+            }
+        }
+        CsrGraph<Integer> csr = new CsrGraph<>(edges);
+
+        List<Vertex<Integer>> order = CsrGraphAlgorithms.topologicalSort(csr);
+        assertEquals(csr.vertexCount(), order.size());
+        Map<Vertex<Integer>, Integer> position = new HashMap<>();
+        for (int i = 0; i < order.size(); i++) {
+            position.put(order.get(i), i);
+        }
+        for (Edge<Integer> edge : edges) {
+            assertTrue(position.get(edge.getU()) < position.get(edge.getV()));
+        }
+        assertNull(CsrGraphAlgorithms.findCycle(csr));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void findCycleReportsARealCycle() {
+        LinkedHashSet<Edge<String>> edges = new LinkedHashSet<>();
+        edges.add(new Edge<>(new Vertex<>("A"), new Vertex<>("B"), 1, true));
+        edges.add(new Edge<>(new Vertex<>("B"), new Vertex<>("C"), 1, true));
+        edges.add(new Edge<>(new Vertex<>("C"), new Vertex<>("D"), 1, true));
+        edges.add(new Edge<>(new Vertex<>("D"), new Vertex<>("B"), 1, true));
+        edges.add(new Edge<>(new Vertex<>("D"), new Vertex<>("E"), 1, true));
+        CsrGraph<String> csr = new CsrGraph<>(edges);
+
+        assertNull(CsrGraphAlgorithms.topologicalSort(csr));
+        List<Vertex<String>> cycle = CsrGraphAlgorithms.findCycle(csr);
+        assertEquals(3, cycle.size());
+        int offset = cycle.indexOf(new Vertex<>("B"));
+        assertEquals(Arrays.asList(new Vertex<>("B"), new Vertex<>("C"), new Vertex<>("D")),
+                Arrays.asList(cycle.get(offset), cycle.get((offset + 1) % 3), cycle.get((offset + 2) % 3)));
+
+        LinkedHashSet<Edge<String>> loop = new LinkedHashSet<>();
+        loop.add(new Edge<>(new Vertex<>("A"), new Vertex<>("A"), 1, true));
+        assertEquals(Arrays.asList(new Vertex<>("A")), CsrGraphAlgorithms.findCycle(new CsrGraph<>(loop)));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void orderingLongPath() {
+        int length = 15000;
+        LinkedHashSet<Edge<Integer>> edges = new LinkedHashSet<>();
+        for (int i = 1; i < length; i++) {
+            edges.add(new Edge<>(new Vertex<>(i - 1), new Vertex<>(i), i, true));
+        }
+        edges.add(new Edge<>(new Vertex<>(length - 1), new Vertex<>(0), 0, true));
+        CsrGraph<Integer> csr = new CsrGraph<>(edges);
+
+        int[] component = CsrGraphAlgorithms.stronglyConnectedComponents(csr);
+        for (int v = 0; v < length; v++) {
+            assertEquals(0, component[v]);
+        }
+        assertEquals(length, CsrGraphAlgorithms.findCycle(csr).size());
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void missingStartVertex() {
+        CsrGraph<Integer> csr = new CsrGraph<>(randomEdges(10, 10, false, 1));
+        CsrGraphAlgorithms.dijkstras(new Vertex<>(100), csr);
+    }
+}
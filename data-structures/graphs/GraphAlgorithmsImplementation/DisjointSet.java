@@ -0,0 +1,123 @@
+/**
+ * A disjoint set forest over the elements 0 to size - 1, also called a
+ * union-find structure.
+ *
+ * Each set is a tree whose root stands for the whole set. find compresses
+ * the path it walks so later finds are shorter, and union hangs the tree of
+ * lower rank under the other, which together keep every operation close to
+ * constant time.
+ */
+public class DisjointSet {
+
+    private final int[] parent;
+    private final byte[] rank;
+    private int count;
+
+    /**
+     * Creates a disjoint set with every element in a set of its own.
+     *
+     * @param size the number of elements
+     * @throws IllegalArgumentException if size is negative
+     */
+    public DisjointSet(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size cannot be negative.");
+        }
+        parent = new int[size];
+        rank = new byte[size];
+        for (int i = 0; i < size; i++) {
+            parent[i] = i;
+        }
+        count = size;
+    }
+
+    /**
+     * Finds the root of the set holding an element.
+     *
+     * @param element the element to look up
+     * @return the root of its set
+     * @throws IllegalArgumentException if the element is out of range
+     */
+    public int find(int element) {
+        checkElement(element);
+        int root = element;
+        while (parent[root] != root) {
+            root = parent[root];
+        }
+        while (parent[element] != root) {
+            int next = parent[element];
+            parent[element] = root;
+            element = next;
+        }
+        return root;
+    }
+
+    /**
+     * Merges the sets holding two elements.
+     *
+     * @param first an element of the first set
+     * @param second an element of the second set
+     * @return true if the sets were merged, false if the elements were
+     * already in the same set
+     * @throws IllegalArgumentException if either element is out of range
+     */
+    public boolean union(int first, int second) {
+        int firstRoot = find(first),
+            secondRoot = find(second);
+        if (firstRoot == secondRoot) {
+            return false;
+        }
+        if (rank[firstRoot] < rank[secondRoot]) {
+            parent[firstRoot] = secondRoot;
+        } else if (rank[firstRoot] > rank[secondRoot]) {
+            parent[secondRoot] = firstRoot;
+        } else {
+            parent[secondRoot] = firstRoot;
+            rank[firstRoot]++;
+        }
+        count--;
+        return true;
+    }
+
+    /**
+     * Returns whether two elements are in the same set.
+     *
+     * @param first the first element
+     * @param second the second element
+     * @return true if they are in the same set
+     * @throws IllegalArgumentException if either element is out of range
+     */
+    public boolean connected(int first, int second) {
+        return find(first) == find(second);
+    }
+
+    /**
+     * Returns the number of disjoint sets.
+     *
+     * @return the number of sets
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Returns the number of elements.
+     *
+     * @return the number of elements
+     */
+    public int size() {
+        return parent.length;
+    }
+
+    /**
+     * Checks that an element is in range.
+     *
+     * @param element the element to check
+     * @throws IllegalArgumentException if the element is out of range
+     */
+    private void checkElement(int element) {
+        if (element < 0 || element >= parent.length) {
+            throw new IllegalArgumentException("Element must be between 0 and size - 1.");
+        }
+    }
+}
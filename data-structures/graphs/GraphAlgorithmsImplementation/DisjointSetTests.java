@@ -0,0 +1,55 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DisjointSetTests {
+    private static final int TIMEOUT = 200;
+
+    private DisjointSet sets;
+
+    @Before
+    public void setUp() {
+        sets = new DisjointSet(10);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testStartsAsSingletons() {
+        assertEquals(10, sets.count());
+        assertEquals(10, sets.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, sets.find(i));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testUnionMergesOnce() {
+        assertTrue(sets.union(1, 2));
+        assertTrue(sets.union(3, 2));
+        assertFalse(sets.union(1, 3));
+        assertTrue(sets.connected(1, 3));
+        assertFalse(sets.connected(1, 4));
+        assertEquals(8, sets.count());
+        assertEquals(sets.find(1), sets.find(3));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testLongChainCompresses() {
+        DisjointSet chain = new DisjointSet(100000);
+        for (int i = 1; i < 100000; i++) {
+            chain.union(i - 1, i);
+        }
+        assertEquals(1, chain.count());
+        int root = chain.find(0);
+        for (int i = 0; i < 100000; i++) {
+            assertEquals(root, chain.find(i));
+        }
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testElementOutOfRange() {
+        sets.find(10);
+    }
+}
@@ -0,0 +1,445 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * A graph whose edges can be added, removed and reweighted, with a cache of
+ * shortest path results.
+ *
+ * dijkstras keeps the distances and shortest path tree it computes for each
+ * source. When an edge changes, each cached result is repaired instead of
+ * thrown away. A new or lighter edge can only shorten paths, so the
+ * improvement is pushed out from the edge's end with Dijkstra's algorithm,
+ * stopping wherever it no longer helps. A removed or heavier edge only
+ * matters if it is in the shortest path tree; then just the subtree below
+ * it is cut off, and its vertices are reconnected through their cheapest
+ * edges from the rest of the tree and settled with Dijkstra's algorithm.
+ * Either way the work is in proportion to the part of the graph whose
+ * distances change.
+ *
+ * At most cacheCapacity sources are kept. When another is needed the least
+ * recently queried one is evicted. Edge weights must not be negative.
+ */
+public class DynamicGraph<T> {
+
+    public static final int DEFAULT_CACHE_CAPACITY = 16;
+
+    private final boolean directed;
+    private final Map<Vertex<T>, Map<Vertex<T>, Integer>> outEdges;
+    private final Map<Vertex<T>, Map<Vertex<T>, Integer>> inEdges;
+    private final LinkedHashMap<Vertex<T>, ShortestPathTree<T>> cache;
+
+    /**
+     * Creates an empty graph with a cache of {@code DEFAULT_CACHE_CAPACITY}
+     * sources.
+     *
+     * @param directed whether the edges are directed
+     */
+    public DynamicGraph(boolean directed) {
+        this(directed, DEFAULT_CACHE_CAPACITY);
+    }
+
+    /**
+     * Creates an empty graph.
+     *
+     * @param directed whether the edges are directed
+     * @param cacheCapacity the number of sources to keep results for
+     * @throws IllegalArgumentException if cacheCapacity is negative
+     */
+    public DynamicGraph(boolean directed, int cacheCapacity) {
+        if (cacheCapacity < 0) {
+            throw new IllegalArgumentException("Cache capacity cannot be negative.");
+        }
+        this.directed = directed;
+        outEdges = new HashMap<>();
+        inEdges = directed ? new HashMap<>() : outEdges;
+        cache = new LinkedHashMap<Vertex<T>, ShortestPathTree<T>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Vertex<T>, ShortestPathTree<T>> eldest) {
+                return size() > cacheCapacity;
+            }
+        };
+    }
+
+    /**
+     * Creates a graph with the vertices and edges of a Graph. Parallel edges
+     * are merged, keeping the lightest.
+     *
+     * @param graph the Graph to copy
+     * @param cacheCapacity the number of sources to keep results for
+     * @throws IllegalArgumentException if graph is null, if cacheCapacity is
+     * negative, or if any edge weight is negative
+     */
+    public DynamicGraph(Graph<T> graph, int cacheCapacity) {
+        this(graph != null && graph.isDirected(), cacheCapacity);
+        if (graph == null) {
+            throw new IllegalArgumentException("Graph must be valid.");
+        }
+        for (Vertex<T> vertex : graph.getAdjacencyList().keySet()) {
+            addVertex(vertex);
+        }
+        for (Edge<T> edge : graph.getEdgeList()) {
+            Integer weight = getWeight(edge.getU(), edge.getV());
+            if (weight == null || edge.getWeight() < weight) {
+                putEdge(edge.getU(), edge.getV(), edge.getWeight());
+            }
+        }
+    }
+
+    /**
+     * Adds a vertex with no edges, if it is not already in the graph.
+     *
+     * @param vertex the vertex to add
+     * @return true if the vertex was added
+     * @throws IllegalArgumentException if vertex is null
+     */
+    public boolean addVertex(Vertex<T> vertex) {
+        if (vertex == null) {
+            throw new IllegalArgumentException("Cannot add null vertex.");
+        }
+        if (outEdges.containsKey(vertex)) {
+            return false;
+        }
+        outEdges.put(vertex, new HashMap<>());
+        if (directed) {
+            inEdges.put(vertex, new HashMap<>());
+        }
+        for (ShortestPathTree<T> tree : cache.values()) {
+            tree.distances.put(vertex, Integer.MAX_VALUE);
+        }
+        return true;
+    }
+
+    /**
+     * Adds an edge from u to v, or changes its weight if there is one
+     * already, adding u and v if they are not in the graph. The cached
+     * results are repaired.
+     *
+     * @param u the vertex the edge starts at
+     * @param v the vertex the edge ends at
+     * @param weight the weight of the edge
+     * @return the edge's previous weight, or null if it is new
+     * @throws IllegalArgumentException if either vertex is null or the
+     * weight is negative
+     */
+    public Integer putEdge(Vertex<T> u, Vertex<T> v, int weight) {
+        if (u == null || v == null) {
+            throw new IllegalArgumentException("Cannot have null vertices.");
+        }
+        if (weight < 0) {
+            throw new IllegalArgumentException("Edge weight cannot be negative.");
+        }
+        addVertex(u);
+        addVertex(v);
+
+        Integer old = outEdges.get(u).put(v, weight);
+        if (directed) {
+            inEdges.get(v).put(u, weight);
+        } else {
+            outEdges.get(v).put(u, weight);
+        }
+
+        for (ShortestPathTree<T> tree : cache.values()) {
+            if (old != null && weight > old) {
+                tree.edgeLengthened(u, v);
+                if (!directed) {
+                    tree.edgeLengthened(v, u);
+                }
+            } else {
+                tree.edgeShortened(u, v, weight);
+                if (!directed) {
+                    tree.edgeShortened(v, u, weight);
+                }
+            }
+        }
+        return old;
+    }
+
+    /**
+     * Removes the edge from u to v. The cached results are repaired.
+     *
+     * @param u the vertex the edge starts at
+     * @param v the vertex the edge ends at
+     * @return the weight of the removed edge
+     * @throws IllegalArgumentException if either vertex is null
+     * @throws NoSuchElementException if there is no such edge
+     */
+    public int removeEdge(Vertex<T> u, Vertex<T> v) {
+        Integer weight = getWeight(u, v);
+        if (weight == null) {
+            throw new NoSuchElementException("Edge does not exist in graph.");
+        }
+
+        outEdges.get(u).remove(v);
+        if (directed) {
+            inEdges.get(v).remove(u);
+        } else {
+            outEdges.get(v).remove(u);
+        }
+
+        for (ShortestPathTree<T> tree : cache.values()) {
+            tree.edgeLengthened(u, v);
+            if (!directed) {
+                tree.edgeLengthened(v, u);
+            }
+        }
+        return weight;
+    }
+
+    /**
+     * Gets the weight of the edge from u to v.
+     *
+     * @param u the vertex the edge starts at
+     * @param v the vertex the edge ends at
+     * @return the weight of the edge, or null if there is no such edge
+     * @throws IllegalArgumentException if either vertex is null
+     */
+    public Integer getWeight(Vertex<T> u, Vertex<T> v) {
+        if (u == null || v == null) {
+            throw new IllegalArgumentException("Cannot have null vertices.");
+        }
+        Map<Vertex<T>, Integer> edges = outEdges.get(u);
+        return edges == null ? null : edges.get(v);
+    }
+
+    /**
+     * Find the shortest distance between the source vertex and all other
+     * vertices, as GraphAlgorithms.dijkstras does. The result is taken from
+     * the cache if the source is in it, and otherwise computed and cached,
+     * evicting the least recently used source if the cache is full.
+     *
+     * The map returned is a read only view of the cached distances. It
+     * follows later changes to the graph while the source stays cached, so
+     * copy it to keep a snapshot.
+     *
+     * @param source the Vertex that is being started from
+     * @return a map of the shortest distances from source to every vertex in
+     *         the graph, with Integer.MAX_VALUE for unreachable vertices
+     * @throws IllegalArgumentException if source is null or not in the graph
+     */
+    public Map<Vertex<T>, Integer> dijkstras(Vertex<T> source) {
+        if (source == null) {
+            throw new IllegalArgumentException("Source vertex must be valid.");
+        }
+        if (!outEdges.containsKey(source)) {
+            throw new IllegalArgumentException("Source vertex must exist within the graph.");
+        }
+
+        ShortestPathTree<T> tree = cache.get(source);
+        if (tree == null) {
+            tree = new ShortestPathTree<>(this, source);
+            cache.put(source, tree);
+        }
+        return Collections.unmodifiableMap(tree.distances);
+    }
+
+    /**
+     * Returns whether results for a source are cached. This does not count
+     * as a use of the source.
+     *
+     * @param source the source to look for
+     * @return true if the source's results are cached
+     */
+    public boolean isCached(Vertex<T> source) {
+        return cache.keySet().contains(source);
+    }
+
+    /**
+     * Gets the vertices of this graph.
+     *
+     * @return an unmodifiable view of the vertices
+     */
+    public Set<Vertex<T>> getVertices() {
+        return Collections.unmodifiableSet(outEdges.keySet());
+    }
+
+    /**
+     * Gets whether or not the edges of this graph are directed.
+     *
+     * @return true if this graph is directed, false otherwise
+     */
+    public boolean isDirected() {
+        return directed;
+    }
+
+    /**
+     * Makes a Graph with the current vertices and edges of this graph.
+     *
+     * @return a new Graph
+     */
+    public Graph<T> toGraph() {
+        LinkedHashSet<Edge<T>> edges = new LinkedHashSet<>();
+        for (Map.Entry<Vertex<T>, Map<Vertex<T>, Integer>> entry : outEdges.entrySet()) {
+            for (Map.Entry<Vertex<T>, Integer> edge : entry.getValue().entrySet()) {
+                edges.add(new Edge<>(entry.getKey(), edge.getKey(), edge.getValue(), directed));
+            }
+        }
+        return new Graph<>(new HashSet<>(outEdges.keySet()), edges);
+    }
+
+    /**
+     * The distances from one source and the shortest path tree that gives
+     * them, where each reachable vertex other than the source has a parent
+     * whose distance plus the edge between them is its distance.
+     */
+    private static final class ShortestPathTree<T> {
+        private final DynamicGraph<T> graph;
+        private final Vertex<T> source;
+        private final Map<Vertex<T>, Integer> distances;
+        private final Map<Vertex<T>, Vertex<T>> parents;
+
+        /**
+         * Computes the distances from a source with Dijkstra's algorithm.
+         *
+         * @param graph the graph
+         * @param source the source
+         */
+        ShortestPathTree(DynamicGraph<T> graph, Vertex<T> source) {
+            this.graph = graph;
+            this.source = source;
+            distances = new HashMap<>();
+            parents = new HashMap<>();
+            for (Vertex<T> vertex : graph.outEdges.keySet()) {
+                distances.put(vertex, Integer.MAX_VALUE);
+            }
+            distances.put(source, 0);
+
+            PriorityQueue<VertexDistancePair<T>> pq = new PriorityQueue<>();
+            pq.add(new VertexDistancePair<>(source, 0));
+            settle(pq);
+        }
+
+        /**
+         * Repairs the tree after the edge from u to v was added or made
+         * lighter. Paths through the edge may now be shorter, so the
+         * improvement is spread from v.
+         *
+         * @param u the vertex the edge starts at
+         * @param v the vertex the edge ends at
+         * @param weight the new weight of the edge
+         */
+        void edgeShortened(Vertex<T> u, Vertex<T> v, int weight) {
+            int throughEdge = add(distances.get(u), weight);
+            if (throughEdge < distances.get(v)) {
+                distances.put(v, throughEdge);
+                parents.put(v, u);
+                PriorityQueue<VertexDistancePair<T>> pq = new PriorityQueue<>();
+                pq.add(new VertexDistancePair<>(v, throughEdge));
+                settle(pq);
+            }
+        }
+
+        /**
+         * Repairs the tree after the edge from u to v was removed or made
+         * heavier. Nothing changes unless the edge is in the tree. If it
+         * is, the subtree below v is cut off, each of its vertices starts
+         * from its cheapest edge in from outside the subtree, and Dijkstra's
+         * algorithm settles them from there.
+         *
+         * @param u the vertex the edge starts at
+         * @param v the vertex the edge ends at
+         */
+        void edgeLengthened(Vertex<T> u, Vertex<T> v) {
+            if (!u.equals(parents.get(v))) {
+                return;
+            }
+
+            Set<Vertex<T>> subtree = subtree(v);
+            for (Vertex<T> vertex : subtree) {
+                distances.put(vertex, Integer.MAX_VALUE);
+                parents.remove(vertex);
+            }
+
+            PriorityQueue<VertexDistancePair<T>> pq = new PriorityQueue<>();
+            for (Vertex<T> vertex : subtree) {
+                for (Map.Entry<Vertex<T>, Integer> in : graph.inEdges.get(vertex).entrySet()) {
+                    if (subtree.contains(in.getKey())) {
+                        continue;
+                    }
+                    int throughEdge = add(distances.get(in.getKey()), in.getValue());
+                    if (throughEdge < distances.get(vertex)) {
+                        distances.put(vertex, throughEdge);
+                        parents.put(vertex, in.getKey());
+                    }
+                }
+                if (distances.get(vertex) != Integer.MAX_VALUE) {
+                    pq.add(new VertexDistancePair<>(vertex, distances.get(vertex)));
+                }
+            }
+            settle(pq);
+        }
+
+        /**
+         * Runs Dijkstra's algorithm from the queued vertices, lowering the
+         * distances of any vertices they lead to more cheaply.
+         *
+         * @param pq the queue, holding vertices whose distances were set
+         */
+        private void settle(PriorityQueue<VertexDistancePair<T>> pq) {
+            while (!pq.isEmpty()) {
+                VertexDistancePair<T> curr = pq.poll();
+                if (curr.getDistance() > distances.get(curr.getVertex())) {
+                    continue;
+                }
+
+                for (Map.Entry<Vertex<T>, Integer> child : graph.outEdges.get(curr.getVertex()).entrySet()) {
+                    int newDistance = add(curr.getDistance(), child.getValue());
+                    if (newDistance < distances.get(child.getKey())) {
+                        distances.put(child.getKey(), newDistance);
+                        parents.put(child.getKey(), curr.getVertex());
+                        pq.add(new VertexDistancePair<>(child.getKey(), newDistance));
+                    }
+                }
+            }
+        }
+
+        /**
+         * Finds a vertex and every vertex below it in the tree.
+         *
+         * @param root the top of the subtree
+         * @return the vertices of the subtree
+         */
+        private Set<Vertex<T>> subtree(Vertex<T> root) {
+            Set<Vertex<T>> subtree = new HashSet<>();
+            ArrayDeque<Vertex<T>> queue = new ArrayDeque<>();
+            subtree.add(root);
+            queue.add(root);
+            while (!queue.isEmpty()) {
+                Vertex<T> curr = queue.poll();
+                List<Vertex<T>> children = new ArrayList<>();
+                for (Vertex<T> child : graph.outEdges.get(curr).keySet()) {
+                    if (curr.equals(parents.get(child))) {
+                        children.add(child);
+                    }
+                }
+                for (Vertex<T> child : children) {
+                    if (subtree.add(child)) {
+                        queue.add(child);
+                    }
+                }
+            }
+            return subtree;
+        }
+
+        /**
+         * Adds an edge weight to a distance, treating Integer.MAX_VALUE as
+         * unreachable.
+         *
+         * @param distance the distance, or Integer.MAX_VALUE
+         * @param weight the edge weight
+         * @return the sum, or Integer.MAX_VALUE if distance is
+         */
+        private static int add(int distance, int weight) {
+            return distance == Integer.MAX_VALUE ? Integer.MAX_VALUE : distance + weight;
+        }
+    }
+}
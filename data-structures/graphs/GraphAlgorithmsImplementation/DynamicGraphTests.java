@@ -0,0 +1,119 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DynamicGraphTests {
+    private static final int TIMEOUT = 200;
+
+    private DynamicGraph<Character> graph;
+
+    @Before
+    public void setUp() {
+        graph = new DynamicGraph<>(true, 2);
+        graph.putEdge(new Vertex<>('A'), new Vertex<>('B'), 4);
+        graph.putEdge(new Vertex<>('A'), new Vertex<>('C'), 1);
+        graph.putEdge(new Vertex<>('C'), new Vertex<>('B'), 2);
+        graph.putEdge(new Vertex<>('B'), new Vertex<>('D'), 5);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testRepairedAfterChanges() {
+        Map<Vertex<Character>, Integer> distances = graph.dijkstras(new Vertex<>('A'));
+        assertEquals(3, (int) distances.get(new Vertex<>('B')));
+        assertEquals(8, (int) distances.get(new Vertex<>('D')));
+
+        graph.putEdge(new Vertex<>('C'), new Vertex<>('B'), 10);
+        assertEquals(4, (int) distances.get(new Vertex<>('B')));
+        assertEquals(9, (int) distances.get(new Vertex<>('D')));
+
+        assertEquals(4, graph.removeEdge(new Vertex<>('A'), new Vertex<>('B')));
+        assertEquals(11, (int) distances.get(new Vertex<>('B')));
+
+        graph.removeEdge(new Vertex<>('C'), new Vertex<>('B'));
+        assertEquals(Integer.MAX_VALUE, (int) distances.get(new Vertex<>('B')));
+        assertEquals(Integer.MAX_VALUE, (int) distances.get(new Vertex<>('D')));
+
+        assertNull(graph.putEdge(new Vertex<>('C'), new Vertex<>('E'), 1));
+        assertEquals(2, (int) distances.get(new Vertex<>('E')));
+        graph.putEdge(new Vertex<>('E'), new Vertex<>('D'), 0);
+        assertEquals(2, (int) distances.get(new Vertex<>('D')));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testLeastRecentlyUsedEvicted() {
+        graph.dijkstras(new Vertex<>('A'));
+        graph.dijkstras(new Vertex<>('B'));
+        graph.dijkstras(new Vertex<>('A'));
+        graph.dijkstras(new Vertex<>('C'));
+        assertTrue(graph.isCached(new Vertex<>('A')));
+        assertFalse(graph.isCached(new Vertex<>('B')));
+        assertTrue(graph.isCached(new Vertex<>('C')));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testMatchesRecomputation() {
+        Random random = new Random(19);
+        for (boolean directed : new boolean[] {true, false}) {
+            int n = 30;
+            DynamicGraph<Integer> dynamic = new DynamicGraph<>(directed, 4);
+            for (int i = 0; i < n; i++) {
+                dynamic.addVertex(new Vertex<>(i));
+            }
+            for (int i = 0; i < 3 * n; i++) {
+                dynamic.putEdge(new Vertex<>(random.nextInt(n)), new Vertex<>(random.nextInt(n)),
+                        random.nextInt(20));
+            }
+
+            for (int step = 0; step < 120; step++) {
+                Vertex<Integer> u = new Vertex<>(random.nextInt(n));
+                Vertex<Integer> v = new Vertex<>(random.nextInt(n));
+                if (dynamic.getWeight(u, v) != null && random.nextBoolean()) {
+                    dynamic.removeEdge(u, v);
+                } else {
+                    dynamic.putEdge(u, v, random.nextInt(20));
+                }
+
+                Vertex<Integer> source = new Vertex<>(random.nextInt(6));
+                if (step % 5 == 0) {
+                    assertEquals(GraphAlgorithms.dijkstras(source, dynamic.toGraph()),
+                            new HashMap<>(dynamic.dijkstras(source)));
+                } else {
+                    dynamic.dijkstras(source);
+                }
+            }
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testCopiesGraph() {
+        Graph<Character> copy = graph.toGraph();
+        DynamicGraph<Character> dynamic = new DynamicGraph<>(copy, 1);
+        assertTrue(dynamic.isDirected());
+        assertEquals(GraphAlgorithms.dijkstras(new Vertex<>('A'), copy),
+                dynamic.dijkstras(new Vertex<>('A')));
+    }
+
+    @Test(timeout = TIMEOUT, expected = NoSuchElementException.class)
+    public void testRemoveMissingEdge() {
+        graph.removeEdge(new Vertex<>('D'), new Vertex<>('A'));
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testNegativeWeight() {
+        graph.putEdge(new Vertex<>('A'), new Vertex<>('D'), -1);
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testSourceNotInGraph() {
+        graph.dijkstras(new Vertex<>('Z'));
+    }
+}
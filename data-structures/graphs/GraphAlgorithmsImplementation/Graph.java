@@ -13,6 +13,7 @@ public class Graph<T> {
     private Set<Edge<T>> edges;
     private Map<Vertex<T>, List<VertexDistancePair<T>>> adjacencyList;
     private boolean directed;
+    private Map<Vertex<T>, List<VertexDistancePair<T>>> reverseAdjacencyList;
 
     /**
      * Constructor to build a Graph from an edge list.
@@ -83,6 +84,33 @@ public class Graph<T> {
         return adjacencyList;
     }
     
+    /**
+     * Gets the reverse adjacency list of this graph, in which each vertex
+     * maps to the vertices with an edge to it. For an undirected graph this
+     * is the adjacency list itself. The reverse adjacency list of a directed
+     * graph is built on the first call and kept.
+     * 
+     * @return the reverse adjacency list of this graph
+     */
+    public Map<Vertex<T>, List<VertexDistancePair<T>>> getReverseAdjacencyList() {
+        if (!directed) {
+            return adjacencyList;
+        }
+        if (reverseAdjacencyList == null) {
+            reverseAdjacencyList = new HashMap<>();
+            for (Vertex<T> v : adjacencyList.keySet()) {
+                reverseAdjacencyList.put(v, new ArrayList<>());
+            }
+            for (Map.Entry<Vertex<T>, List<VertexDistancePair<T>>> entry : adjacencyList.entrySet()) {
+                for (VertexDistancePair<T> pair : entry.getValue()) {
+                    reverseAdjacencyList.get(pair.getVertex()).add(
+                            new VertexDistancePair<>(entry.getKey(), pair.getDistance()));
+                }
+            }
+        }
+        return reverseAdjacencyList;
+    }
+
     /**
      * Gets whether or not the edges of this graph are directed.
      * 
@@ -1,4 +1,6 @@
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
 
 /**
  * Implementations of various graph algorithms.
@@ -71,20 +73,77 @@ public class GraphAlgorithms {
         }
 
         List<Vertex<T>> list = new ArrayList<>();
-        Set<Vertex<T>> visited = new HashSet<>();
-        depthFirstSearch(start, graph, list, visited);
+        depthFirstSearch(start, graph, list::add, null);
         return list;
     }
 
-    private static <T> void depthFirstSearch(Vertex<T> curr, Graph<T> graph,
-                                             List<Vertex<T>> list, Set<Vertex<T>> visited) {
-        if (!visited.contains(curr)) {
-            visited.add(curr);
-            list.add(curr);
-            for (VertexDistancePair<T> child : graph.getAdjacencyList().get(curr)) {
-                if (!visited.contains(child.getVertex())) {
-                    depthFirstSearch(child.getVertex(), graph, list, visited);
+    /**
+     * Perform depth first search on the given graph, starting at the start
+     * Vertex, and report each vertex as it is reached and as it is
+     * finished. preOrder sees the vertices in the order depthFirstSearch
+     * returns them. postOrder sees each vertex once all the vertices
+     * reachable from it have been finished, so on an acyclic graph the
+     * reverse of the post-order is a topological order. Either callback may
+     * be null.
+     *
+     * The search keeps an explicit stack of the vertices on the current path
+     * and how far through each one's adjacency list it has got, instead of
+     * recursing, so long paths cannot overflow the call stack.
+     *
+     * @throws IllegalArgumentException if the start vertex or graph is
+     *         null, or if {@code start} doesn't exist in the graph
+     * @param start the Vertex to start at
+     * @param graph the Graph being traversed
+     * @param preOrder called with each vertex when it is first reached
+     * @param postOrder called with each vertex when it is finished
+     * @param <T> the data type representing the vertices in the graph.
+     */
+    public static <T> void depthFirstSearch(Vertex<T> start, Graph<T> graph,
+            Consumer<Vertex<T>> preOrder, Consumer<Vertex<T>> postOrder) {
+        if (start == null || graph == null) {
+            throw new IllegalArgumentException("Cannot have null start or graph.");
+        } else if (!graph.getAdjacencyList().containsKey(start)) {
+            throw new IllegalArgumentException("Start vertex must exist within the graph.");
+        }
+
+        Map<Vertex<T>, List<VertexDistancePair<T>>> adjacencyList = graph.getAdjacencyList();
+        Set<Vertex<T>> visited = new HashSet<>();
+        Vertex<T>[] stack = (Vertex<T>[]) new Vertex[16];
+        int[] next = new int[16];
+        int depth = 0;
+
+        visited.add(start);
+        if (preOrder != null) {
+            preOrder.accept(start);
+        }
+        stack[depth++] = start;
+
+        while (depth > 0) {
+            Vertex<T> curr = stack[depth - 1];
+            List<VertexDistancePair<T>> children = adjacencyList.get(curr);
+            int i = next[depth - 1];
+            while (i < children.size() && visited.contains(children.get(i).getVertex())) {
+                i++;
+            }
+
+            if (i == children.size()) {
+                stack[--depth] = null;
+                if (postOrder != null) {
+                    postOrder.accept(curr);
+                }
+            } else {
+                next[depth - 1] = i + 1;
+                Vertex<T> child = children.get(i).getVertex();
+                visited.add(child);
+                if (preOrder != null) {
+                    preOrder.accept(child);
                 }
+                if (depth == stack.length) {
+                    stack = Arrays.copyOf(stack, depth * 2);
+                    next = Arrays.copyOf(next, depth * 2);
+                }
+                stack[depth] = child;
+                next[depth++] = 0;
             }
         }
     }
@@ -188,4 +247,244 @@ public class GraphAlgorithms {
         return mst;
     }
 
+    /**
+     * Run Kruskal's algorithm on the given graph and return the minimum
+     * spanning tree in the form of a set of Edges. If the graph is
+     * disconnected, and therefore there is no valid MST, return null.
+     *
+     * @throws IllegalArgumentException if the graph is null
+     * @param graph the Graph the MST is being created for
+     * @param <T> the data type representing the vertices in the graph.
+     * @return the MST of the graph; null if no valid MST exists.
+     */
+    public static <T> Set<Edge<T>> kruskals(Graph<T> graph) {
+        return kruskals(graph, false);
+    }
+
+    /**
+     * Run Kruskal's algorithm on the given graph. The edges are taken in
+     * order of weight, and each one joining two different trees of the
+     * forest built so far is added to it. A disjoint set of vertices tracks
+     * which tree each vertex is in. Edge directions are ignored, and the
+     * Edges returned are the graph's own.
+     *
+     * If the graph is disconnected there is no spanning tree. Then this
+     * returns the minimum spanning forest, with a tree for each connected
+     * component, if forest is true, and null otherwise.
+     *
+     * @throws IllegalArgumentException if the graph is null
+     * @param graph the Graph the MST is being created for
+     * @param forest whether to return the minimum spanning forest of a
+     *        disconnected graph rather than null
+     * @param <T> the data type representing the vertices in the graph.
+     * @return the MST of the graph, or its minimum spanning forest; null if
+     *         the graph is disconnected and forest is false.
+     */
+    public static <T> Set<Edge<T>> kruskals(Graph<T> graph, boolean forest) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Graph must be valid.");
+        }
+
+        Map<Vertex<T>, Integer> indices = new HashMap<>();
+        for (Vertex<T> vertex : graph.getAdjacencyList().keySet()) {
+            indices.put(vertex, indices.size());
+        }
+        List<Edge<T>> edges = new ArrayList<>(graph.getEdgeList());
+        Collections.sort(edges);
+
+        Set<Edge<T>> mst = new HashSet<>();
+        DisjointSet trees = new DisjointSet(indices.size());
+        for (Edge<T> edge : edges) {
+            if (trees.count() == 1) {
+                break;
+            }
+            if (trees.union(indices.get(edge.getU()), indices.get(edge.getV()))) {
+                mst.add(edge);
+            }
+        }
+
+        if (!forest && trees.count() > 1) {
+            return null;
+        }
+
+        return mst;
+    }
+
+    /**
+     * Find the shortest distance from start to goal with bidirectional
+     * Dijkstra's algorithm. One search runs forward from start over the
+     * adjacency list and one runs backward from goal over the reverse
+     * adjacency list, each step advancing whichever search has the smaller
+     * queue. Whenever an edge joins the two searches, the length of the path
+     * through it is a candidate answer, and the search stops once the two
+     * queues' smallest distances add up to at least the best candidate, so
+     * only the vertices closer to start or goal than about half the answer
+     * are settled.
+     *
+     * @throws IllegalArgumentException if any input is null, or if
+     *         {@code start} or {@code goal} doesn't exist in the graph
+     * @param start the Vertex the path starts at
+     * @param goal the Vertex the path ends at
+     * @param graph the Graph that is being searched
+     * @param <T> the data type representing the vertices in the graph.
+     * @return the shortest distance from start to goal, or Integer.MAX_VALUE
+     *         if goal is not reachable from start
+     */
+    public static <T> int bidirectionalDijkstras(Vertex<T> start, Vertex<T> goal,
+            Graph<T> graph) {
+        checkPointToPoint(start, goal, graph);
+        if (start.equals(goal)) {
+            return 0;
+        }
+
+        Map<Vertex<T>, Integer> forwardDistances = new HashMap<>();
+        Map<Vertex<T>, Integer> backwardDistances = new HashMap<>();
+        Set<Vertex<T>> forwardSettled = new HashSet<>();
+        Set<Vertex<T>> backwardSettled = new HashSet<>();
+        PriorityQueue<VertexDistancePair<T>> forwardQueue = new PriorityQueue<>();
+        PriorityQueue<VertexDistancePair<T>> backwardQueue = new PriorityQueue<>();
+        forwardDistances.put(start, 0);
+        forwardQueue.add(new VertexDistancePair<>(start, 0));
+        backwardDistances.put(goal, 0);
+        backwardQueue.add(new VertexDistancePair<>(goal, 0));
+
+        long best = Integer.MAX_VALUE;
+        while (!forwardQueue.isEmpty() && !backwardQueue.isEmpty()
+                && (long) forwardQueue.peek().getDistance() + backwardQueue.peek().getDistance() < best) {
+            if (forwardQueue.size() <= backwardQueue.size()) {
+                best = searchStep(forwardQueue, forwardDistances, forwardSettled,
+                        graph.getAdjacencyList(), backwardDistances, best);
+            } else {
+                best = searchStep(backwardQueue, backwardDistances, backwardSettled,
+                        graph.getReverseAdjacencyList(), forwardDistances, best);
+            }
+        }
+
+        return (int) best;
+    }
+
+    /**
+     * Find the shortest distance from start to goal with A*. The search is
+     * Dijkstra's algorithm with each vertex queued by its distance from
+     * start plus the heuristic's estimate of its distance to goal, so
+     * vertices leading towards goal are settled first and the search stops
+     * as soon as goal leaves the queue.
+     *
+     * The heuristic must be admissible, never more than the true distance to
+     * goal, or the answer may be too long. A vertex whose distance improves
+     * after it was settled is queued again, so the heuristic need not be
+     * consistent, but a consistent one settles each vertex at most once. A
+     * heuristic of 0 everywhere gives plain Dijkstra's algorithm with an
+     * early stop. The heuristic is called at most once per vertex.
+     *
+     * @throws IllegalArgumentException if any input is null, or if
+     *         {@code start} or {@code goal} doesn't exist in the graph
+     * @param start the Vertex the path starts at
+     * @param goal the Vertex the path ends at
+     * @param graph the Graph that is being searched
+     * @param heuristic a lower bound on the distance from a vertex to goal
+     * @param <T> the data type representing the vertices in the graph.
+     * @return the shortest distance from start to goal, or Integer.MAX_VALUE
+     *         if goal is not reachable from start
+     */
+    public static <T> int aStar(Vertex<T> start, Vertex<T> goal, Graph<T> graph,
+            ToIntFunction<Vertex<T>> heuristic) {
+        checkPointToPoint(start, goal, graph);
+        if (heuristic == null) {
+            throw new IllegalArgumentException("Heuristic must be valid.");
+        }
+
+        Map<Vertex<T>, Integer> distances = new HashMap<>();
+        Map<Vertex<T>, Integer> estimates = new HashMap<>();
+        PriorityQueue<VertexDistancePair<T>> pq = new PriorityQueue<>();
+        distances.put(start, 0);
+        estimates.put(start, heuristic.applyAsInt(start));
+        pq.add(new VertexDistancePair<>(start, estimates.get(start)));
+
+        while (!pq.isEmpty()) {
+            VertexDistancePair<T> curr = pq.poll();
+            Vertex<T> vertex = curr.getVertex();
+            int distance = distances.get(vertex);
+            if (curr.getDistance() > distance + estimates.get(vertex)) {
+                continue;
+            }
+            if (vertex.equals(goal)) {
+                return distance;
+            }
+
+            for (VertexDistancePair<T> child : graph.getAdjacencyList().get(vertex)) {
+                int newDistance = distance + child.getDistance();
+                Integer oldDistance = distances.get(child.getVertex());
+                if (oldDistance == null || newDistance < oldDistance) {
+                    distances.put(child.getVertex(), newDistance);
+                    Integer estimate = estimates.get(child.getVertex());
+                    if (estimate == null) {
+                        estimate = heuristic.applyAsInt(child.getVertex());
+                        estimates.put(child.getVertex(), estimate);
+                    }
+                    pq.add(new VertexDistancePair<>(child.getVertex(), newDistance + estimate));
+                }
+            }
+        }
+
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Settles the next vertex of one side of a bidirectional search and
+     * relaxes its edges.
+     *
+     * @param queue the side's priority queue
+     * @param distances the side's tentative distances
+     * @param settled the side's settled vertices
+     * @param adjacencyList the edges the side follows
+     * @param otherDistances the other side's tentative distances
+     * @param best the length of the shortest path found so far
+     * @param <T> the data type representing the vertices in the graph.
+     * @return the length of the shortest path found after this step
+     */
+    private static <T> long searchStep(PriorityQueue<VertexDistancePair<T>> queue,
+            Map<Vertex<T>, Integer> distances, Set<Vertex<T>> settled,
+            Map<Vertex<T>, List<VertexDistancePair<T>>> adjacencyList,
+            Map<Vertex<T>, Integer> otherDistances, long best) {
+        VertexDistancePair<T> curr = queue.poll();
+        if (!settled.add(curr.getVertex())) {
+            return best;
+        }
+
+        for (VertexDistancePair<T> child : adjacencyList.get(curr.getVertex())) {
+            int newDistance = curr.getDistance() + child.getDistance();
+            Integer oldDistance = distances.get(child.getVertex());
+            if (oldDistance == null || newDistance < oldDistance) {
+                distances.put(child.getVertex(), newDistance);
+                queue.add(new VertexDistancePair<>(child.getVertex(), newDistance));
+            }
+            Integer otherDistance = otherDistances.get(child.getVertex());
+            if (otherDistance != null) {
+                best = Math.min(best, (long) newDistance + otherDistance);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Checks the arguments of a point to point search.
+     *
+     * @throws IllegalArgumentException if any input is null, or if
+     *         {@code start} or {@code goal} doesn't exist in the graph
+     * @param start the Vertex the path starts at
+     * @param goal the Vertex the path ends at
+     * @param graph the Graph that is being searched
+     * @param <T> the data type representing the vertices in the graph.
+     */
+    private static <T> void checkPointToPoint(Vertex<T> start, Vertex<T> goal,
+            Graph<T> graph) {
+        if (start == null || goal == null || graph == null) {
+            throw new IllegalArgumentException("Start vertex, goal vertex and graph must be valid.");
+        } else if (!graph.getAdjacencyList().containsKey(start)
+                || !graph.getAdjacencyList().containsKey(goal)) {
+            throw new IllegalArgumentException("Start and goal vertices must exist within the graph.");
+        }
+    }
+
 }
@@ -3,6 +3,7 @@ import org.junit.FixMethodOrder;
 import org.junit.Test;
 import org.junit.runners.MethodSorters;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -10,10 +11,12 @@ import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 @FixMethodOrder(MethodSorters.NAME_ASCENDING)
 public class GraphAlgorithmsTests {
@@ -1722,5 +1725,194 @@ public class GraphAlgorithmsTests {
         assertEquals("Prim's algorithm failed to return the correct MST when " + "the graph was already a tree", expected, mst);
 
     }
-}
 
+    @Test(timeout = TIMEOUT)
+    public void pointToPointExceptions() {
+        Graph<String> graph = makeSingleVertexGraph();
+        Vertex<String> a = new Vertex<>("A");
+        try {
+            GraphAlgorithms.bidirectionalDijkstras(a, null, graph);
+            Assert.fail("Bidirectional Dijkstra's should throw on a null goal vertex.");
+        } catch (IllegalArgumentException e) {
+            assertEquals(IllegalArgumentException.class, e.getClass());
+        }
+        try {
+            GraphAlgorithms.bidirectionalDijkstras(a, new Vertex<>("Z"), graph);
+            Assert.fail("Bidirectional Dijkstra's should throw on a goal not in the graph.");
+        } catch (IllegalArgumentException e) {
+            assertEquals(IllegalArgumentException.class, e.getClass());
+        }
+        try {
+            GraphAlgorithms.aStar(a, a, graph, null);
+            Assert.fail("A* should throw on a null heuristic.");
+        } catch (IllegalArgumentException e) {
+            assertEquals(IllegalArgumentException.class, e.getClass());
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void pointToPointMatchesDijkstras() {
+        for (long seed = 0; seed < 6; seed++) {
+            Random random = new Random(seed);
+            boolean directed = seed % 2 == 0;
+            LinkedHashSet<Edge<Integer>> edges = new LinkedHashSet<>();
+            for (int i = 0; i < 70; i++) {
+                edges.add(new Edge<>(new Vertex<>(random.nextInt(30)), new Vertex<>(random.nextInt(30)),
+                        random.nextInt(20), directed));
+            }
+            Graph<Integer> graph = new Graph<>(edges);
+            Vertex<Integer> start = edges.iterator().next().getU();
+
+            Map<Vertex<Integer>, Integer> expected = GraphAlgorithms.dijkstras(start, graph);
+            for (Vertex<Integer> goal : graph.getAdjacencyList().keySet()) {
+                assertEquals("Bidirectional Dijkstra's gave the wrong distance to " + goal,
+                        expected.get(goal), (Integer) GraphAlgorithms.bidirectionalDijkstras(start, goal, graph));
+                assertEquals("A* gave the wrong distance to " + goal,
+                        expected.get(goal), (Integer) GraphAlgorithms.aStar(start, goal, graph, v -> 0));
+            }
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void aStarOnGridVisitsFewVertices() {
+        int side = 24;
+        LinkedHashSet<Edge<Integer>> edges = new LinkedHashSet<>();
+        for (int row = 0; row < side; row++) {
+            for (int col = 0; col < side; col++) {
+                int cell = row * side + col;
+                if (col + 1 < side) {
+                    edges.add(new Edge<>(new Vertex<>(cell), new Vertex<>(cell + 1), 1 + (cell % 3), false));
+                }
+                if (row + 1 < side) {
+                    edges.add(new Edge<>(new Vertex<>(cell), new Vertex<>(cell + side), 1 + (cell % 2), false));
+                }
+            }
+        }
+        Graph<Integer> graph = new Graph<>(edges);
+        Vertex<Integer> start = new Vertex<>(side * (side / 2));
+        Vertex<Integer> goal = new Vertex<>(side * (side / 2) + 10);
+
+        Set<Vertex<Integer>> estimated = new HashSet<>();
+        int distance = GraphAlgorithms.aStar(start, goal, graph, v -> {
+            estimated.add(v);
+            int cell = v.getData();
+            return Math.abs(cell / side - goal.getData() / side) + Math.abs(cell % side - goal.getData() % side);
+        });
+
+        assertEquals(GraphAlgorithms.dijkstras(start, graph).get(goal), (Integer) distance);
+        assertEquals(distance, GraphAlgorithms.bidirectionalDijkstras(start, goal, graph));
+        assertTrue("A* looked at " + estimated.size() + " of " + side * side + " vertices",
+                estimated.size() < side * side / 4);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void dfsLongPath() {
+        int length = 15000;
+        LinkedHashSet<Edge<Integer>> edges = new LinkedHashSet<>();
+        for (int i = 1; i < length; i++) {
+            edges.add(new Edge<>(new Vertex<>(i - 1), new Vertex<>(i), i, true));
+        }
+        Graph<Integer> graph = new Graph<>(edges);
+
+        List<Vertex<Integer>> dfsList = GraphAlgorithms.depthFirstSearch(new Vertex<>(0), graph);
+
+        assertEquals(length, dfsList.size());
+        for (int i = 0; i < length; i++) {
+            assertEquals(new Vertex<>(i), dfsList.get(i));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void dfsPreAndPostOrder() {
+        Vertex<String> a = new Vertex<>("A");
+        Vertex<String> b = new Vertex<>("B");
+        Vertex<String> c = new Vertex<>("C");
+        Vertex<String> d = new Vertex<>("D");
+        Vertex<String> e = new Vertex<>("E");
+
+        LinkedHashSet<Edge<String>> edges = new LinkedHashSet<>();
+        edges.add(new Edge<>(a, b, 1, true));
+        edges.add(new Edge<>(a, c, 1, true));
+        edges.add(new Edge<>(b, d, 1, true));
+        edges.add(new Edge<>(c, d, 1, true));
+        edges.add(new Edge<>(d, a, 1, true));
+        edges.add(new Edge<>(e, a, 1, true));
+        Graph<String> graph = new Graph<>(edges);
+
+        List<Vertex<String>> pre = new ArrayList<>();
+        List<Vertex<String>> post = new ArrayList<>();
+        GraphAlgorithms.depthFirstSearch(a, graph, pre::add, post::add);
+
+        assertEquals(GraphAlgorithms.depthFirstSearch(a, graph), pre);
+        assertEquals(Arrays.asList(a, b, d, c), pre);
+        assertEquals(Arrays.asList(d, b, c, a), post);
+
+        List<Vertex<String>> onlyPost = new ArrayList<>();
+        GraphAlgorithms.depthFirstSearch(e, graph, null, onlyPost::add);
+        assertEquals(Arrays.asList(d, b, c, a, e), onlyPost);
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void kruskalsExceptions() {
+        GraphAlgorithms.kruskals(null);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void kruskalsMatchesPrims() {
+        for (long seed = 0; seed < 20; seed++) {
+            Random random = new Random(seed);
+            LinkedHashSet<Edge<Integer>> edges = new LinkedHashSet<>();
+            for (int i = 0; i < 40; i++) {
+                edges.add(new Edge<>(new Vertex<>(i), new Vertex<>(random.nextInt(i + 1)), random.nextInt(10) - 3, false));
+            }
+            for (int i = 0; i < 100; i++) {
+                edges.add(new Edge<>(new Vertex<>(random.nextInt(40)), new Vertex<>(random.nextInt(40)), random.nextInt(10) - 3, false));
+            }
+            Graph<Integer> graph = new Graph<>(edges);
+
+            Set<Edge<Integer>> expected = CsrGraphAlgorithms.prims(new Vertex<>(0), new CsrGraph<>(edges));
+            Set<Edge<Integer>> mst = GraphAlgorithms.kruskals(graph);
+            assertEquals(39, mst.size());
+            assertEquals(totalWeight(expected), totalWeight(mst));
+            assertTrue(edges.containsAll(mst));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void kruskalsSpanningForest() {
+        Vertex<String> a = new Vertex<>("a");
+        Vertex<String> b = new Vertex<>("b");
+        Vertex<String> c = new Vertex<>("c");
+        Vertex<String> d = new Vertex<>("d");
+        Vertex<String> e = new Vertex<>("e");
+
+        Edge<String> ab = new Edge<>(a, b, 4, false);
+        Edge<String> bc = new Edge<>(b, c, 2, false);
+        Edge<String> ca = new Edge<>(c, a, 3, false);
+        Edge<String> de = new Edge<>(d, e, 7, false);
+
+        LinkedHashSet<Edge<String>> edgeSet = new LinkedHashSet<>(Arrays.asList(ab, bc, ca, de));
+        Graph<String> graph = new Graph<>(edgeSet);
+
+        assertNull(GraphAlgorithms.kruskals(graph));
+        assertEquals(new HashSet<>(Arrays.asList(bc, ca, de)), GraphAlgorithms.kruskals(graph, true));
+
+        Set<Vertex<String>> vertices = new HashSet<>(Arrays.asList(a, b, c, d, e, new Vertex<>("f")));
+        Graph<String> isolated = new Graph<>(vertices, edgeSet);
+        assertEquals(new HashSet<>(Arrays.asList(bc, ca, de)), GraphAlgorithms.kruskals(isolated, true));
+    }
+
+    /**
+     * Adds up the weights of a set of edges.
+     *
+     * @param edges the edges
+     * @return the sum of their weights
+     */
+    private static int totalWeight(Set<Edge<Integer>> edges) {
+        int sum = 0;
+        for (Edge<Integer> edge : edges) {
+            sum += edge.getWeight();
+        }
+        return sum;
+    }
+}
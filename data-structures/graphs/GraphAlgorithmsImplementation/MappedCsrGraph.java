@@ -0,0 +1,156 @@
+import java.nio.IntBuffer;
+
+/**
+ * A graph in compressed sparse row form that is read straight from a file
+ * mapped by CsrGraphFile, without copying anything onto the heap.
+ *
+ * The offsets, targets and weights are read only IntBuffer views of the
+ * mapping, laid out as in CsrGraph, and each vertex is decoded from the
+ * file only when it is asked for. This makes loading take the same time
+ * whatever the size of the graph, and suits looking at a few vertices of a
+ * graph too large to copy.
+ *
+ * The algorithms in CsrGraphAlgorithms run on a CsrGraph, whose int arrays
+ * they can index without going through a buffer. toCsrGraph copies the
+ * three arrays out of the mapping in bulk for them, and leaves the vertices
+ * in the file.
+ */
+public final class MappedCsrGraph<T> {
+
+    private final CsrGraph.VertexIndex<T> vertices;
+    private final IntBuffer offsets;
+    private final IntBuffer targets;
+    private final IntBuffer weights;
+    private final boolean directed;
+    private CsrGraph<T> graph;
+
+    /**
+     * Constructor for a graph over mapped buffers. The buffers are used as
+     * they are, not copied, and are indexed from 0 whatever their positions.
+     *
+     * @param vertices the vertex index
+     * @param offsets the offsets, vertexCount + 1 of them
+     * @param targets the targets
+     * @param weights the weights, as many as targets
+     * @param directed whether the edges are directed
+     */
+    MappedCsrGraph(CsrGraph.VertexIndex<T> vertices, IntBuffer offsets, IntBuffer targets,
+            IntBuffer weights, boolean directed) {
+        this.vertices = vertices;
+        this.offsets = offsets.asReadOnlyBuffer();
+        this.targets = targets.asReadOnlyBuffer();
+        this.weights = weights.asReadOnlyBuffer();
+        this.directed = directed;
+    }
+
+    /**
+     * Gets this graph as a CsrGraph, copying the offsets, targets and
+     * weights out of the mapping. The vertices are still read from the file
+     * when they are asked for. The CsrGraph is built on the first call and
+     * kept.
+     *
+     * @return the graph as a CsrGraph
+     */
+    public CsrGraph<T> toCsrGraph() {
+        if (graph == null) {
+            graph = new CsrGraph<>(vertices, copy(offsets), copy(targets), copy(weights), directed);
+        }
+        return graph;
+    }
+
+    /**
+     * Gets the number of vertices in this graph.
+     *
+     * @return the number of vertices
+     */
+    public int vertexCount() {
+        return offsets.limit() - 1;
+    }
+
+    /**
+     * Gets the number of entries in the targets and weights, which counts
+     * an undirected edge twice.
+     *
+     * @return the number of targets
+     */
+    public int edgeCount() {
+        return targets.limit();
+    }
+
+    /**
+     * Gets the dense index of a vertex.
+     *
+     * @param vertex the vertex to look up
+     * @return the index of the vertex, or -1 if it is not in this graph
+     */
+    public int indexOf(Vertex<T> vertex) {
+        return vertices.indexOf(vertex);
+    }
+
+    /**
+     * Gets the vertex with the given dense index, decoding it from the file.
+     *
+     * @param index the index of the vertex
+     * @return the vertex
+     * @throws IndexOutOfBoundsException if there is no vertex with the index
+     */
+    public Vertex<T> getVertex(int index) {
+        if (index < 0 || index >= vertexCount()) {
+            throw new IndexOutOfBoundsException("No vertex with index " + index + ".");
+        }
+        return vertices.get(index);
+    }
+
+    /**
+     * Gets the offsets. The buffer is a read only view of the mapping, not
+     * a copy, and its position is its own.
+     *
+     * @return the offsets, vertexCount() + 1 of them
+     */
+    public IntBuffer getOffsets() {
+        return offsets.duplicate();
+    }
+
+    /**
+     * Gets the targets. The buffer is a read only view of the mapping, not
+     * a copy, and its position is its own.
+     *
+     * @return the targets, edgeCount() of them
+     */
+    public IntBuffer getTargets() {
+        return targets.duplicate();
+    }
+
+    /**
+     * Gets the weights. The buffer is a read only view of the mapping, not
+     * a copy, and its position is its own.
+     *
+     * @return the weights, edgeCount() of them
+     */
+    public IntBuffer getWeights() {
+        return weights.duplicate();
+    }
+
+    /**
+     * Gets whether or not the edges of this graph are directed.
+     *
+     * @return true if this graph is directed, false otherwise
+     */
+    public boolean isDirected() {
+        return directed;
+    }
+
+    /**
+     * Copies the whole of a buffer into a new array.
+     *
+     * @param buffer the buffer to copy
+     * @return the array
+     */
+    private static int[] copy(IntBuffer buffer) {
+        int[] values = new int[buffer.limit()];
+        IntBuffer source = buffer.duplicate();
+        source.rewind();
+        source.get(values);
+        return values;
+    }
+}
@@ -0,0 +1,223 @@
+import java.util.*;
+
+/**
+ * Implementation of HashMap that deletes by backward shifting instead of
+ * leaving removed entries behind.
+ *
+ * Removing an entry empties its slot and then walks the rest of the probe
+ * chain, moving each entry back into the hole as long as that does not move
+ * it in front of its home slot. No slot is ever marked as removed, so probe
+ * chains only ever contain live entries and stay as short as the load factor
+ * allows, however many puts and removes the map has seen.
+ */
+public class BackwardShiftHashMap<K, V> implements HashMapInterface<K, V> {
+
+    private MapEntry<K, V>[] table;
+    private int size;
+
+    /**
+     * Create a hash map with no entries. The backing array has an initial
+     * capacity of {@code INITIAL_CAPACITY}.
+     */
+    public BackwardShiftHashMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Create a hash map with no entries. The backing array has an initial
+     * capacity of {@code initialCapacity}.
+     *
+     * @param initialCapacity initial capacity of the backing array
+     */
+    public BackwardShiftHashMap(int initialCapacity) {
+        table = (MapEntry<K, V>[]) new MapEntry[initialCapacity];
+    }
+
+    @Override
+    public V put(K key, V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("Cannot put null key or value.");
+        }
+
+        if (table.length * MAX_LOAD_FACTOR <= size + 1) {
+            resizeBackingTable(table.length * 2 + 1);
+        }
+
+        int probe = home(key, table.length);
+        while (table[probe] != null && !table[probe].getKey().equals(key)) {
+            probe = (probe + 1) % table.length;
+        }
+
+        if (table[probe] != null) {
+            V temp = table[probe].getValue();
+            table[probe].setValue(value);
+            return temp;
+        }
+
+        table[probe] = new MapEntry<>(key, value);
+        size++;
+        return null;
+    }
+
+    @Override
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Cannot remove null key.");
+        }
+
+        int hole = find(key);
+        if (hole == -1) {
+            throw new NoSuchElementException("Key does not exist in map.");
+        }
+        V ret = table[hole].getValue();
+
+        int probe = (hole + 1) % table.length,
+            i = 1;
+        while (i < table.length && table[probe] != null) {
+            int home = home(table[probe].getKey(), table.length);
+            if ((probe - home + table.length) % table.length
+                    >= (probe - hole + table.length) % table.length) {
+                table[hole] = table[probe];
+                hole = probe;
+            }
+            probe = (probe + 1) % table.length;
+            i++;
+        }
+        table[hole] = null;
+
+        size--;
+        return ret;
+    }
+
+    @Override
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Cannot get null key.");
+        }
+
+        int probe = find(key);
+        if (probe == -1) {
+            throw new NoSuchElementException("Key does not exist in map.");
+        }
+
+        return table[probe].getValue();
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Cannot find null key.");
+        }
+
+        return find(key) != -1;
+    }
+
+    @Override
+    public void clear() {
+        table = (MapEntry<K, V>[]) new MapEntry[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<K> keySet() {
+        Set<K> set = new HashSet<>();
+
+        for (MapEntry<K, V> entry : table) {
+            if (entry != null) {
+                set.add(entry.getKey());
+            }
+        }
+        return set;
+    }
+
+    @Override
+    public List<V> values() {
+        List<V> list = new ArrayList<>();
+
+        for (MapEntry<K, V> entry : table) {
+            if (entry != null) {
+                list.add(entry.getValue());
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public void resizeBackingTable(int length) {
+        if (length <= 0 || length < size) {
+            throw new IllegalArgumentException("Cannot resize backing array to less than the current size.");
+        }
+        MapEntry<K, V>[] temp = (MapEntry<K, V>[]) new MapEntry[length];
+
+        for (MapEntry<K, V> entry : table) {
+            if (entry != null) {
+                int probe = home(entry.getKey(), length);
+                while (temp[probe] != null) {
+                    probe = (probe + 1) % length;
+                }
+                temp[probe] = entry;
+            }
+        }
+
+        table = temp;
+    }
+
+    @Override
+    public int[] probeLengthHistogram() {
+        int[] lengths = new int[table.length];
+        int max = 0;
+        for (int i = 0; i < table.length; i++) {
+            if (table[i] != null) {
+                int length = (i - home(table[i].getKey(), table.length) + table.length) % table.length;
+                lengths[length]++;
+                max = Math.max(max, length);
+            }
+        }
+        return Arrays.copyOf(lengths, max + 1);
+    }
+
+    @Override
+    public int[] missProbeLengthHistogram() {
+        return HashMap.missProbeLengths(table.length, i -> table[i] != null);
+    }
+
+    @Override
+    public MapEntry<K, V>[] getTable() {
+        return table;
+    }
+
+    /**
+     * Finds the slot holding the given key.
+     *
+     * @param key the key to search for
+     * @return the index of the key, or -1 if it is not in the map
+     */
+    private int find(K key) {
+        int probe = home(key, table.length),
+            i = 0;
+        while (i < table.length && table[probe] != null) {
+            if (table[probe].getKey().equals(key)) {
+                return probe;
+            }
+            probe = (probe + 1) % table.length;
+            i++;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the home slot of the key in a table of the given length.
+     *
+     * @param key the key to hash
+     * @param length the length of the table
+     * @return the home slot of the key
+     */
+    private static int home(Object key, int length) {
+        return Math.abs(key.hashCode() % length);
+    }
+}
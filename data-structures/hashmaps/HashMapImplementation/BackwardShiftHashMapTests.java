@@ -0,0 +1,147 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class BackwardShiftHashMapTests {
+    private static final int TIMEOUT = 200;
+    private static final int LENGTH = HashMapInterface.INITIAL_CAPACITY;
+
+    private BackwardShiftHashMap<Integer, String> map;
+
+    @Before
+    public void setup() {
+        map = new BackwardShiftHashMap<>();
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testRemoveShiftsChainBack() {
+        map.put(1, "a");
+        map.put(1 + LENGTH, "b");
+        map.put(1 + 2 * LENGTH, "c");
+        map.put(2, "d");
+
+        /*
+         * Before: [_, 1, 14, 27, 2, _, ...]
+         * After removing 1, 14 and 27 move back to their home chain and 2
+         * moves back to its home slot.
+         */
+        assertEquals("a", map.remove(1));
+        MapEntry<Integer, String>[] table = map.getTable();
+        assertEquals(Integer.valueOf(1 + LENGTH), table[1].getKey());
+        assertEquals(Integer.valueOf(1 + 2 * LENGTH), table[2].getKey());
+        assertEquals(Integer.valueOf(2), table[3].getKey());
+        assertNull("The end of the chain should be emptied", table[4]);
+        assertEquals(3, map.size());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testRemoveDoesNotMoveEntryBeforeHome() {
+        map.put(1, "a");
+        map.put(2, "b");
+        map.put(3, "c");
+
+        assertEquals("a", map.remove(1));
+        MapEntry<Integer, String>[] table = map.getTable();
+        assertNull(table[1]);
+        assertEquals(Integer.valueOf(2), table[2].getKey());
+        assertEquals(Integer.valueOf(3), table[3].getKey());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testRemoveWrapsAround() {
+        map.put(LENGTH - 1, "a");
+        map.put(2 * LENGTH - 1, "b");
+        map.put(0, "c");
+
+        assertEquals("a", map.remove(LENGTH - 1));
+        MapEntry<Integer, String>[] table = map.getTable();
+        assertEquals(Integer.valueOf(2 * LENGTH - 1), table[LENGTH - 1].getKey());
+        assertEquals(Integer.valueOf(0), table[0].getKey());
+        assertTrue(map.containsKey(0));
+        assertTrue(map.containsKey(2 * LENGTH - 1));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testPutGetReplace() {
+        assertNull(map.put(5, "five"));
+        assertEquals("five", map.put(5, "FIVE"));
+        assertEquals("FIVE", map.get(5));
+        assertEquals(1, map.size());
+    }
+
+    @Test(timeout = TIMEOUT, expected = NoSuchElementException.class)
+    public void testRemoveMissing() {
+        map.put(5, "five");
+        map.remove(5);
+        map.remove(5);
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testPutNullKey() {
+        map.put(null, "null");
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testChurnMatchesFreshTable() {
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 0; i < 500; i++) {
+            map.put(i * 7, "v");
+            expected.add(i * 7);
+        }
+        for (int i = 0; i < 5000; i++) {
+            map.remove(i * 7);
+            expected.remove(i * 7);
+            map.put((i + 500) * 7, "v");
+            expected.add((i + 500) * 7);
+        }
+
+        assertEquals(expected, map.keySet());
+        for (MapEntry<Integer, String> entry : map.getTable()) {
+            assertFalse(entry != null && entry.isRemoved());
+        }
+        for (int key : expected) {
+            assertEquals("v", map.get(key));
+        }
+
+        /*
+         * With linear probing, which slots are occupied does not depend on
+         * insertion order, so after any amount of churn the probe lengths
+         * must match a table freshly built from the surviving keys.
+         */
+        BackwardShiftHashMap<Integer, String> fresh = new BackwardShiftHashMap<>(map.getTable().length);
+        for (int key : expected) {
+            fresh.put(key, "v");
+        }
+        assertArrayEquals(fresh.missProbeLengthHistogram(), map.missProbeLengthHistogram());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testProbeLengthHistogram() {
+        map.put(1, "a");
+        map.put(1 + LENGTH, "b");
+        map.put(1 + 2 * LENGTH, "c");
+        map.put(5, "d");
+
+        int[] histogram = map.probeLengthHistogram();
+        assertEquals(3, histogram.length);
+        assertEquals(2, histogram[0]);
+        assertEquals(1, histogram[1]);
+        assertEquals(1, histogram[2]);
+
+        int[] misses = map.missProbeLengthHistogram();
+        assertEquals(4, misses.length);
+        assertEquals(LENGTH - 4, misses[0]);
+        assertEquals(2, misses[1]);
+        assertEquals(1, misses[2]);
+        assertEquals(1, misses[3]);
+    }
+}
@@ -0,0 +1,418 @@
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Implementation of a thread-safe HashMap.
+ *
+ * The map is split into a power of two number of segments, each an
+ * independent linear probing table guarded by its own lock. Writers only lock
+ * the segment their key hashes to, so writers to different segments never
+ * wait on each other. Readers take no lock at all: slots are read through an
+ * {@link AtomicReferenceArray} and entries are never modified once they are
+ * in a table, so a reader sees either the old or the new entry in a slot.
+ * Updates and removals swap in a fresh entry, removals leave a removed entry
+ * behind just like HashMap, and a segment that runs out of room rehashes
+ * into a new table and publishes it in one write. Only writers to that one
+ * segment wait for the rehash; readers carry on against the old table.
+ *
+ * Size, keySet and values are not atomic snapshots when other threads are
+ * writing; they reflect each segment as it was when it was visited.
+ */
+public class ConcurrentHashMap<K, V> implements HashMapInterface<K, V> {
+
+    /**
+     * The default number of segments.
+     */
+    public static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+    private final Segment<K, V>[] segments;
+    private final int segmentShift;
+
+    /**
+     * Create a hash map with no entries, {@code DEFAULT_CONCURRENCY_LEVEL}
+     * segments, and a total initial capacity of {@code INITIAL_CAPACITY} per
+     * segment.
+     */
+    public ConcurrentHashMap() {
+        this(INITIAL_CAPACITY * DEFAULT_CONCURRENCY_LEVEL, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Create a hash map with no entries.
+     *
+     * @param initialCapacity total initial capacity across all segments
+     * @param concurrencyLevel the expected number of concurrent writers,
+     * rounded up to a power of two to give the number of segments
+     * @throws IllegalArgumentException if either argument is not positive
+     */
+    public ConcurrentHashMap(int initialCapacity, int concurrencyLevel) {
+        if (initialCapacity <= 0 || concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("Capacity and concurrency level must be positive.");
+        }
+        int count = Integer.highestOneBit(Math.min(concurrencyLevel, 1 << 16) * 2 - 1);
+        segmentShift = 32 - Integer.numberOfTrailingZeros(count);
+        segments = (Segment<K, V>[]) new Segment[count];
+        int perSegment = Math.max(INITIAL_CAPACITY, (initialCapacity + count - 1) / count);
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment<>(perSegment);
+        }
+    }
+
+    @Override
+    public V put(K key, V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("Cannot put null key or value.");
+        }
+        return segmentFor(key).put(key, value);
+    }
+
+    @Override
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Cannot remove null key.");
+        }
+        V ret = segmentFor(key).remove(key);
+        if (ret == null) {
+            throw new NoSuchElementException("Key does not exist in map.");
+        }
+        return ret;
+    }
+
+    @Override
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Cannot get null key.");
+        }
+        V ret = segmentFor(key).get(key);
+        if (ret == null) {
+            throw new NoSuchElementException("Key does not exist in map.");
+        }
+        return ret;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Cannot find null key.");
+        }
+        return segmentFor(key).get(key) != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Each segment is cleared in turn, so a put racing with clear may
+     * survive it.
+     */
+    @Override
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            size += segment.count;
+        }
+        return size;
+    }
+
+    @Override
+    public Set<K> keySet() {
+        Set<K> set = new HashSet<>();
+        for (Segment<K, V> segment : segments) {
+            AtomicReferenceArray<MapEntry<K, V>> table = segment.table;
+            for (int i = 0; i < table.length(); i++) {
+                MapEntry<K, V> entry = table.get(i);
+                if (entry != null && !entry.isRemoved()) {
+                    set.add(entry.getKey());
+                }
+            }
+        }
+        return set;
+    }
+
+    @Override
+    public List<V> values() {
+        List<V> list = new ArrayList<>();
+        for (Segment<K, V> segment : segments) {
+            AtomicReferenceArray<MapEntry<K, V>> table = segment.table;
+            for (int i = 0; i < table.length(); i++) {
+                MapEntry<K, V> entry = table.get(i);
+                if (entry != null && !entry.isRemoved()) {
+                    list.add(entry.getValue());
+                }
+            }
+        }
+        return list;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The length is split evenly between the segments, each of which is
+     * resized under its own lock.
+     */
+    @Override
+    public void resizeBackingTable(int length) {
+        if (length <= 0 || length < size()) {
+            throw new IllegalArgumentException("Cannot resize backing array to less than the current size.");
+        }
+        int perSegment = (length + segments.length - 1) / segments.length;
+        for (Segment<K, V> segment : segments) {
+            segment.lock();
+            try {
+                segment.rehash(Math.max(perSegment, segment.count + 1));
+            } finally {
+                segment.unlock();
+            }
+        }
+    }
+
+    @Override
+    public int[] probeLengthHistogram() {
+        int[] lengths = new int[0];
+        for (Segment<K, V> segment : segments) {
+            AtomicReferenceArray<MapEntry<K, V>> table = segment.table;
+            for (int i = 0; i < table.length(); i++) {
+                MapEntry<K, V> entry = table.get(i);
+                if (entry != null && !entry.isRemoved()) {
+                    int length = (i - home(entry.getKey(), table.length()) + table.length()) % table.length();
+                    if (length >= lengths.length) {
+                        lengths = Arrays.copyOf(lengths, length + 1);
+                    }
+                    lengths[length]++;
+                }
+            }
+        }
+        return lengths;
+    }
+
+    @Override
+    public int[] missProbeLengthHistogram() {
+        int[] lengths = new int[1];
+        for (Segment<K, V> segment : segments) {
+            AtomicReferenceArray<MapEntry<K, V>> table = segment.table;
+            for (int start = 0; start < table.length(); start++) {
+                int length = 0;
+                while (length < table.length() && table.get((start + length) % table.length()) != null) {
+                    length++;
+                }
+                if (length >= lengths.length) {
+                    lengths = Arrays.copyOf(lengths, length + 1);
+                }
+                lengths[length]++;
+            }
+        }
+        return lengths;
+    }
+
+    /**
+     * For testing purposes only.
+     *
+     * @return a copy of every segment's backing array, one after the other.
+     */
+    @Override
+    public MapEntry<K, V>[] getTable() {
+        List<MapEntry<K, V>> slots = new ArrayList<>();
+        for (Segment<K, V> segment : segments) {
+            AtomicReferenceArray<MapEntry<K, V>> table = segment.table;
+            for (int i = 0; i < table.length(); i++) {
+                slots.add(table.get(i));
+            }
+        }
+        return slots.toArray((MapEntry<K, V>[]) new MapEntry[0]);
+    }
+
+    /**
+     * Picks the segment for a key from the top bits of its scrambled hash
+     * code, leaving the low bits to pick the slot within the segment.
+     *
+     * @param key the key to look up
+     * @return the segment responsible for the key
+     */
+    private Segment<K, V> segmentFor(Object key) {
+        if (segments.length == 1) {
+            return segments[0];
+        }
+        return segments[(key.hashCode() * 0x9E3779B9) >>> segmentShift];
+    }
+
+    /**
+     * Returns the home slot of the key in a table of the given length.
+     *
+     * @param key the key to hash
+     * @param length the length of the table
+     * @return the home slot of the key
+     */
+    private static int home(Object key, int length) {
+        return Math.abs(key.hashCode() % length);
+    }
+
+    /**
+     * One independently locked linear probing table.
+     */
+    private static final class Segment<K, V> extends ReentrantLock {
+        private static final long serialVersionUID = 1L;
+
+        private volatile AtomicReferenceArray<MapEntry<K, V>> table;
+        private volatile int count;
+        private int removed;
+
+        /**
+         * Creates an empty segment.
+         *
+         * @param capacity the initial length of the segment's table
+         */
+        Segment(int capacity) {
+            table = new AtomicReferenceArray<>(capacity);
+        }
+
+        /**
+         * Looks up a key without locking.
+         *
+         * @param key the key to search for
+         * @return the value, or null if the key is not in the segment
+         */
+        V get(Object key) {
+            AtomicReferenceArray<MapEntry<K, V>> tab = table;
+            int length = tab.length(),
+                probe = home(key, length);
+            for (int i = 0; i < length; i++) {
+                MapEntry<K, V> entry = tab.get(probe);
+                if (entry == null) {
+                    return null;
+                } else if (!entry.isRemoved() && entry.getKey().equals(key)) {
+                    return entry.getValue();
+                }
+                probe = (probe + 1) % length;
+            }
+            return null;
+        }
+
+        /**
+         * Adds or replaces a key.
+         *
+         * @param key the key to add
+         * @param value the value to add
+         * @return the previous value, or null if the key was not present
+         */
+        V put(K key, V value) {
+            lock();
+            try {
+                AtomicReferenceArray<MapEntry<K, V>> tab = table;
+                double threshold = tab.length() * MAX_LOAD_FACTOR;
+                if (threshold <= count + 1) {
+                    tab = rehash(tab.length() * 2 + 1);
+                } else if (threshold <= count + removed + 1) {
+                    // See HashMap.put.
+                    tab = rehash(threshold <= 2 * (count + 1) ? tab.length() * 2 + 1 : tab.length());
+                }
+
+                int length = tab.length(),
+                    probe = home(key, length),
+                    firstRemoved = -1;
+                for (int i = 0; i < length; i++) {
+                    MapEntry<K, V> entry = tab.get(probe);
+                    if (entry == null) {
+                        break;
+                    } else if (entry.isRemoved()) {
+                        if (firstRemoved == -1) {
+                            firstRemoved = probe;
+                        }
+                    } else if (entry.getKey().equals(key)) {
+                        tab.set(probe, new MapEntry<>(key, value));
+                        return entry.getValue();
+                    }
+                    probe = (probe + 1) % length;
+                }
+
+                if (firstRemoved != -1) {
+                    probe = firstRemoved;
+                    removed--;
+                }
+                tab.set(probe, new MapEntry<>(key, value));
+                count++;
+                return null;
+            } finally {
+                unlock();
+            }
+        }
+
+        /**
+         * Removes a key, leaving a removed entry in its slot.
+         *
+         * @param key the key to remove
+         * @return the removed value, or null if the key was not present
+         */
+        V remove(Object key) {
+            lock();
+            try {
+                AtomicReferenceArray<MapEntry<K, V>> tab = table;
+                int length = tab.length(),
+                    probe = home(key, length);
+                for (int i = 0; i < length; i++) {
+                    MapEntry<K, V> entry = tab.get(probe);
+                    if (entry == null) {
+                        return null;
+                    } else if (!entry.isRemoved() && entry.getKey().equals(key)) {
+                        MapEntry<K, V> marker = new MapEntry<>(entry.getKey(), entry.getValue());
+                        marker.setRemoved(true);
+                        tab.set(probe, marker);
+                        removed++;
+                        count--;
+                        return entry.getValue();
+                    }
+                    probe = (probe + 1) % length;
+                }
+                return null;
+            } finally {
+                unlock();
+            }
+        }
+
+        /**
+         * Empties the segment and resets its table to the default length.
+         */
+        void clear() {
+            lock();
+            try {
+                table = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+                count = 0;
+                removed = 0;
+            } finally {
+                unlock();
+            }
+        }
+
+        /**
+         * Copies the live entries into a new table and publishes it. The old
+         * table is never written again, so readers still using it see a
+         * consistent if slightly stale segment. Must hold the lock.
+         *
+         * @param length the length of the new table
+         * @return the new table
+         */
+        AtomicReferenceArray<MapEntry<K, V>> rehash(int length) {
+            AtomicReferenceArray<MapEntry<K, V>> old = table;
+            AtomicReferenceArray<MapEntry<K, V>> tab = new AtomicReferenceArray<>(length);
+            for (int i = 0; i < old.length(); i++) {
+                MapEntry<K, V> entry = old.get(i);
+                if (entry != null && !entry.isRemoved()) {
+                    int probe = home(entry.getKey(), length);
+                    while (tab.get(probe) != null) {
+                        probe = (probe + 1) % length;
+                    }
+                    tab.set(probe, entry);
+                }
+            }
+            removed = 0;
+            table = tab;
+            return tab;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ConcurrentHashMapTests {
+    private static final int TIMEOUT = 200;
+    private static final int THREADS = 4;
+    private static final int KEYS_PER_THREAD = 2000;
+
+    private ConcurrentHashMap<Integer, String> map;
+
+    @Before
+    public void setup() {
+        map = new ConcurrentHashMap<>();
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testPutGetReplaceRemove() {
+        assertNull(map.put(5, "five"));
+        assertNull(map.put(18, "eighteen"));
+        assertEquals("five", map.put(5, "FIVE"));
+        assertEquals("FIVE", map.get(5));
+        assertEquals(2, map.size());
+
+        assertEquals("FIVE", map.remove(5));
+        assertFalse(map.containsKey(5));
+        assertTrue(map.containsKey(18));
+        assertEquals(1, map.size());
+    }
+
+    @Test(timeout = TIMEOUT, expected = NoSuchElementException.class)
+    public void testGetMissing() {
+        map.put(5, "five");
+        map.remove(5);
+        map.get(5);
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testPutNullValue() {
+        map.put(5, null);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testGrowAndClear() {
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, Integer.toString(i));
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            map.remove(i);
+        }
+        assertEquals(500, map.size());
+        assertEquals(500, map.keySet().size());
+        assertEquals(500, map.values().size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i % 2 == 1, map.containsKey(i));
+        }
+
+        map.resizeBackingTable(4000);
+        assertTrue(map.getTable().length >= 4000);
+        assertEquals("999", map.get(999));
+
+        map.clear();
+        assertEquals(0, map.size());
+        assertFalse(map.containsKey(999));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testConcurrentWritersOnDisjointKeys() throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int offset = t * KEYS_PER_THREAD;
+            threads.add(new Thread(() -> {
+                for (int i = offset; i < offset + KEYS_PER_THREAD; i++) {
+                    map.put(i, Integer.toString(i));
+                }
+                for (int i = offset; i < offset + KEYS_PER_THREAD; i += 2) {
+                    map.remove(i);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(THREADS * KEYS_PER_THREAD / 2, map.size());
+        for (int i = 0; i < THREADS * KEYS_PER_THREAD; i++) {
+            if (i % 2 == 1) {
+                assertEquals(Integer.toString(i), map.get(i));
+            } else {
+                assertFalse(map.containsKey(i));
+            }
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testReadersNeverMissStableKeysDuringResize() throws InterruptedException {
+        for (int i = 0; i < KEYS_PER_THREAD; i++) {
+            map.put(-1 - i, "stable");
+        }
+
+        AtomicBoolean failed = new AtomicBoolean();
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < THREADS * KEYS_PER_THREAD; i++) {
+                map.put(i, "new");
+            }
+        });
+        Thread reader = new Thread(() -> {
+            while (writer.isAlive()) {
+                for (int i = 0; i < KEYS_PER_THREAD; i += 7) {
+                    if (!map.containsKey(-1 - i)) {
+                        failed.set(true);
+                    }
+                }
+            }
+        });
+        writer.start();
+        reader.start();
+        writer.join();
+        reader.join();
+
+        assertFalse("A reader missed a key that was never removed", failed.get());
+        assertEquals((THREADS + 1) * KEYS_PER_THREAD, map.size());
+    }
+}
@@ -0,0 +1,406 @@
+import java.util.*;
+
+/**
+ * Implementation of HashMap with a flat, Swiss table style layout.
+ *
+ * Keys and values are stored inline in two parallel arrays rather than in a
+ * MapEntry per slot, and every slot has a control byte saying whether it is
+ * empty, deleted, or full. A full slot's control byte also holds seven bits
+ * of its key's hash. The control bytes are packed eight to a long, so a
+ * probe reads a whole group of eight slots at once and uses bit tricks to
+ * find the slots whose hash bits match before comparing a single key. Most
+ * probes touch one long and then one key.
+ *
+ * The table length is a power of two and hash codes are mixed with
+ * {@link PowerOfTwoHashMap#mix(int)}. The top bits pick the home group and
+ * the low seven bits go in the control byte. Probing moves one group at a
+ * time, and a lookup stops at the first group with an empty slot.
+ *
+ * The length stops doubling at {@code MAXIMUM_CAPACITY}, 2^30. Past that the
+ * table fills beyond the load factor, deleted slots are only rehashed away
+ * when no empty slot would be left, and put throws an IllegalStateException
+ * rather than fill the last one.
+ */
+public class FlatHashMap<K, V> implements HashMapInterface<K, V> {
+
+    private static final int GROUP_WIDTH = 8;
+    private static final byte EMPTY = (byte) 0x80;
+    private static final byte DELETED = (byte) 0xFE;
+    private static final long ALL_EMPTY = 0x8080808080808080L;
+    private static final long LOW_BITS = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private long[] control;
+    private Object[] keys;
+    private Object[] values;
+    private int size;
+    private int deleted;
+
+    /**
+     * Create a hash map with no entries. The backing arrays have an initial
+     * capacity of {@code INITIAL_CAPACITY} rounded up to a whole number of
+     * groups.
+     */
+    public FlatHashMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Create a hash map with no entries. The backing arrays have an initial
+     * capacity of {@code initialCapacity} rounded up to a power of two of at
+     * least eight.
+     *
+     * @param initialCapacity initial capacity of the backing arrays
+     * @throws IllegalArgumentException if initialCapacity is not positive or
+     * more than 2^30
+     */
+    public FlatHashMap(int initialCapacity) {
+        allocate(capacity(initialCapacity));
+    }
+
+    @Override
+    public V put(K key, V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("Cannot put null key or value.");
+        }
+
+        int slot = find(key);
+        if (slot != -1) {
+            V temp = (V) values[slot];
+            values[slot] = value;
+            return temp;
+        }
+
+        if (keys.length < MAXIMUM_CAPACITY) {
+            if (keys.length * MAX_LOAD_FACTOR <= size + 1) {
+                resizeBackingTable(keys.length * 2);
+            } else if (keys.length * MAX_LOAD_FACTOR <= size + deleted + 1) {
+                resizeBackingTable(keys.length * MAX_LOAD_FACTOR <= 2 * (size + 1) ? keys.length * 2 : keys.length);
+            }
+        } else if (size + deleted + 1 >= keys.length) {
+            if (size + 1 >= keys.length) {
+                throw new IllegalStateException("Hash map is at its maximum capacity.");
+            }
+            resizeBackingTable(keys.length);
+        }
+
+        int hash = PowerOfTwoHashMap.mix(key.hashCode());
+        slot = insertionSlot(hash);
+        if (controlByte(slot) == DELETED) {
+            deleted--;
+        }
+        setControlByte(slot, (byte) (hash & 0x7F));
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        return null;
+    }
+
+    @Override
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Cannot remove null key.");
+        }
+
+        int slot = find(key);
+        if (slot == -1) {
+            throw new NoSuchElementException("Key does not exist in map.");
+        }
+        V ret = (V) values[slot];
+
+        // Probes stop at a group with an empty slot, so if this group has one
+        // no probe passes through it and the slot can simply become empty.
+        if (matchEmpty(control[slot / GROUP_WIDTH]) != 0) {
+            setControlByte(slot, EMPTY);
+        } else {
+            setControlByte(slot, DELETED);
+            deleted++;
+        }
+        keys[slot] = null;
+        values[slot] = null;
+
+        size--;
+        return ret;
+    }
+
+    @Override
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Cannot get null key.");
+        }
+
+        int slot = find(key);
+        if (slot == -1) {
+            throw new NoSuchElementException("Key does not exist in map.");
+        }
+
+        return (V) values[slot];
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Cannot find null key.");
+        }
+
+        return find(key) != -1;
+    }
+
+    @Override
+    public void clear() {
+        allocate(capacity(INITIAL_CAPACITY));
+        size = 0;
+        deleted = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<K> keySet() {
+        Set<K> set = new HashSet<>();
+
+        for (int i = 0; i < keys.length; i++) {
+            if (controlByte(i) >= 0) {
+                set.add((K) keys[i]);
+            }
+        }
+        return set;
+    }
+
+    @Override
+    public List<V> values() {
+        List<V> list = new ArrayList<>();
+
+        for (int i = 0; i < keys.length; i++) {
+            if (controlByte(i) >= 0) {
+                list.add((V) values[i]);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The length is rounded up to a power of two of at least eight, which
+     * must be greater than the number of items.
+     */
+    @Override
+    public void resizeBackingTable(int length) {
+        if (length <= size) {
+            throw new IllegalArgumentException("Cannot resize backing array to less than the current size.");
+        }
+        long[] oldControl = control;
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity(length));
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if ((byte) (oldControl[i / GROUP_WIDTH] >>> (i % GROUP_WIDTH * 8)) >= 0) {
+                int hash = PowerOfTwoHashMap.mix(oldKeys[i].hashCode()),
+                    slot = insertionSlot(hash);
+                setControlByte(slot, (byte) (hash & 0x7F));
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+        deleted = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Probing moves a group at a time, so lengths count the groups passed
+     * before reaching the key's group rather than slots.
+     */
+    @Override
+    public int[] probeLengthHistogram() {
+        int groupMask = control.length - 1;
+        int[] lengths = new int[control.length];
+        int max = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (controlByte(i) >= 0) {
+                int home = homeGroup(PowerOfTwoHashMap.mix(keys[i].hashCode()), groupMask);
+                int length = (i / GROUP_WIDTH - home) & groupMask;
+                lengths[length]++;
+                max = Math.max(max, length);
+            }
+        }
+        return Arrays.copyOf(lengths, max + 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Lengths count the full groups a miss passes before reaching a group
+     * with an empty slot, and there is one count per home group rather than
+     * per slot.
+     */
+    @Override
+    public int[] missProbeLengthHistogram() {
+        int[] lengths = new int[control.length + 1];
+        int max = 0;
+        for (int home = 0; home < control.length; home++) {
+            int length = 0;
+            while (length < control.length && matchEmpty(control[(home + length) % control.length]) == 0) {
+                length++;
+            }
+            lengths[length]++;
+            max = Math.max(max, length);
+        }
+        return Arrays.copyOf(lengths, max + 1);
+    }
+
+    /**
+     * For testing purposes only.
+     *
+     * @return a copy of the table as entries, with null for empty and
+     * deleted slots.
+     */
+    @Override
+    public MapEntry<K, V>[] getTable() {
+        MapEntry<K, V>[] table = (MapEntry<K, V>[]) new MapEntry[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            if (controlByte(i) >= 0) {
+                table[i] = new MapEntry<>((K) keys[i], (V) values[i]);
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Finds the slot holding the given key.
+     *
+     * @param key the key to search for
+     * @return the index of the key, or -1 if it is not in the map
+     */
+    private int find(Object key) {
+        int hash = PowerOfTwoHashMap.mix(key.hashCode()),
+            groupMask = control.length - 1,
+            group = homeGroup(hash, groupMask);
+        long pattern = LOW_BITS * (hash & 0x7F);
+        for (int i = 0; i < control.length; i++) {
+            long bytes = control[group];
+            for (long match = matchByte(bytes, pattern); match != 0; match &= match - 1) {
+                int offset = Long.numberOfTrailingZeros(match) >>> 3;
+                int slot = group * GROUP_WIDTH + offset;
+                if ((byte) (bytes >>> (offset * 8)) == (byte) (hash & 0x7F) && keys[slot].equals(key)) {
+                    return slot;
+                }
+            }
+            if (matchEmpty(bytes) != 0) {
+                return -1;
+            }
+            group = (group + 1) & groupMask;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the first empty or deleted slot along a hash's probe sequence.
+     * The table always has an empty slot, so there is always one.
+     *
+     * @param hash the mixed hash code of the key being inserted
+     * @return the slot to insert into
+     */
+    private int insertionSlot(int hash) {
+        int groupMask = control.length - 1,
+            group = homeGroup(hash, groupMask);
+        long free;
+        while ((free = control[group] & HIGH_BITS) == 0) {
+            group = (group + 1) & groupMask;
+        }
+        return group * GROUP_WIDTH + (Long.numberOfTrailingZeros(free) >>> 3);
+    }
+
+    /**
+     * Returns the high bit of every byte of the group equal to the pattern's
+     * bytes. A byte just above a real match can also be flagged, so matches
+     * must be checked.
+     *
+     * @param bytes the group's control bytes
+     * @param pattern the byte to look for, repeated eight times
+     * @return a mask with the high bit of each candidate byte set
+     */
+    private static long matchByte(long bytes, long pattern) {
+        long x = bytes ^ pattern;
+        return (x - LOW_BITS) & ~x & HIGH_BITS;
+    }
+
+    /**
+     * Returns the high bit of every empty byte of the group. Empty is the
+     * only control byte with the high bit set and the second lowest bit
+     * clear.
+     *
+     * @param bytes the group's control bytes
+     * @return a mask with the high bit of each empty byte set
+     */
+    private static long matchEmpty(long bytes) {
+        return bytes & ~(bytes << 6) & HIGH_BITS;
+    }
+
+    /**
+     * Returns the group a hash starts probing at, taken from the bits above
+     * the seven kept in the control byte.
+     *
+     * @param hash the mixed hash code
+     * @param groupMask the number of groups minus one
+     * @return the home group
+     */
+    private static int homeGroup(int hash, int groupMask) {
+        return (hash >>> 7) & groupMask;
+    }
+
+    /**
+     * Returns the control byte of a slot.
+     *
+     * @param slot the slot index
+     * @return the slot's control byte; negative unless the slot is full
+     */
+    private byte controlByte(int slot) {
+        return (byte) (control[slot / GROUP_WIDTH] >>> (slot % GROUP_WIDTH * 8));
+    }
+
+    /**
+     * Sets the control byte of a slot.
+     *
+     * @param slot the slot index
+     * @param value the new control byte
+     */
+    private void setControlByte(int slot, byte value) {
+        int shift = slot % GROUP_WIDTH * 8;
+        int group = slot / GROUP_WIDTH;
+        control[group] = (control[group] & ~(0xFFL << shift)) | ((value & 0xFFL) << shift);
+    }
+
+    /**
+     * Replaces the backing arrays with empty ones.
+     *
+     * @param length the number of slots, a power of two of at least eight
+     */
+    private void allocate(int length) {
+        control = new long[length / GROUP_WIDTH];
+        Arrays.fill(control, ALL_EMPTY);
+        keys = new Object[length];
+        values = new Object[length];
+    }
+
+    /**
+     * Rounds a capacity up to a power of two of at least one group.
+     *
+     * @param capacity the requested capacity
+     * @return the number of slots to allocate
+     * @throws IllegalArgumentException if capacity is not positive or more
+     * than 2^30
+     */
+    private static int capacity(int capacity) {
+        if (capacity <= 0 || capacity > MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30.");
+        }
+        return Math.max(GROUP_WIDTH, Integer.highestOneBit(capacity - 1) << 1);
+    }
+}
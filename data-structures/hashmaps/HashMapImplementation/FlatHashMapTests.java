@@ -0,0 +1,121 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class FlatHashMapTests {
+    private static final int TIMEOUT = 200;
+
+    private FlatHashMap<Integer, String> map;
+
+    @Before
+    public void setup() {
+        map = new FlatHashMap<>();
+    }
+
+    /**
+     * A key whose hash codes all collide, so every instance lands in the
+     * same group with the same control byte.
+     */
+    private static class Collider {
+        private final int id;
+
+        Collider(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Collider && ((Collider) other).id == id;
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testPutGetReplaceRemove() {
+        assertNull(map.put(5, "five"));
+        assertNull(map.put(21, "twenty-one"));
+        assertEquals("five", map.put(5, "FIVE"));
+        assertEquals("FIVE", map.get(5));
+        assertEquals(2, map.size());
+
+        assertEquals("FIVE", map.remove(5));
+        assertFalse(map.containsKey(5));
+        assertEquals("twenty-one", map.get(21));
+        assertEquals(1, map.size());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testCapacityRoundsToGroups() {
+        assertEquals(16, map.getTable().length);
+        assertEquals(8, new FlatHashMap<Integer, String>(1).getTable().length);
+        map.resizeBackingTable(100);
+        assertEquals(128, map.getTable().length);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testCollisionsSpillIntoNextGroup() {
+        FlatHashMap<Collider, Integer> colliders = new FlatHashMap<>(64);
+        for (int i = 0; i < 20; i++) {
+            colliders.put(new Collider(i), i);
+        }
+        for (int i = 0; i < 20; i++) {
+            assertEquals(Integer.valueOf(i), colliders.get(new Collider(i)));
+        }
+        assertEquals(3, colliders.probeLengthHistogram().length);
+
+        for (int i = 0; i < 20; i += 2) {
+            colliders.remove(new Collider(i));
+        }
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i % 2 == 1, colliders.containsKey(new Collider(i)));
+        }
+        assertNull(colliders.put(new Collider(100), 100));
+        assertEquals(11, colliders.size());
+    }
+
+    @Test(timeout = TIMEOUT, expected = NoSuchElementException.class)
+    public void testGetMissing() {
+        map.put(5, "five");
+        map.get(6);
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testPutNullKey() {
+        map.put(null, "null");
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testMatchesJavaHashMap() {
+        java.util.HashMap<Integer, String> expected = new java.util.HashMap<>();
+        Random random = new Random(17);
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(2000) << 8;
+            String value = Integer.toString(i);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.containsKey(key), map.containsKey(key));
+                if (expected.containsKey(key)) {
+                    assertEquals(expected.remove(key), map.remove(key));
+                }
+            } else {
+                assertEquals(expected.put(key, value), map.put(key, value));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected.keySet(), map.keySet());
+        assertEquals(expected.size(), map.values().size());
+        map.clear();
+        assertTrue(map.keySet().isEmpty());
+    }
+}
@@ -1,4 +1,8 @@
 import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
 
 /**
  * Implementation of HashMap.
@@ -7,6 +11,8 @@ public class HashMap<K, V> implements HashMapInterface<K, V> {
 
     private MapEntry<K, V>[] table;
     private int size;
+    private int removed;
+    private int modCount;
 
     /**
      * Create a hash map with no entries. The backing array has an initial
@@ -40,6 +46,12 @@ public class HashMap<K, V> implements HashMapInterface<K, V> {
 
         if (table.length * MAX_LOAD_FACTOR <= size + 1) {
             resizeBackingTable(table.length * 2 + 1);
+        } else if (table.length * MAX_LOAD_FACTOR <= size + removed + 1) {
+            // Removed entries would leave no empty slot to end a probe on, so
+            // rehash them away. Grow as well if they were hiding a table that
+            // is more than half full, so this cannot repeat on every put.
+            resizeBackingTable(table.length * MAX_LOAD_FACTOR <= 2 * (size + 1)
+                    ? table.length * 2 + 1 : table.length);
         }
 
         int probe = Math.abs(key.hashCode()) % table.length,
@@ -51,6 +63,7 @@ public class HashMap<K, V> implements HashMapInterface<K, V> {
                 firstRemoved = probe;
             }
             probe = (probe + 1) % table.length;
+            i++;
         }
 
         if (table[probe] != null && table[probe].getKey().equals(key) && !table[probe].isRemoved()) {
@@ -59,11 +72,17 @@ public class HashMap<K, V> implements HashMapInterface<K, V> {
             return temp;
         } else if (firstRemoved != -1) {
             table[firstRemoved] = new MapEntry<>(key, value);
+            removed--;
             size++;
+            modCount++;
             return null;
         } else {
+            if (table[probe] != null) {
+                removed--;
+            }
             table[probe] = new MapEntry<>(key, value);
             size++;
+            modCount++;
             return null;
         }
     }
@@ -87,7 +106,9 @@ public class HashMap<K, V> implements HashMapInterface<K, V> {
 
         table[probe].setRemoved(true);
 
+        removed++;
         size--;
+        modCount++;
 
         return table[probe].getValue();
     }
@@ -132,6 +153,8 @@ public class HashMap<K, V> implements HashMapInterface<K, V> {
     public void clear() {
         table = (MapEntry<K, V>[]) new MapEntry[INITIAL_CAPACITY];
         size = 0;
+        removed = 0;
+        modCount++;
     }
 
     @Override
@@ -181,11 +204,277 @@ public class HashMap<K, V> implements HashMapInterface<K, V> {
         }
 
         table = temp;
+        removed = 0;
+        modCount++;
     }
     
+    @Override
+    public int[] probeLengthHistogram() {
+        int[] lengths = new int[table.length];
+        int max = 0;
+        for (int i = 0; i < table.length; i++) {
+            if (table[i] != null && !table[i].isRemoved()) {
+                int home = Math.abs(table[i].getKey().hashCode()) % table.length;
+                int length = (i - home + table.length) % table.length;
+                lengths[length]++;
+                max = Math.max(max, length);
+            }
+        }
+        return Arrays.copyOf(lengths, max + 1);
+    }
+
+    @Override
+    public int[] missProbeLengthHistogram() {
+        return missProbeLengths(table.length, i -> table[i] != null);
+    }
+
+    /**
+     * Builds the miss probe length histogram of a linear probing table. A
+     * miss from a home slot examines the run of occupied slots starting
+     * there, so walking backwards once from an empty slot gives the length
+     * of every home slot's run. The maps that probe linearly share this.
+     *
+     * @param length the length of the table
+     * @param occupied whether the slot at an index holds an entry, live or
+     *                 removed
+     * @return histogram of unsuccessful probe lengths
+     */
+    static int[] missProbeLengths(int length, IntPredicate occupied) {
+        int[] lengths = new int[length + 1];
+        int empty = 0;
+        while (empty < length && occupied.test(empty)) {
+            empty++;
+        }
+        if (empty == length) {
+            lengths[length] = length;
+            return lengths;
+        }
+
+        int max = 0;
+        for (int i = 0, run = 0, probe = empty; i < length; i++) {
+            run = occupied.test(probe) ? run + 1 : 0;
+            lengths[run]++;
+            max = Math.max(max, run);
+            probe = (probe - 1 + length) % length;
+        }
+        return Arrays.copyOf(lengths, max + 1);
+    }
+
     @Override
     public MapEntry<K, V>[] getTable() {
         return table;
     }
 
+    /**
+     * Returns an iterator over the keys that reads the backing table
+     * directly instead of copying the keys into a set like keySet does.
+     *
+     * The iterator's remove removes the last key returned. Any other change
+     * to the map's keys while the iterator is in use makes it throw
+     * ConcurrentModificationException.
+     *
+     * @return an iterator over the keys in table order
+     */
+    public Iterator<K> keyIterator() {
+        return new TableIterator<>(MapEntry::getKey);
+    }
+
+    /**
+     * Returns an iterator over the values that reads the backing table
+     * directly instead of copying the values into a list like values does.
+     *
+     * @return an iterator over the values in table order
+     * @see #keyIterator()
+     */
+    public Iterator<V> valueIterator() {
+        return new TableIterator<>(MapEntry::getValue);
+    }
+
+    /**
+     * Passes every key and value to the action, in table order, without
+     * allocating anything.
+     *
+     * @param action the action to perform on each mapping
+     * @throws IllegalArgumentException if action is null
+     * @throws ConcurrentModificationException if the action adds or removes
+     * keys
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (action == null) {
+            throw new IllegalArgumentException("Cannot perform null action.");
+        }
+
+        int expectedModCount = modCount;
+        for (MapEntry<K, V> entry : table) {
+            if (entry != null && !entry.isRemoved()) {
+                action.accept(entry.getKey(), entry.getValue());
+            }
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Returns a spliterator over the keys. It splits by halving its range of
+     * the backing table, so {@code StreamSupport.stream(keySpliterator(),
+     * true)} scans the table in parallel.
+     *
+     * @return a spliterator over the keys
+     */
+    public Spliterator<K> keySpliterator() {
+        return new TableSpliterator<>(MapEntry::getKey, table, 0, table.length,
+                Spliterator.DISTINCT, modCount);
+    }
+
+    /**
+     * Returns a spliterator over the values that splits like keySpliterator.
+     *
+     * @return a spliterator over the values
+     * @see #keySpliterator()
+     */
+    public Spliterator<V> valueSpliterator() {
+        return new TableSpliterator<>(MapEntry::getValue, table, 0, table.length, 0, modCount);
+    }
+
+    /**
+     * Iterates over one part of every live entry in the backing table.
+     */
+    private class TableIterator<T> implements Iterator<T> {
+        private final Function<MapEntry<K, V>, T> part;
+        private final MapEntry<K, V>[] entries = table;
+        private int next;
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        /**
+         * Creates an iterator over the current backing table.
+         *
+         * @param part the part of each entry to return
+         */
+        TableIterator(Function<MapEntry<K, V>, T> part) {
+            this.part = part;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next < entries.length && (entries[next] == null || entries[next].isRemoved())) {
+                next++;
+            }
+            return next < entries.length;
+        }
+
+        @Override
+        public T next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            } else if (!hasNext()) {
+                throw new NoSuchElementException("No more entries.");
+            }
+            last = next++;
+            return part.apply(entries[last]);
+        }
+
+        @Override
+        public void remove() {
+            if (last == -1) {
+                throw new IllegalStateException("Nothing to remove.");
+            } else if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            entries[last].setRemoved(true);
+            removed++;
+            size--;
+            expectedModCount = ++modCount;
+            last = -1;
+        }
+    }
+
+    /**
+     * Splits a range of the backing table and traverses one part of every
+     * live entry in it.
+     */
+    private class TableSpliterator<T> implements Spliterator<T> {
+        private final Function<MapEntry<K, V>, T> part;
+        private final MapEntry<K, V>[] entries;
+        private final int characteristics;
+        private final int expectedModCount;
+        private int index;
+        private int fence;
+
+        /**
+         * Creates a spliterator over the slots from index up to fence.
+         *
+         * @param part the part of each entry to return
+         * @param entries the backing table
+         * @param index the first slot to traverse
+         * @param fence one past the last slot to traverse
+         * @param characteristics characteristics besides NONNULL
+         * @param expectedModCount the map's modCount when traversal started
+         */
+        TableSpliterator(Function<MapEntry<K, V>, T> part, MapEntry<K, V>[] entries, int index, int fence,
+                         int characteristics, int expectedModCount) {
+            this.part = part;
+            this.entries = entries;
+            this.index = index;
+            this.fence = fence;
+            this.characteristics = characteristics;
+            this.expectedModCount = expectedModCount;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            while (index < fence) {
+                MapEntry<K, V> entry = entries[index++];
+                if (entry != null && !entry.isRemoved()) {
+                    action.accept(part.apply(entry));
+                    if (modCount != expectedModCount) {
+                        throw new ConcurrentModificationException();
+                    }
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            for (; index < fence; index++) {
+                MapEntry<K, V> entry = entries[index];
+                if (entry != null && !entry.isRemoved()) {
+                    action.accept(part.apply(entry));
+                }
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int mid = (index + fence) >>> 1;
+            if (mid <= index) {
+                return null;
+            }
+            Spliterator<T> prefix = new TableSpliterator<>(part, entries, index, mid,
+                    characteristics, expectedModCount);
+            index = mid;
+            return prefix;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * The estimate assumes the entries are spread evenly over the table.
+         */
+        @Override
+        public long estimateSize() {
+            return entries.length == 0 ? 0 : (long) size * (fence - index) / entries.length;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.NONNULL | characteristics;
+        }
+    }
 }
@@ -112,6 +112,24 @@ public interface HashMapInterface<K, V> {
      */
     void resizeBackingTable(int length);
 
+    /**
+     * Returns a histogram of how far each entry sits from its home slot.
+     * Index k holds the number of entries that a successful get finds after
+     * probing k slots past the home slot.
+     *
+     * @return histogram of successful probe lengths
+     */
+    int[] probeLengthHistogram();
+
+    /**
+     * Returns a histogram of the cost of looking up a missing key. Index k
+     * holds the number of home slots from which a get for a missing key
+     * examines k non-empty slots (live or removed) before giving up.
+     *
+     * @return histogram of unsuccessful probe lengths
+     */
+    int[] missProbeLengthHistogram();
+
     /**
      * For testing purposes only.
      *
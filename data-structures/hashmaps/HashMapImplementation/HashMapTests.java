@@ -4,9 +4,12 @@ import org.junit.Test;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.stream.StreamSupport;
 
 import static junit.framework.TestCase.assertEquals;
 import static org.junit.Assert.*;
@@ -1068,6 +1071,101 @@ public class HashMapTests {
         assertEquals("Size is incorrect", newSet.size(), testMap.size());
     }
 
+    // churn compacts removed entries
+    @Test(timeout = TIMEOUT)
+    public void churnCompactsRemovedEntries() {
+        for (int i = 0; i < 100; i++) {
+            hashMap.put(new MyInteger(i), "v");
+        }
+        int length = hashMap.getTable().length;
+        for (int i = 0; i < 10000; i++) {
+            hashMap.remove(new MyInteger(i));
+            hashMap.put(new MyInteger(i + 100), "v");
+        }
+
+        assertEquals("Size is incorrect", 100, hashMap.size());
+        assertTrue("Churn at a fixed size should grow the table at most once",
+                hashMap.getTable().length <= length * 2 + 1);
+        length = hashMap.getTable().length;
+        int occupied = 0;
+        for (MapEntry<MyInteger, String> entry : hashMap.getTable()) {
+            if (entry != null) {
+                occupied++;
+            }
+        }
+        assertTrue("Removed entries should be compacted before they fill the table",
+                occupied < length * HashMapInterface.MAX_LOAD_FACTOR);
+        assertFalse(hashMap.containsKey(new MyInteger(-1)));
+        for (int i = 10000; i < 10100; i++) {
+            assertEquals("v", hashMap.get(new MyInteger(i)));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void keyIteratorSkipsRemovedEntriesAndRemoves() {
+        for (int i = 0; i < 10; i++) {
+            hashMap.put(new MyInteger(i), "v" + i);
+        }
+        hashMap.remove(new MyInteger(3));
+
+        Set<MyInteger> keys = new HashSet<>();
+        Iterator<MyInteger> iterator = hashMap.keyIterator();
+        while (iterator.hasNext()) {
+            MyInteger key = iterator.next();
+            keys.add(key);
+            if (key.equals(new MyInteger(5))) {
+                iterator.remove();
+            }
+        }
+        assertEquals("Iterator should match keySet", 9, keys.size());
+        assertFalse(keys.contains(new MyInteger(3)));
+        assertEquals("Size is incorrect", 8, hashMap.size());
+        assertFalse(hashMap.containsKey(new MyInteger(5)));
+
+        int values = 0;
+        for (Iterator<String> it = hashMap.valueIterator(); it.hasNext(); it.next()) {
+            values++;
+        }
+        assertEquals(8, values);
+    }
+
+    @Test(timeout = TIMEOUT, expected = ConcurrentModificationException.class)
+    public void keyIteratorFailsFastOnPut() {
+        hashMap.put(new MyInteger(1), "v");
+        hashMap.put(new MyInteger(2), "v");
+        Iterator<MyInteger> iterator = hashMap.keyIterator();
+        iterator.next();
+        hashMap.put(new MyInteger(3), "v");
+        iterator.next();
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void forEachVisitsEveryMapping() {
+        for (int i = 0; i < 100; i++) {
+            hashMap.put(new MyInteger(i), Integer.toString(i));
+        }
+        int[] count = new int[1];
+        hashMap.forEach((key, value) -> {
+            assertEquals(key.integer.toString(), value);
+            count[0]++;
+        });
+        assertEquals(100, count[0]);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void spliteratorsSplitAcrossTable() {
+        for (int i = 0; i < 1000; i++) {
+            hashMap.put(new MyInteger(i), Integer.toString(i));
+        }
+        hashMap.remove(new MyInteger(0));
+
+        long sum = StreamSupport.stream(hashMap.keySpliterator(), true)
+                .mapToLong(key -> key.integer).sum();
+        assertEquals(999 * 1000 / 2, sum);
+        assertEquals(999, StreamSupport.stream(hashMap.valueSpliterator(), true).count());
+        assertTrue(hashMap.keySpliterator().trySplit() != null);
+    }
+
     //supplementary private classes
 
     /**
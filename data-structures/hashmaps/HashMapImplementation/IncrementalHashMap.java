@@ -0,0 +1,362 @@
+import java.util.*;
+
+/**
+ * Implementation of HashMap that resizes incrementally.
+ *
+ * When a put crosses the load factor the map allocates the larger table but
+ * keeps the old one, and from then on every operation moves the entries of
+ * the next {@code MIGRATION_STEP} old slots across. New keys always go into
+ * the new table and lookups check both, so no single operation pays for
+ * rehashing the whole map. The old table is dropped once its last slot has
+ * been moved, well before the new table can fill up.
+ */
+public class IncrementalHashMap<K, V> implements HashMapInterface<K, V> {
+
+    /**
+     * The number of old table slots each operation migrates while a resize
+     * is in progress.
+     */
+    public static final int MIGRATION_STEP = 4;
+
+    /**
+     * Left in an old table slot once its entry has moved to the new table,
+     * so that probes for the keys after it still carry on past the slot.
+     */
+    private static final MapEntry<Object, Object> MOVED = new MapEntry<>(null, null);
+
+    static {
+        MOVED.setRemoved(true);
+    }
+
+    private MapEntry<K, V>[] table;
+    private MapEntry<K, V>[] oldTable;
+    private int migrated;
+    private int size;
+    private int removed;
+
+    /**
+     * Create a hash map with no entries. The backing array has an initial
+     * capacity of {@code INITIAL_CAPACITY}.
+     */
+    public IncrementalHashMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Create a hash map with no entries. The backing array has an initial
+     * capacity of {@code initialCapacity}.
+     *
+     * @param initialCapacity initial capacity of the backing array
+     */
+    public IncrementalHashMap(int initialCapacity) {
+        table = (MapEntry<K, V>[]) new MapEntry[initialCapacity];
+    }
+
+    @Override
+    public V put(K key, V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("Cannot put null key or value.");
+        }
+        migrate(MIGRATION_STEP);
+
+        if (table.length * MAX_LOAD_FACTOR <= size + 1) {
+            startResize(table.length * 2 + 1);
+        } else if (table.length * MAX_LOAD_FACTOR <= size + removed + 1) {
+            // See HashMap.put.
+            startResize(table.length * MAX_LOAD_FACTOR <= 2 * (size + 1)
+                    ? table.length * 2 + 1 : table.length);
+        }
+
+        int probe = find(table, key);
+        if (probe != -1) {
+            V temp = table[probe].getValue();
+            table[probe].setValue(value);
+            return temp;
+        }
+        if (oldTable != null) {
+            probe = find(oldTable, key);
+            if (probe != -1) {
+                V temp = oldTable[probe].getValue();
+                oldTable[probe].setValue(value);
+                return temp;
+            }
+        }
+
+        place(new MapEntry<>(key, value));
+        size++;
+        return null;
+    }
+
+    @Override
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Cannot remove null key.");
+        }
+        migrate(MIGRATION_STEP);
+
+        int probe = find(table, key);
+        if (probe != -1) {
+            table[probe].setRemoved(true);
+            removed++;
+            size--;
+            return table[probe].getValue();
+        }
+        if (oldTable != null) {
+            probe = find(oldTable, key);
+            if (probe != -1) {
+                oldTable[probe].setRemoved(true);
+                size--;
+                return oldTable[probe].getValue();
+            }
+        }
+        throw new NoSuchElementException("Key does not exist in map.");
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Lookups also migrate old slots, so a resize finishes even if the map
+     * is only read from.
+     */
+    @Override
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Cannot get null key.");
+        }
+        MapEntry<K, V> entry = lookup(key);
+        if (entry == null) {
+            throw new NoSuchElementException("Key does not exist in map.");
+        }
+        return entry.getValue();
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Cannot find null key.");
+        }
+        return lookup(key) != null;
+    }
+
+    @Override
+    public void clear() {
+        table = (MapEntry<K, V>[]) new MapEntry[INITIAL_CAPACITY];
+        oldTable = null;
+        migrated = 0;
+        size = 0;
+        removed = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<K> keySet() {
+        Set<K> set = new HashSet<>();
+        for (MapEntry<K, V>[] t : tables()) {
+            for (MapEntry<K, V> entry : t) {
+                if (entry != null && !entry.isRemoved()) {
+                    set.add(entry.getKey());
+                }
+            }
+        }
+        return set;
+    }
+
+    @Override
+    public List<V> values() {
+        List<V> list = new ArrayList<>();
+        for (MapEntry<K, V>[] t : tables()) {
+            for (MapEntry<K, V> entry : t) {
+                if (entry != null && !entry.isRemoved()) {
+                    list.add(entry.getValue());
+                }
+            }
+        }
+        return list;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * An explicit resize finishes any resize in progress and then rehashes
+     * everything at once.
+     */
+    @Override
+    public void resizeBackingTable(int length) {
+        if (length <= 0 || length < size) {
+            throw new IllegalArgumentException("Cannot resize backing array to less than the current size.");
+        }
+        startResize(length);
+        migrate(oldTable.length);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * While a resize is in progress, entries still in the old table are
+     * counted by their displacement in the old table.
+     */
+    @Override
+    public int[] probeLengthHistogram() {
+        int[] lengths = new int[0];
+        for (MapEntry<K, V>[] t : tables()) {
+            for (int i = 0; i < t.length; i++) {
+                if (t[i] != null && !t[i].isRemoved()) {
+                    int length = (i - home(t[i].getKey(), t.length) + t.length) % t.length;
+                    if (length >= lengths.length) {
+                        lengths = Arrays.copyOf(lengths, length + 1);
+                    }
+                    lengths[length]++;
+                }
+            }
+        }
+        return lengths;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Only the current table is counted. While a resize is in progress a
+     * miss also probes the old table.
+     */
+    @Override
+    public int[] missProbeLengthHistogram() {
+        return HashMap.missProbeLengths(table.length, i -> table[i] != null);
+    }
+
+    @Override
+    public MapEntry<K, V>[] getTable() {
+        return table;
+    }
+
+    /**
+     * For testing purposes only.
+     *
+     * @return the table being migrated from, or null if no resize is in
+     * progress.
+     */
+    public MapEntry<K, V>[] getOldTable() {
+        return oldTable;
+    }
+
+    /**
+     * Migrates a step and then looks the key up in both tables.
+     *
+     * @param key the key to search for
+     * @return the entry for the key, or null if it is not in the map
+     */
+    private MapEntry<K, V> lookup(K key) {
+        migrate(MIGRATION_STEP);
+        int probe = find(table, key);
+        if (probe != -1) {
+            return table[probe];
+        }
+        if (oldTable != null) {
+            probe = find(oldTable, key);
+            if (probe != -1) {
+                return oldTable[probe];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Makes the current table the old one and starts migrating into a new
+     * table of the given length. Any resize already in progress is finished
+     * first.
+     *
+     * @param length the length of the new table
+     */
+    private void startResize(int length) {
+        if (oldTable != null) {
+            migrate(oldTable.length);
+        }
+        oldTable = table;
+        table = (MapEntry<K, V>[]) new MapEntry[length];
+        migrated = 0;
+        removed = 0;
+    }
+
+    /**
+     * Moves the live entries of the next old table slots into the new table,
+     * dropping the old table once every slot has been moved.
+     *
+     * @param slots the number of old table slots to migrate
+     */
+    private void migrate(int slots) {
+        if (oldTable == null) {
+            return;
+        }
+        for (int end = Math.min(oldTable.length, migrated + slots); migrated < end; migrated++) {
+            MapEntry<K, V> entry = oldTable[migrated];
+            if (entry != null && !entry.isRemoved()) {
+                place(entry);
+                oldTable[migrated] = (MapEntry<K, V>) (MapEntry<?, ?>) MOVED;
+            }
+        }
+        if (migrated == oldTable.length) {
+            oldTable = null;
+        }
+    }
+
+    /**
+     * Puts an entry whose key is not in the current table into the first
+     * empty or removed slot of its probe chain.
+     *
+     * @param entry the entry to place
+     */
+    private void place(MapEntry<K, V> entry) {
+        int probe = home(entry.getKey(), table.length);
+        while (table[probe] != null && !table[probe].isRemoved()) {
+            probe = (probe + 1) % table.length;
+        }
+        if (table[probe] != null) {
+            removed--;
+        }
+        table[probe] = entry;
+    }
+
+    /**
+     * Finds the slot holding the given key in one of the tables.
+     *
+     * @param t the table to search
+     * @param key the key to search for
+     * @return the index of the key, or -1 if it is not in the table
+     */
+    private static <K, V> int find(MapEntry<K, V>[] t, K key) {
+        int probe = home(key, t.length),
+            i = 0;
+        while (i < t.length && t[probe] != null) {
+            if (!t[probe].isRemoved() && t[probe].getKey().equals(key)) {
+                return probe;
+            }
+            probe = (probe + 1) % t.length;
+            i++;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the tables that may hold entries, the current one first.
+     *
+     * @return the current table, and the old table if a resize is in
+     * progress
+     */
+    private List<MapEntry<K, V>[]> tables() {
+        return oldTable == null ? Collections.singletonList(table) : Arrays.asList(table, oldTable);
+    }
+
+    /**
+     * Returns the home slot of the key in a table of the given length.
+     *
+     * @param key the key to hash
+     * @param length the length of the table
+     * @return the home slot of the key
+     */
+    private static int home(Object key, int length) {
+        return Math.abs(key.hashCode() % length);
+    }
+}
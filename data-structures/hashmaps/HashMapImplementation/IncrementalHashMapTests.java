@@ -0,0 +1,122 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class IncrementalHashMapTests {
+    private static final int TIMEOUT = 200;
+    private static final int LENGTH = HashMapInterface.INITIAL_CAPACITY;
+
+    private IncrementalHashMap<Integer, String> map;
+
+    @Before
+    public void setup() {
+        map = new IncrementalHashMap<>();
+    }
+
+    /**
+     * Fills the map up to the put that crosses the load factor.
+     */
+    private void fillToResize() {
+        for (int i = 0; i < 9; i++) {
+            map.put(i, Integer.toString(i));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testResizeKeepsBothTables() {
+        fillToResize();
+
+        assertNotNull("The put crossing the load factor should not rehash everything",
+                map.getOldTable());
+        assertEquals(LENGTH, map.getOldTable().length);
+        assertEquals(LENGTH * 2 + 1, map.getTable().length);
+        assertEquals(9, map.size());
+        assertEquals(9, map.keySet().size());
+        for (int i = 0; i < 9; i++) {
+            assertEquals(Integer.toString(i), map.get(i));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testMigrationIsBounded() {
+        fillToResize();
+
+        int operations = 0;
+        while (map.getOldTable() != null) {
+            map.containsKey(-1);
+            operations++;
+        }
+        assertEquals((LENGTH + IncrementalHashMap.MIGRATION_STEP - 1) / IncrementalHashMap.MIGRATION_STEP,
+                operations);
+        for (int i = 0; i < 9; i++) {
+            assertEquals(Integer.toString(i), map.get(i));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testUpdateAndRemoveDuringMigration() {
+        fillToResize();
+
+        assertEquals("8", map.put(8, "eight"));
+        assertEquals("7", map.remove(7));
+        assertNull(map.put(100, "hundred"));
+        assertEquals(9, map.size());
+        assertEquals("eight", map.get(8));
+        assertFalse(map.containsKey(7));
+
+        map.resizeBackingTable(100);
+        assertNull(map.getOldTable());
+        assertEquals(100, map.getTable().length);
+        assertEquals("eight", map.get(8));
+        assertEquals("hundred", map.get(100));
+        assertEquals(9, map.values().size());
+    }
+
+    @Test(timeout = TIMEOUT, expected = NoSuchElementException.class)
+    public void testRemoveMissingDuringMigration() {
+        fillToResize();
+        map.remove(7);
+        map.remove(7);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testMatchesJavaHashMap() {
+        java.util.HashMap<Integer, String> expected = new java.util.HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(2000);
+            String value = Integer.toString(i);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.containsKey(key), map.containsKey(key));
+                if (expected.containsKey(key)) {
+                    assertEquals(expected.remove(key), map.remove(key));
+                }
+            } else {
+                assertEquals(expected.put(key, value), map.put(key, value));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected.keySet(), map.keySet());
+        for (Integer key : expected.keySet()) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testClearDropsOldTable() {
+        fillToResize();
+        map.clear();
+        assertNull(map.getOldTable());
+        assertEquals(0, map.size());
+        assertTrue(map.keySet().isEmpty());
+    }
+}
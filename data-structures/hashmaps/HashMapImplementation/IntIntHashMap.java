@@ -0,0 +1,277 @@
+import java.util.NoSuchElementException;
+
+/**
+ * Implementation of a HashMap from int keys to int values.
+ *
+ * Keys and values are kept in parallel primitive arrays, so nothing is boxed
+ * and no entry objects are allocated. Otherwise it follows HashMap: linear
+ * probing, removed slots are marked rather than emptied, the table is
+ * regrown to 2 * length + 1 once it would exceed {@code MAX_LOAD_FACTOR},
+ * and it is rehashed once live and removed slots together would.
+ */
+public class IntIntHashMap {
+    private static final byte EMPTY = 0;
+    private static final byte OCCUPIED = 1;
+    private static final byte REMOVED = 2;
+
+    private int[] keys;
+    private int[] values;
+    private byte[] states;
+    private int size;
+    private int removed;
+
+    /**
+     * Create a hash map with no entries. The backing arrays have an initial
+     * capacity of {@code INITIAL_CAPACITY}.
+     */
+    public IntIntHashMap() {
+        this(HashMapInterface.INITIAL_CAPACITY);
+    }
+
+    /**
+     * Create a hash map with no entries. The backing arrays have an initial
+     * capacity of {@code initialCapacity}.
+     *
+     * @param initialCapacity initial capacity of the backing arrays
+     * @throws IllegalArgumentException if initialCapacity is not positive
+     */
+    public IntIntHashMap(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be positive.");
+        }
+        keys = new int[initialCapacity];
+        values = new int[initialCapacity];
+        states = new byte[initialCapacity];
+    }
+
+    /**
+     * Adds the given key-value pair to the map, replacing the value if the
+     * key is already present.
+     *
+     * @param key key to add into the map
+     * @param value value to add into the map
+     * @return the value previously associated with the key, or 0 if the key
+     * was not in the map
+     */
+    public int put(int key, int value) {
+        if (keys.length * HashMapInterface.MAX_LOAD_FACTOR <= size + 1) {
+            resizeBackingTable(keys.length * 2 + 1);
+        } else if (keys.length * HashMapInterface.MAX_LOAD_FACTOR <= size + removed + 1) {
+            // See HashMap.put.
+            resizeBackingTable(keys.length * HashMapInterface.MAX_LOAD_FACTOR <= 2 * (size + 1)
+                    ? keys.length * 2 + 1 : keys.length);
+        }
+
+        int probe = index(key, keys.length),
+            i = 0,
+            firstRemoved = -1;
+
+        while (i < keys.length && states[probe] != EMPTY
+                && (states[probe] == REMOVED || keys[probe] != key)) {
+            if (states[probe] == REMOVED && firstRemoved == -1) {
+                firstRemoved = probe;
+            }
+            probe = (probe + 1) % keys.length;
+            i++;
+        }
+
+        if (i < keys.length && states[probe] == OCCUPIED) {
+            int temp = values[probe];
+            values[probe] = value;
+            return temp;
+        }
+
+        int slot = probe;
+        if (firstRemoved != -1) {
+            slot = firstRemoved;
+            removed--;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        states[slot] = OCCUPIED;
+        size++;
+        return 0;
+    }
+
+    /**
+     * Removes the entry with a matching key from the map.
+     *
+     * @param key the key to remove
+     * @throws NoSuchElementException if the key does not exist
+     * @return the value previously associated with the key
+     */
+    public int remove(int key) {
+        int probe = find(key);
+        if (probe == -1) {
+            throw new NoSuchElementException("Key does not exist in map.");
+        }
+
+        states[probe] = REMOVED;
+        removed++;
+        size--;
+
+        return values[probe];
+    }
+
+    /**
+     * Gets the value associated with the given key.
+     *
+     * @param key the key to search for
+     * @throws NoSuchElementException if the key is not in the map
+     * @return the value associated with the given key
+     */
+    public int get(int key) {
+        int probe = find(key);
+        if (probe == -1) {
+            throw new NoSuchElementException("Key does not exist in map.");
+        }
+
+        return values[probe];
+    }
+
+    /**
+     * Gets the value associated with the given key, or {@code defaultValue}
+     * if the key is not in the map. Unlike get, a miss does not throw.
+     *
+     * @param key the key to search for
+     * @param defaultValue the value to return if the key is not in the map
+     * @return the value associated with the given key, or defaultValue
+     */
+    public int getOrDefault(int key, int defaultValue) {
+        int probe = find(key);
+        return probe == -1 ? defaultValue : values[probe];
+    }
+
+    /**
+     * Returns whether or not the key is in the map.
+     *
+     * @param key the key to search for
+     * @return whether or not the key is in the map
+     */
+    public boolean containsKey(int key) {
+        return find(key) != -1;
+    }
+
+    /**
+     * Clears the table and resets it to the default length.
+     */
+    public void clear() {
+        keys = new int[HashMapInterface.INITIAL_CAPACITY];
+        values = new int[HashMapInterface.INITIAL_CAPACITY];
+        states = new byte[HashMapInterface.INITIAL_CAPACITY];
+        size = 0;
+        removed = 0;
+    }
+
+    /**
+     * Returns the number of elements in the map.
+     *
+     * @return number of elements in the map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the keys contained in this map, in backing array order.
+     *
+     * @return array of keys in this map
+     */
+    public int[] keySet() {
+        int[] set = new int[size];
+        for (int i = 0, j = 0; i < keys.length; i++) {
+            if (states[i] == OCCUPIED) {
+                set[j++] = keys[i];
+            }
+        }
+        return set;
+    }
+
+    /**
+     * Returns the values contained in this map, in backing array order.
+     *
+     * @return array of values in this map
+     */
+    public int[] values() {
+        int[] list = new int[size];
+        for (int i = 0, j = 0; i < keys.length; i++) {
+            if (states[i] == OCCUPIED) {
+                list[j++] = values[i];
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Resize the backing arrays to {@code length}, dropping removed slots.
+     *
+     * @param length new length of the backing arrays
+     * @throws IllegalArgumentException if length is non-positive or less than
+     * the number of items in the map.
+     */
+    public void resizeBackingTable(int length) {
+        if (length <= 0 || length < size) {
+            throw new IllegalArgumentException("Cannot resize backing array to less than the current size.");
+        }
+        int[] newKeys = new int[length];
+        int[] newValues = new int[length];
+        byte[] newStates = new byte[length];
+
+        for (int i = 0; i < keys.length; i++) {
+            if (states[i] == OCCUPIED) {
+                int probe = index(keys[i], length);
+                while (newStates[probe] != EMPTY) {
+                    probe = (probe + 1) % length;
+                }
+                newKeys[probe] = keys[i];
+                newValues[probe] = values[i];
+                newStates[probe] = OCCUPIED;
+            }
+        }
+
+        keys = newKeys;
+        values = newValues;
+        states = newStates;
+        removed = 0;
+    }
+
+    /**
+     * For testing purposes only.
+     *
+     * @return the backing key array, not a copy.
+     */
+    public int[] getKeyTable() {
+        return keys;
+    }
+
+    /**
+     * Finds the slot holding the given key.
+     *
+     * @param key the key to search for
+     * @return the index of the key, or -1 if it is not in the map
+     */
+    private int find(int key) {
+        int probe = index(key, keys.length),
+            i = 0;
+        while (i < keys.length && states[probe] != EMPTY) {
+            if (states[probe] == OCCUPIED && keys[probe] == key) {
+                return probe;
+            }
+            probe = (probe + 1) % keys.length;
+            i++;
+        }
+        return -1;
+    }
+
+    /**
+     * Maps a key to its home slot the same way HashMap does with
+     * {@code Integer.hashCode}.
+     *
+     * @param key the key to hash
+     * @param length the length of the table
+     * @return the home slot of the key
+     */
+    private static int index(int key, int length) {
+        return Math.abs(key % length);
+    }
+}
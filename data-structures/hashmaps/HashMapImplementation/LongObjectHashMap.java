@@ -0,0 +1,274 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Implementation of a HashMap from long keys to object values.
+ *
+ * Keys are kept in a primitive array parallel to the values, so keys are
+ * never boxed and no entry objects are allocated. Otherwise it follows
+ * HashMap: linear probing, removed slots are marked rather than emptied, the
+ * table is regrown to 2 * length + 1 once it would exceed
+ * {@code MAX_LOAD_FACTOR}, and it is rehashed once live and removed slots
+ * together would.
+ */
+public class LongObjectHashMap<V> {
+    private static final byte EMPTY = 0;
+    private static final byte OCCUPIED = 1;
+    private static final byte REMOVED = 2;
+
+    private long[] keys;
+    private V[] values;
+    private byte[] states;
+    private int size;
+    private int removed;
+
+    /**
+     * Create a hash map with no entries. The backing arrays have an initial
+     * capacity of {@code INITIAL_CAPACITY}.
+     */
+    public LongObjectHashMap() {
+        this(HashMapInterface.INITIAL_CAPACITY);
+    }
+
+    /**
+     * Create a hash map with no entries. The backing arrays have an initial
+     * capacity of {@code initialCapacity}.
+     *
+     * @param initialCapacity initial capacity of the backing arrays
+     * @throws IllegalArgumentException if initialCapacity is not positive
+     */
+    public LongObjectHashMap(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be positive.");
+        }
+        keys = new long[initialCapacity];
+        values = (V[]) new Object[initialCapacity];
+        states = new byte[initialCapacity];
+    }
+
+    /**
+     * Adds the given key-value pair to the map, replacing the value if the
+     * key is already present.
+     *
+     * @param key key to add into the map
+     * @param value value to add into the map
+     * @throws IllegalArgumentException if value is null
+     * @return the value previously associated with the key, or null if the
+     * key was not in the map
+     */
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Cannot put null value.");
+        }
+
+        if (keys.length * HashMapInterface.MAX_LOAD_FACTOR <= size + 1) {
+            resizeBackingTable(keys.length * 2 + 1);
+        } else if (keys.length * HashMapInterface.MAX_LOAD_FACTOR <= size + removed + 1) {
+            // See HashMap.put.
+            resizeBackingTable(keys.length * HashMapInterface.MAX_LOAD_FACTOR <= 2 * (size + 1)
+                    ? keys.length * 2 + 1 : keys.length);
+        }
+
+        int probe = index(key, keys.length),
+            i = 0,
+            firstRemoved = -1;
+
+        while (i < keys.length && states[probe] != EMPTY
+                && (states[probe] == REMOVED || keys[probe] != key)) {
+            if (states[probe] == REMOVED && firstRemoved == -1) {
+                firstRemoved = probe;
+            }
+            probe = (probe + 1) % keys.length;
+            i++;
+        }
+
+        if (i < keys.length && states[probe] == OCCUPIED) {
+            V temp = values[probe];
+            values[probe] = value;
+            return temp;
+        }
+
+        int slot = probe;
+        if (firstRemoved != -1) {
+            slot = firstRemoved;
+            removed--;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        states[slot] = OCCUPIED;
+        size++;
+        return null;
+    }
+
+    /**
+     * Removes the entry with a matching key from the map.
+     *
+     * @param key the key to remove
+     * @throws NoSuchElementException if the key does not exist
+     * @return the value previously associated with the key
+     */
+    public V remove(long key) {
+        int probe = find(key);
+        if (probe == -1) {
+            throw new NoSuchElementException("Key does not exist in map.");
+        }
+
+        V ret = values[probe];
+        states[probe] = REMOVED;
+        values[probe] = null;
+        removed++;
+        size--;
+
+        return ret;
+    }
+
+    /**
+     * Gets the value associated with the given key.
+     *
+     * @param key the key to search for
+     * @throws NoSuchElementException if the key is not in the map
+     * @return the value associated with the given key
+     */
+    public V get(long key) {
+        int probe = find(key);
+        if (probe == -1) {
+            throw new NoSuchElementException("Key does not exist in map.");
+        }
+
+        return values[probe];
+    }
+
+    /**
+     * Returns whether or not the key is in the map.
+     *
+     * @param key the key to search for
+     * @return whether or not the key is in the map
+     */
+    public boolean containsKey(long key) {
+        return find(key) != -1;
+    }
+
+    /**
+     * Clears the table and resets it to the default length.
+     */
+    public void clear() {
+        keys = new long[HashMapInterface.INITIAL_CAPACITY];
+        values = (V[]) new Object[HashMapInterface.INITIAL_CAPACITY];
+        states = new byte[HashMapInterface.INITIAL_CAPACITY];
+        size = 0;
+        removed = 0;
+    }
+
+    /**
+     * Returns the number of elements in the map.
+     *
+     * @return number of elements in the map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the keys contained in this map, in backing array order.
+     *
+     * @return array of keys in this map
+     */
+    public long[] keySet() {
+        long[] set = new long[size];
+        for (int i = 0, j = 0; i < keys.length; i++) {
+            if (states[i] == OCCUPIED) {
+                set[j++] = keys[i];
+            }
+        }
+        return set;
+    }
+
+    /**
+     * Returns the values contained in this map, in backing array order.
+     *
+     * @return list of values in this map
+     */
+    public List<V> values() {
+        List<V> list = new ArrayList<>(size);
+        for (int i = 0; i < keys.length; i++) {
+            if (states[i] == OCCUPIED) {
+                list.add(values[i]);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Resize the backing arrays to {@code length}, dropping removed slots.
+     *
+     * @param length new length of the backing arrays
+     * @throws IllegalArgumentException if length is non-positive or less than
+     * the number of items in the map.
+     */
+    public void resizeBackingTable(int length) {
+        if (length <= 0 || length < size) {
+            throw new IllegalArgumentException("Cannot resize backing array to less than the current size.");
+        }
+        long[] newKeys = new long[length];
+        V[] newValues = (V[]) new Object[length];
+        byte[] newStates = new byte[length];
+
+        for (int i = 0; i < keys.length; i++) {
+            if (states[i] == OCCUPIED) {
+                int probe = index(keys[i], length);
+                while (newStates[probe] != EMPTY) {
+                    probe = (probe + 1) % length;
+                }
+                newKeys[probe] = keys[i];
+                newValues[probe] = values[i];
+                newStates[probe] = OCCUPIED;
+            }
+        }
+
+        keys = newKeys;
+        values = newValues;
+        states = newStates;
+        removed = 0;
+    }
+
+    /**
+     * For testing purposes only.
+     *
+     * @return the backing key array, not a copy.
+     */
+    public long[] getKeyTable() {
+        return keys;
+    }
+
+    /**
+     * Finds the slot holding the given key.
+     *
+     * @param key the key to search for
+     * @return the index of the key, or -1 if it is not in the map
+     */
+    private int find(long key) {
+        int probe = index(key, keys.length),
+            i = 0;
+        while (i < keys.length && states[probe] != EMPTY) {
+            if (states[probe] == OCCUPIED && keys[probe] == key) {
+                return probe;
+            }
+            probe = (probe + 1) % keys.length;
+            i++;
+        }
+        return -1;
+    }
+
+    /**
+     * Maps a key to its home slot the same way HashMap does with
+     * {@code Long.hashCode}.
+     *
+     * @param key the key to hash
+     * @param length the length of the table
+     * @return the home slot of the key
+     */
+    private static int index(long key, int length) {
+        return Math.abs(Long.hashCode(key) % length);
+    }
+}
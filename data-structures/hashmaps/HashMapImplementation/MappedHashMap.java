@@ -0,0 +1,514 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Implementation of HashMap that keeps its table in a memory-mapped file.
+ *
+ * Keys and values are written into the file with fixed-width serializers, so
+ * the entries take no space on the Java heap and are never traced by the
+ * garbage collector. The file starts with a small header holding the table's
+ * shape and size, followed by one slot per table index: a state byte, the
+ * key's hash, the key and the value. Opening an existing file only maps it,
+ * so a map of any size is ready to use straight away. The hash comes from
+ * the key serializer rather than hashCode, so a file written by one JVM
+ * finds its keys in another.
+ *
+ * The table uses linear probing with backward shift deletion, like
+ * BackwardShiftHashMap. Storing the hash in the slot lets resizing and
+ * deletion move slots without deserializing their keys.
+ *
+ * The file is mapped in chunks of at most 1GB, so the table can be larger
+ * than a single buffer can address. Writes reach the file when the operating
+ * system flushes the mapped pages, or on {@link #force()} and
+ * {@link #close()}.
+ */
+public class MappedHashMap<K, V> implements HashMapInterface<K, V>, AutoCloseable {
+
+    private static final int MAGIC = 0x484D4150;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int CHUNK_BYTES = 1 << 30;
+
+    private static final int MAGIC_INDEX = 0;
+    private static final int VERSION_INDEX = 4;
+    private static final int KEY_WIDTH_INDEX = 8;
+    private static final int VALUE_WIDTH_INDEX = 12;
+    private static final int CAPACITY_INDEX = 16;
+    private static final int SIZE_INDEX = 20;
+
+    private static final byte EMPTY = 0;
+    private static final byte OCCUPIED = 1;
+    private static final int HASH_OFFSET = 1;
+    private static final int KEY_OFFSET = 5;
+
+    private final Path path;
+    private final Serializer<K> keySerializer;
+    private final Serializer<V> valueSerializer;
+    private final int slotWidth;
+    private final int slotsPerChunk;
+
+    private FileChannel channel;
+    private MappedByteBuffer header;
+    private MappedByteBuffer[] chunks;
+    private int capacity;
+    private int size;
+
+    /**
+     * Opens the map stored in the given file, or creates an empty one with a
+     * capacity of {@code INITIAL_CAPACITY} if the file does not exist.
+     *
+     * @param path the file holding the map
+     * @param keySerializer the serializer for keys
+     * @param valueSerializer the serializer for values
+     * @throws IllegalArgumentException if the file is not a map written with
+     * serializers of the same widths
+     * @throws UncheckedIOException if the file cannot be opened or mapped
+     */
+    public MappedHashMap(Path path, Serializer<K> keySerializer, Serializer<V> valueSerializer) {
+        this(path, keySerializer, valueSerializer, INITIAL_CAPACITY);
+    }
+
+    /**
+     * Opens the map stored in the given file, or creates an empty one with a
+     * capacity of {@code initialCapacity} if the file does not exist.
+     *
+     * @param path the file holding the map
+     * @param keySerializer the serializer for keys
+     * @param valueSerializer the serializer for values
+     * @param initialCapacity the capacity of a newly created map
+     * @throws IllegalArgumentException if initialCapacity is not positive, or
+     * the file is not a map written with serializers of the same widths
+     * @throws UncheckedIOException if the file cannot be opened or mapped
+     */
+    public MappedHashMap(Path path, Serializer<K> keySerializer, Serializer<V> valueSerializer,
+                         int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be positive.");
+        }
+        this.path = path;
+        this.keySerializer = keySerializer;
+        this.valueSerializer = valueSerializer;
+        slotWidth = KEY_OFFSET + keySerializer.width() + valueSerializer.width();
+        slotsPerChunk = CHUNK_BYTES / slotWidth;
+
+        try {
+            if (!Files.exists(path) || Files.size(path) == 0) {
+                create(path, initialCapacity);
+            }
+            open();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public V put(K key, V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("Cannot put null key or value.");
+        }
+
+        if (capacity * MAX_LOAD_FACTOR <= size + 1) {
+            resizeBackingTable(capacity * 2 + 1);
+        }
+
+        int hash = keySerializer.hash(key),
+            probe = home(hash, capacity);
+        while (state(probe) != EMPTY) {
+            ByteBuffer chunk = chunk(probe);
+            int offset = offset(probe);
+            if (chunk.getInt(offset + HASH_OFFSET) == hash
+                    && keySerializer.read(chunk, offset + KEY_OFFSET).equals(key)) {
+                int valueOffset = offset + KEY_OFFSET + keySerializer.width();
+                V temp = valueSerializer.read(chunk, valueOffset);
+                valueSerializer.write(value, chunk, valueOffset);
+                return temp;
+            }
+            probe = (probe + 1) % capacity;
+        }
+
+        ByteBuffer chunk = chunk(probe);
+        int offset = offset(probe);
+        chunk.putInt(offset + HASH_OFFSET, hash);
+        keySerializer.write(key, chunk, offset + KEY_OFFSET);
+        valueSerializer.write(value, chunk, offset + KEY_OFFSET + keySerializer.width());
+        chunk.put(offset, OCCUPIED);
+        setSize(size + 1);
+        return null;
+    }
+
+    @Override
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Cannot remove null key.");
+        }
+
+        int hole = find(key);
+        if (hole == -1) {
+            throw new NoSuchElementException("Key does not exist in map.");
+        }
+        V ret = readValue(hole);
+
+        int probe = (hole + 1) % capacity;
+        while (state(probe) != EMPTY) {
+            int home = home(hash(probe), capacity);
+            if ((probe - home + capacity) % capacity >= (probe - hole + capacity) % capacity) {
+                copySlot(chunk(probe), offset(probe), chunk(hole), offset(hole));
+                hole = probe;
+            }
+            probe = (probe + 1) % capacity;
+        }
+        chunk(hole).put(offset(hole), EMPTY);
+
+        setSize(size - 1);
+        return ret;
+    }
+
+    @Override
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Cannot get null key.");
+        }
+
+        int probe = find(key);
+        if (probe == -1) {
+            throw new NoSuchElementException("Key does not exist in map.");
+        }
+
+        return readValue(probe);
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Cannot find null key.");
+        }
+
+        return find(key) != -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The file is recreated with a capacity of {@code INITIAL_CAPACITY}.
+     */
+    @Override
+    public void clear() {
+        try {
+            close();
+            create(path, INITIAL_CAPACITY);
+            open();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<K> keySet() {
+        Set<K> set = new HashSet<>();
+
+        for (int i = 0; i < capacity; i++) {
+            if (state(i) != EMPTY) {
+                set.add(keySerializer.read(chunk(i), offset(i) + KEY_OFFSET));
+            }
+        }
+        return set;
+    }
+
+    @Override
+    public List<V> values() {
+        List<V> list = new ArrayList<>();
+
+        for (int i = 0; i < capacity; i++) {
+            if (state(i) != EMPTY) {
+                list.add(readValue(i));
+            }
+        }
+        return list;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The resized table is written to a new file next to the map's file,
+     * which then replaces it. The table must keep at least one empty slot, so
+     * {@code length} must also be greater than the number of items.
+     */
+    @Override
+    public void resizeBackingTable(int length) {
+        if (length <= size) {
+            throw new IllegalArgumentException("Cannot resize backing array to less than the current size.");
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".resize");
+        try {
+            create(temp, length);
+            try (MappedHashMap<K, V> target = new MappedHashMap<>(temp, keySerializer, valueSerializer)) {
+                for (int i = 0; i < capacity; i++) {
+                    if (state(i) != EMPTY) {
+                        int probe = home(hash(i), length);
+                        while (target.state(probe) != EMPTY) {
+                            probe = (probe + 1) % length;
+                        }
+                        copySlot(chunk(i), offset(i), target.chunk(probe), target.offset(probe));
+                    }
+                }
+                target.setSize(size);
+            }
+            close();
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            open();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public int[] probeLengthHistogram() {
+        int[] lengths = new int[capacity];
+        int max = 0;
+        for (int i = 0; i < capacity; i++) {
+            if (state(i) != EMPTY) {
+                int length = (i - home(hash(i), capacity) + capacity) % capacity;
+                lengths[length]++;
+                max = Math.max(max, length);
+            }
+        }
+        return Arrays.copyOf(lengths, max + 1);
+    }
+
+    @Override
+    public int[] missProbeLengthHistogram() {
+        return HashMap.missProbeLengths(capacity, i -> state(i) != EMPTY);
+    }
+
+    /**
+     * For testing purposes only.
+     *
+     * @return a copy of the table read back from the file, with null for
+     * empty slots.
+     */
+    @Override
+    public MapEntry<K, V>[] getTable() {
+        MapEntry<K, V>[] table = (MapEntry<K, V>[]) new MapEntry[capacity];
+        for (int i = 0; i < capacity; i++) {
+            if (state(i) != EMPTY) {
+                table[i] = new MapEntry<>(keySerializer.read(chunk(i), offset(i) + KEY_OFFSET), readValue(i));
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Writes any changes still only in memory out to the file.
+     */
+    public void force() {
+        header.force();
+        for (MappedByteBuffer chunk : chunks) {
+            chunk.force();
+        }
+    }
+
+    /**
+     * Forces any changes out to the file and closes it. The map must not be
+     * used afterwards; reopen the file to keep using it.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    /**
+     * Writes the header of an empty map into a new or truncated file and
+     * extends the file to hold every slot. The slots are left as zeros,
+     * which is the empty state.
+     *
+     * @param file the file to write
+     * @param length the number of slots
+     * @throws IOException if the file cannot be written
+     */
+    private void create(Path file, int length) throws IOException {
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES);
+            buffer.putInt(MAGIC_INDEX, MAGIC);
+            buffer.putInt(VERSION_INDEX, VERSION);
+            buffer.putInt(KEY_WIDTH_INDEX, keySerializer.width());
+            buffer.putInt(VALUE_WIDTH_INDEX, valueSerializer.width());
+            buffer.putInt(CAPACITY_INDEX, length);
+            buffer.putInt(SIZE_INDEX, 0);
+            out.write(buffer, 0);
+            out.write(ByteBuffer.allocate(1), fileLength(length) - 1);
+        }
+    }
+
+    /**
+     * Maps the map's file and reads its header.
+     *
+     * @throws IOException if the file cannot be opened or mapped
+     * @throws IllegalArgumentException if the header does not match
+     */
+    private void open() throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() < HEADER_BYTES) {
+            channel.close();
+            throw new IllegalArgumentException("File is not a mapped hash map.");
+        }
+        header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+        if (header.getInt(MAGIC_INDEX) != MAGIC || header.getInt(VERSION_INDEX) != VERSION) {
+            channel.close();
+            throw new IllegalArgumentException("File is not a mapped hash map.");
+        } else if (header.getInt(KEY_WIDTH_INDEX) != keySerializer.width()
+                || header.getInt(VALUE_WIDTH_INDEX) != valueSerializer.width()) {
+            channel.close();
+            throw new IllegalArgumentException("File was written with serializers of different widths.");
+        }
+        capacity = header.getInt(CAPACITY_INDEX);
+        size = header.getInt(SIZE_INDEX);
+        if (channel.size() < fileLength(capacity)) {
+            channel.close();
+            throw new IllegalArgumentException("File is shorter than its table.");
+        }
+
+        chunks = new MappedByteBuffer[(capacity + slotsPerChunk - 1) / slotsPerChunk];
+        for (int i = 0; i < chunks.length; i++) {
+            int slots = Math.min(slotsPerChunk, capacity - i * slotsPerChunk);
+            chunks[i] = channel.map(FileChannel.MapMode.READ_WRITE,
+                    HEADER_BYTES + (long) i * slotsPerChunk * slotWidth, (long) slots * slotWidth);
+        }
+    }
+
+    /**
+     * Returns the length of a file holding the given number of slots.
+     *
+     * @param length the number of slots
+     * @return the file length in bytes
+     */
+    private long fileLength(int length) {
+        return HEADER_BYTES + (long) length * slotWidth;
+    }
+
+    /**
+     * Finds the slot holding the given key.
+     *
+     * @param key the key to search for
+     * @return the index of the key, or -1 if it is not in the map
+     */
+    private int find(K key) {
+        int hash = keySerializer.hash(key),
+            probe = home(hash, capacity),
+            i = 0;
+        while (i < capacity && state(probe) != EMPTY) {
+            ByteBuffer chunk = chunk(probe);
+            int offset = offset(probe);
+            if (chunk.getInt(offset + HASH_OFFSET) == hash
+                    && keySerializer.read(chunk, offset + KEY_OFFSET).equals(key)) {
+                return probe;
+            }
+            probe = (probe + 1) % capacity;
+            i++;
+        }
+        return -1;
+    }
+
+    /**
+     * Records a new size in the header.
+     *
+     * @param size the new number of items
+     */
+    private void setSize(int size) {
+        this.size = size;
+        header.putInt(SIZE_INDEX, size);
+    }
+
+    /**
+     * Returns the mapped chunk holding a slot.
+     *
+     * @param slot the slot index
+     * @return the chunk the slot is in
+     */
+    private ByteBuffer chunk(int slot) {
+        return chunks[slot / slotsPerChunk];
+    }
+
+    /**
+     * Returns the offset of a slot within its chunk.
+     *
+     * @param slot the slot index
+     * @return the index of the slot's first byte in its chunk
+     */
+    private int offset(int slot) {
+        return (slot % slotsPerChunk) * slotWidth;
+    }
+
+    /**
+     * Returns the state byte of a slot.
+     *
+     * @param slot the slot index
+     * @return EMPTY or OCCUPIED
+     */
+    private byte state(int slot) {
+        return chunk(slot).get(offset(slot));
+    }
+
+    /**
+     * Returns the hash code stored in a slot.
+     *
+     * @param slot the slot index
+     * @return the hash code of the slot's key
+     */
+    private int hash(int slot) {
+        return chunk(slot).getInt(offset(slot) + HASH_OFFSET);
+    }
+
+    /**
+     * Reads the value stored in a slot.
+     *
+     * @param slot the slot index
+     * @return the slot's value
+     */
+    private V readValue(int slot) {
+        return valueSerializer.read(chunk(slot), offset(slot) + KEY_OFFSET + keySerializer.width());
+    }
+
+    /**
+     * Copies a whole slot, state byte included.
+     *
+     * @param from the chunk to copy from
+     * @param fromOffset the offset of the slot to copy
+     * @param to the chunk to copy to
+     * @param toOffset the offset of the slot to overwrite
+     */
+    private void copySlot(ByteBuffer from, int fromOffset, ByteBuffer to, int toOffset) {
+        ByteBuffer source = from.duplicate();
+        source.limit(fromOffset + slotWidth).position(fromOffset);
+        ByteBuffer target = to.duplicate();
+        target.position(toOffset);
+        target.put(source);
+    }
+
+    /**
+     * Returns the home slot of a hash code in a table of the given length.
+     *
+     * @param hash the hash code
+     * @param length the length of the table
+     * @return the home slot of the hash code
+     */
+    private static int home(int hash, int length) {
+        return Math.abs(hash % length);
+    }
+}
@@ -0,0 +1,190 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MappedHashMapTests {
+    private static final int TIMEOUT = 200;
+    private static final int LENGTH = HashMapInterface.INITIAL_CAPACITY;
+
+    private Path file;
+    private MappedHashMap<Integer, Long> map;
+
+    /**
+     * Stands in for a key class whose hashCode differs from one JVM to the
+     * next, such as one that hashes its identity or uses a per-run seed.
+     */
+    private static final class SeededKey {
+        private static int seed;
+        private final int value;
+
+        SeededKey(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof SeededKey && ((SeededKey) o).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return value ^ seed;
+        }
+    }
+
+    private static final Serializer<SeededKey> SEEDED_KEY = new Serializer<SeededKey>() {
+        @Override
+        public int width() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void write(SeededKey value, ByteBuffer buffer, int index) {
+            buffer.putInt(index, value.value);
+        }
+
+        @Override
+        public SeededKey read(ByteBuffer buffer, int index) {
+            return new SeededKey(buffer.getInt(index));
+        }
+    };
+
+    @Before
+    public void setup() throws IOException {
+        file = Files.createTempFile("mapped", ".map");
+        Files.delete(file);
+        map = new MappedHashMap<>(file, Serializer.INTEGER, Serializer.LONG);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        map.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testPutGetReplaceRemove() {
+        assertNull(map.put(5, 50L));
+        assertNull(map.put(5 + LENGTH, 180L));
+        assertEquals(Long.valueOf(50), map.put(5, 55L));
+        assertEquals(Long.valueOf(55), map.get(5));
+        assertEquals(2, map.size());
+
+        assertEquals(Long.valueOf(55), map.remove(5));
+        assertFalse(map.containsKey(5));
+        assertEquals("The chain should shift back into the hole",
+                Integer.valueOf(5 + LENGTH), map.getTable()[5].getKey());
+        assertEquals(1, map.size());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testReopenKeepsEntries() throws IOException {
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i * 10L);
+        }
+        map.remove(42);
+        MapEntry<Integer, Long>[] before = map.getTable();
+        map.close();
+
+        map = new MappedHashMap<>(file, Serializer.INTEGER, Serializer.LONG);
+        assertEquals(99, map.size());
+        assertEquals(before.length, map.getTable().length);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i != 42, map.containsKey(i));
+        }
+        assertEquals(Long.valueOf(990), map.get(99));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testGrowPastInitialCapacity() {
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, (long) i);
+        }
+        assertEquals(1000, map.size());
+        assertTrue(map.getTable().length > 1000);
+        assertEquals(1000, map.keySet().size());
+        assertEquals(1000, map.values().size());
+        assertFalse(Files.exists(file.resolveSibling(file.getFileName() + ".resize")));
+
+        map.clear();
+        assertEquals(0, map.size());
+        assertEquals(LENGTH, map.getTable().length);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testReopenWithDifferentHashCodes() throws IOException {
+        Path seeded = file.resolveSibling(file.getFileName() + ".seeded");
+        try {
+            SeededKey.seed = 0x1234;
+            MappedHashMap<SeededKey, Long> written = new MappedHashMap<>(seeded, SEEDED_KEY, Serializer.LONG);
+            for (int i = 0; i < 100; i++) {
+                written.put(new SeededKey(i), (long) i);
+            }
+            written.close();
+
+            SeededKey.seed = 0x7654321;
+            MappedHashMap<SeededKey, Long> reopened = new MappedHashMap<>(seeded, SEEDED_KEY, Serializer.LONG);
+            for (int i = 0; i < 100; i++) {
+                assertEquals(Long.valueOf(i), reopened.get(new SeededKey(i)));
+            }
+            reopened.close();
+        } finally {
+            Files.deleteIfExists(seeded);
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testSerializerHashes() {
+        assertEquals(Integer.hashCode(-7), Serializer.INTEGER.hash(-7));
+        assertEquals(Long.hashCode(1L << 40), Serializer.LONG.hash(1L << 40));
+        assertEquals(SEEDED_KEY.hash(new SeededKey(3)), SEEDED_KEY.hash(new SeededKey(3)));
+        assertEquals(Arrays.hashCode(new byte[] {0, 0, 0, 3}), SEEDED_KEY.hash(new SeededKey(3)));
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testReopenWithDifferentSerializer() throws IOException {
+        map.put(1, 1L);
+        map.close();
+        map = new MappedHashMap<>(file, Serializer.INTEGER, Serializer.LONG);
+        new MappedHashMap<Integer, Integer>(file, Serializer.INTEGER, Serializer.INTEGER);
+    }
+
+    @Test(timeout = TIMEOUT, expected = NoSuchElementException.class)
+    public void testGetMissing() {
+        map.put(5, 50L);
+        map.get(5 + LENGTH);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testMatchesJavaHashMap() {
+        java.util.HashMap<Integer, Long> expected = new java.util.HashMap<>();
+        Random random = new Random(13);
+        for (int i = 0; i < 1500; i++) {
+            int key = random.nextInt(200) - 100;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.containsKey(key), map.containsKey(key));
+                if (expected.containsKey(key)) {
+                    assertEquals(expected.remove(key), map.remove(key));
+                }
+            } else {
+                assertEquals(expected.put(key, (long) i), map.put(key, (long) i));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected.keySet(), map.keySet());
+    }
+}
@@ -0,0 +1,266 @@
+import java.util.*;
+
+/**
+ * Implementation of HashMap with power of two capacities.
+ *
+ * The home slot is the key's mixed hash code masked to the table length, so
+ * probing needs no division, and the length doubles on every resize instead
+ * of growing to {@code 2n + 1}. Masking only looks at the low bits of the
+ * hash, which on their own cluster badly for keys such as multiples of a
+ * power of two, so the hash code is first run through the Murmur3 32-bit
+ * finalizer to spread every input bit across the low bits. Removal shifts
+ * the chain back like BackwardShiftHashMap.
+ *
+ * The length stops doubling at {@code MAXIMUM_CAPACITY}, 2^30. Past that the
+ * table fills beyond the load factor, and put throws an
+ * IllegalStateException rather than take the last empty slot, which every
+ * probe for a missing key needs to stop on.
+ */
+public class PowerOfTwoHashMap<K, V> implements HashMapInterface<K, V> {
+
+    /**
+     * The largest power of two that an int array length can be.
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private MapEntry<K, V>[] table;
+    private int size;
+
+    /**
+     * Create a hash map with no entries. The backing array has an initial
+     * capacity of {@code INITIAL_CAPACITY} rounded up to a power of two.
+     */
+    public PowerOfTwoHashMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Create a hash map with no entries. The backing array has an initial
+     * capacity of {@code initialCapacity} rounded up to a power of two.
+     *
+     * @param initialCapacity initial capacity of the backing array
+     * @throws IllegalArgumentException if initialCapacity is not positive or
+     * more than 2^30
+     */
+    public PowerOfTwoHashMap(int initialCapacity) {
+        table = (MapEntry<K, V>[]) new MapEntry[powerOfTwo(initialCapacity)];
+    }
+
+    @Override
+    public V put(K key, V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("Cannot put null key or value.");
+        }
+
+        if (table.length * MAX_LOAD_FACTOR <= size + 1 && table.length < MAXIMUM_CAPACITY) {
+            resizeBackingTable(table.length * 2);
+        }
+
+        int mask = table.length - 1,
+            probe = mix(key.hashCode()) & mask;
+        while (table[probe] != null && !table[probe].getKey().equals(key)) {
+            probe = (probe + 1) & mask;
+        }
+
+        if (table[probe] != null) {
+            V temp = table[probe].getValue();
+            table[probe].setValue(value);
+            return temp;
+        }
+        if (size + 1 == table.length) {
+            throw new IllegalStateException("Hash map is at its maximum capacity.");
+        }
+
+        table[probe] = new MapEntry<>(key, value);
+        size++;
+        return null;
+    }
+
+    @Override
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Cannot remove null key.");
+        }
+
+        int hole = find(key);
+        if (hole == -1) {
+            throw new NoSuchElementException("Key does not exist in map.");
+        }
+        V ret = table[hole].getValue();
+
+        int mask = table.length - 1,
+            probe = (hole + 1) & mask;
+        while (table[probe] != null) {
+            int home = mix(table[probe].getKey().hashCode()) & mask;
+            if (((probe - home) & mask) >= ((probe - hole) & mask)) {
+                table[hole] = table[probe];
+                hole = probe;
+            }
+            probe = (probe + 1) & mask;
+        }
+        table[hole] = null;
+
+        size--;
+        return ret;
+    }
+
+    @Override
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Cannot get null key.");
+        }
+
+        int probe = find(key);
+        if (probe == -1) {
+            throw new NoSuchElementException("Key does not exist in map.");
+        }
+
+        return table[probe].getValue();
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Cannot find null key.");
+        }
+
+        return find(key) != -1;
+    }
+
+    @Override
+    public void clear() {
+        table = (MapEntry<K, V>[]) new MapEntry[powerOfTwo(INITIAL_CAPACITY)];
+        size = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<K> keySet() {
+        Set<K> set = new HashSet<>();
+
+        for (MapEntry<K, V> entry : table) {
+            if (entry != null) {
+                set.add(entry.getKey());
+            }
+        }
+        return set;
+    }
+
+    @Override
+    public List<V> values() {
+        List<V> list = new ArrayList<>();
+
+        for (MapEntry<K, V> entry : table) {
+            if (entry != null) {
+                list.add(entry.getValue());
+            }
+        }
+        return list;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The length is rounded up to the next power of two, which must be
+     * greater than the number of items.
+     */
+    @Override
+    public void resizeBackingTable(int length) {
+        if (length <= size) {
+            throw new IllegalArgumentException("Cannot resize backing array to less than the current size.");
+        }
+        MapEntry<K, V>[] temp = (MapEntry<K, V>[]) new MapEntry[powerOfTwo(length)];
+        int mask = temp.length - 1;
+
+        for (MapEntry<K, V> entry : table) {
+            if (entry != null) {
+                int probe = mix(entry.getKey().hashCode()) & mask;
+                while (temp[probe] != null) {
+                    probe = (probe + 1) & mask;
+                }
+                temp[probe] = entry;
+            }
+        }
+
+        table = temp;
+    }
+
+    @Override
+    public int[] probeLengthHistogram() {
+        int[] lengths = new int[table.length];
+        int mask = table.length - 1,
+            max = 0;
+        for (int i = 0; i < table.length; i++) {
+            if (table[i] != null) {
+                int length = (i - mix(table[i].getKey().hashCode())) & mask;
+                lengths[length]++;
+                max = Math.max(max, length);
+            }
+        }
+        return Arrays.copyOf(lengths, max + 1);
+    }
+
+    @Override
+    public int[] missProbeLengthHistogram() {
+        return HashMap.missProbeLengths(table.length, i -> table[i] != null);
+    }
+
+    @Override
+    public MapEntry<K, V>[] getTable() {
+        return table;
+    }
+
+    /**
+     * The Murmur3 32-bit finalizer. Every input bit affects every output bit,
+     * so masking the result gives well spread slots even for hash codes that
+     * only differ in their high bits.
+     *
+     * @param hash the hash code to mix
+     * @return the mixed hash code
+     */
+    public static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
+    /**
+     * Finds the slot holding the given key.
+     *
+     * @param key the key to search for
+     * @return the index of the key, or -1 if it is not in the map
+     */
+    private int find(K key) {
+        int mask = table.length - 1,
+            probe = mix(key.hashCode()) & mask;
+        while (table[probe] != null) {
+            if (table[probe].getKey().equals(key)) {
+                return probe;
+            }
+            probe = (probe + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Rounds a capacity up to a power of two.
+     *
+     * @param capacity the requested capacity
+     * @return the smallest power of two no less than capacity
+     * @throws IllegalArgumentException if capacity is not positive or more
+     * than 2^30
+     */
+    private static int powerOfTwo(int capacity) {
+        if (capacity <= 0 || capacity > MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30.");
+        }
+        return capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    }
+}
@@ -0,0 +1,116 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PowerOfTwoHashMapTests {
+    private static final int TIMEOUT = 200;
+
+    private PowerOfTwoHashMap<Integer, String> map;
+
+    @Before
+    public void setup() {
+        map = new PowerOfTwoHashMap<>();
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testCapacityIsPowerOfTwo() {
+        assertEquals(16, map.getTable().length);
+        for (int i = 0; i < 10; i++) {
+            map.put(i, Integer.toString(i));
+        }
+        assertEquals(16, map.getTable().length);
+        map.put(10, "10");
+        assertEquals(32, map.getTable().length);
+
+        map.resizeBackingTable(100);
+        assertEquals(128, map.getTable().length);
+        assertEquals(1, new PowerOfTwoHashMap<Integer, String>(1).getTable().length);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testKeysLandOnMaskedMixedHash() {
+        map.put(1 << 20, "a");
+        int home = PowerOfTwoHashMap.mix(1 << 20) & (map.getTable().length - 1);
+        assertEquals(Integer.valueOf(1 << 20), map.getTable()[home].getKey());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testStridedKeysDoNotCluster() {
+        for (int i = 0; i < 10000; i++) {
+            map.put(i << 10, Integer.toString(i));
+        }
+
+        /*
+         * Without mixing, every key would have the same low ten bits and
+         * fall into one 1/1024th of the table.
+         */
+        assertTrue(map.probeLengthHistogram().length < 64);
+        assertTrue(map.missProbeLengthHistogram().length < 64);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testRemoveShiftsChainBack() {
+        for (int i = 0; i < 10; i++) {
+            map.put(i, Integer.toString(i));
+        }
+        for (int i = 0; i < 10; i += 2) {
+            assertEquals(Integer.toString(i), map.remove(i));
+        }
+
+        assertEquals(5, map.size());
+        int[] misses = map.missProbeLengthHistogram();
+        PowerOfTwoHashMap<Integer, String> fresh = new PowerOfTwoHashMap<>();
+        for (int i = 1; i < 10; i += 2) {
+            fresh.put(i, Integer.toString(i));
+        }
+        assertArrayEquals(fresh.missProbeLengthHistogram(), misses);
+        for (int i = 1; i < 10; i += 2) {
+            assertEquals(Integer.toString(i), map.get(i));
+        }
+    }
+
+    @Test(timeout = TIMEOUT, expected = NoSuchElementException.class)
+    public void testGetMissing() {
+        map.put(5, "five");
+        map.get(6);
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testResizeBelowSize() {
+        for (int i = 0; i < 10; i++) {
+            map.put(i, Integer.toString(i));
+        }
+        map.resizeBackingTable(10);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testMatchesJavaHashMap() {
+        java.util.HashMap<Integer, String> expected = new java.util.HashMap<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(2000) * 4096;
+            String value = Integer.toString(i);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.containsKey(key), map.containsKey(key));
+                if (expected.containsKey(key)) {
+                    assertEquals(expected.remove(key), map.remove(key));
+                }
+            } else {
+                assertEquals(expected.put(key, value), map.put(key, value));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected.keySet(), map.keySet());
+        assertNull(expected.get(-1));
+        assertFalse(map.containsKey(-1));
+    }
+}
@@ -0,0 +1,192 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PrimitiveHashMapTests {
+    private static final int TIMEOUT = 200;
+
+    private IntIntHashMap intMap;
+    private LongObjectHashMap<String> longMap;
+
+    @Before
+    public void setup() {
+        intMap = new IntIntHashMap();
+        longMap = new LongObjectHashMap<>();
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testIntPutAndGet() {
+        assertEquals(0, intMap.put(5, 50));
+        assertEquals(0, intMap.put(-5, -50));
+        assertEquals(50, intMap.put(5, 55));
+        assertEquals(2, intMap.size());
+        assertEquals(55, intMap.get(5));
+        assertEquals(-50, intMap.get(-5));
+        assertEquals(7, intMap.getOrDefault(6, 7));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testIntCollisionsAndResize() {
+        int length = HashMapInterface.INITIAL_CAPACITY;
+        for (int i = 0; i < 9; i++) {
+            intMap.put(i * length, i);
+        }
+        assertEquals(9, intMap.size());
+        assertEquals("Should resize to 2n + 1 before exceeding the load factor",
+                length * 2 + 1, intMap.getKeyTable().length);
+        for (int i = 0; i < 9; i++) {
+            assertEquals(i, intMap.get(i * length));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testIntMinValueKey() {
+        intMap.put(Integer.MIN_VALUE, 1);
+        intMap.put(Integer.MAX_VALUE, 2);
+        assertEquals(1, intMap.get(Integer.MIN_VALUE));
+        assertEquals(2, intMap.get(Integer.MAX_VALUE));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testIntRemoveThenReinsert() {
+        int length = HashMapInterface.INITIAL_CAPACITY;
+        intMap.put(1, 10);
+        intMap.put(1 + length, 20);
+        intMap.put(1 + 2 * length, 30);
+
+        assertEquals(20, intMap.remove(1 + length));
+        assertFalse(intMap.containsKey(1 + length));
+        assertTrue("Lookups must probe past removed slots", intMap.containsKey(1 + 2 * length));
+
+        assertEquals(0, intMap.put(1 + 3 * length, 40));
+        assertEquals("Should reuse the first removed slot", 1 + 3 * length, intMap.getKeyTable()[2]);
+        assertEquals(3, intMap.size());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testIntChurnRehashesRemovedSlots() {
+        for (int i = 0; i < 5; i++) {
+            intMap.put(i, i);
+        }
+        int[] table = intMap.getKeyTable();
+        for (int i = 0; i < 100; i++) {
+            intMap.remove(i);
+            intMap.put(i + 5, i + 5);
+        }
+
+        assertEquals(5, intMap.size());
+        assertNotSame("Removed slots should be rehashed away", table, intMap.getKeyTable());
+        assertTrue("Churn at a fixed size should grow the table at most once",
+                intMap.getKeyTable().length <= table.length * 2 + 1);
+        assertFalse(intMap.containsKey(-1));
+        for (int i = 100; i < 105; i++) {
+            assertEquals(i, intMap.get(i));
+        }
+    }
+
+    @Test(timeout = TIMEOUT, expected = NoSuchElementException.class)
+    public void testIntRemoveMissing() {
+        intMap.put(1, 1);
+        intMap.remove(1);
+        intMap.remove(1);
+    }
+
+    @Test(timeout = TIMEOUT, expected = NoSuchElementException.class)
+    public void testIntGetMissing() {
+        intMap.get(3);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testIntKeySetAndValues() {
+        for (int i = 0; i < 100; i++) {
+            intMap.put(i, i * 2);
+        }
+        intMap.remove(50);
+
+        int[] keys = intMap.keySet();
+        int[] values = intMap.values();
+        Arrays.sort(keys);
+        Arrays.sort(values);
+        assertEquals(99, keys.length);
+        for (int i = 0, k = 0; i < 100; i++) {
+            if (i != 50) {
+                assertEquals(i, keys[k]);
+                assertEquals(i * 2, values[k]);
+                k++;
+            }
+        }
+
+        intMap.clear();
+        assertEquals(0, intMap.size());
+        assertEquals(HashMapInterface.INITIAL_CAPACITY, intMap.getKeyTable().length);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testLongPutGetRemove() {
+        long big = 1L << 40;
+        assertNull(longMap.put(big, "big"));
+        assertNull(longMap.put(-big, "negative"));
+        assertNull(longMap.put(Long.MIN_VALUE, "min"));
+        assertEquals("big", longMap.put(big, "bigger"));
+
+        assertEquals(3, longMap.size());
+        assertEquals("bigger", longMap.get(big));
+        assertEquals("min", longMap.get(Long.MIN_VALUE));
+        assertEquals("negative", longMap.remove(-big));
+        assertFalse(longMap.containsKey(-big));
+        assertEquals(2, longMap.size());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testLongManyEntries() {
+        for (long i = 0; i < 1000; i++) {
+            longMap.put(i << 32, Long.toString(i));
+        }
+        for (long i = 0; i < 1000; i += 2) {
+            longMap.remove(i << 32);
+        }
+        assertEquals(500, longMap.size());
+        assertEquals(500, longMap.values().size());
+        long[] keys = longMap.keySet();
+        Arrays.sort(keys);
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals((2L * i + 1) << 32, keys[i]);
+        }
+        assertArrayEquals(new String[]{"999"}, new String[]{longMap.get(999L << 32)});
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testLongChurnRehashesRemovedSlots() {
+        for (long i = 0; i < 5; i++) {
+            longMap.put(i, "v");
+        }
+        long[] table = longMap.getKeyTable();
+        for (long i = 0; i < 100; i++) {
+            longMap.remove(i);
+            longMap.put(i + 5, "v");
+        }
+
+        assertEquals(5, longMap.size());
+        assertNotSame("Removed slots should be rehashed away", table, longMap.getKeyTable());
+        assertTrue("Churn at a fixed size should grow the table at most once",
+                longMap.getKeyTable().length <= table.length * 2 + 1);
+        assertFalse(longMap.containsKey(-1L));
+        for (long i = 100; i < 105; i++) {
+            assertEquals("v", longMap.get(i));
+        }
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testLongPutNullValue() {
+        longMap.put(1L, null);
+    }
+}
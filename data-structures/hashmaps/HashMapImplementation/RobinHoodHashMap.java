@@ -0,0 +1,306 @@
+import java.util.*;
+
+/**
+ * Implementation of HashMap using Robin Hood linear probing.
+ *
+ * Every slot remembers how far its entry sits from its home slot. An
+ * insertion that reaches an entry closer to home than itself takes that slot
+ * and carries the evicted entry on, so the entries in a probe chain are
+ * always ordered by distance. That keeps probe lengths close together even at
+ * high load factors and lets a lookup stop as soon as it reaches an entry
+ * closer to home than the key would be. Removal shifts the chain back
+ * instead of leaving removed entries behind.
+ */
+public class RobinHoodHashMap<K, V> implements HashMapInterface<K, V> {
+
+    /**
+     * The default load factor. Robin Hood probing stays fast well past
+     * {@code MAX_LOAD_FACTOR}, so it is allowed to fill more of the table.
+     */
+    public static final double DEFAULT_LOAD_FACTOR = 0.9;
+
+    private MapEntry<K, V>[] table;
+    private int[] distances;
+    private int size;
+    private final double loadFactor;
+
+    /**
+     * Create a hash map with no entries. The backing array has an initial
+     * capacity of {@code INITIAL_CAPACITY} and a load factor of
+     * {@code DEFAULT_LOAD_FACTOR}.
+     */
+    public RobinHoodHashMap() {
+        this(INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Create a hash map with no entries. The backing array has an initial
+     * capacity of {@code initialCapacity} and is regrown once the load factor
+     * would exceed {@code loadFactor}.
+     *
+     * @param initialCapacity initial capacity of the backing array
+     * @param loadFactor the load factor to regrow at
+     * @throws IllegalArgumentException if initialCapacity is not positive or
+     * loadFactor is not between 0 and 1
+     */
+    public RobinHoodHashMap(int initialCapacity, double loadFactor) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be positive.");
+        } else if (loadFactor <= 0 || loadFactor >= 1) {
+            throw new IllegalArgumentException("Load factor must be between 0 and 1.");
+        }
+        table = (MapEntry<K, V>[]) new MapEntry[initialCapacity];
+        distances = new int[initialCapacity];
+        this.loadFactor = loadFactor;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("Cannot put null key or value.");
+        }
+
+        if (table.length * loadFactor <= size + 1) {
+            resizeBackingTable(table.length * 2 + 1);
+        }
+
+        int probe = home(key, table.length),
+            distance = 0;
+        while (table[probe] != null && distances[probe] >= distance) {
+            if (distances[probe] == distance && table[probe].getKey().equals(key)) {
+                V temp = table[probe].getValue();
+                table[probe].setValue(value);
+                return temp;
+            }
+            probe = (probe + 1) % table.length;
+            distance++;
+        }
+
+        insert(new MapEntry<>(key, value), probe, distance, table, distances);
+        size++;
+        return null;
+    }
+
+    @Override
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Cannot remove null key.");
+        }
+
+        int hole = find(key);
+        if (hole == -1) {
+            throw new NoSuchElementException("Key does not exist in map.");
+        }
+        V ret = table[hole].getValue();
+
+        int next = (hole + 1) % table.length;
+        while (table[next] != null && distances[next] > 0) {
+            table[hole] = table[next];
+            distances[hole] = distances[next] - 1;
+            hole = next;
+            next = (next + 1) % table.length;
+        }
+        table[hole] = null;
+        distances[hole] = 0;
+
+        size--;
+        return ret;
+    }
+
+    @Override
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Cannot get null key.");
+        }
+
+        int probe = find(key);
+        if (probe == -1) {
+            throw new NoSuchElementException("Key does not exist in map.");
+        }
+
+        return table[probe].getValue();
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Cannot find null key.");
+        }
+
+        return find(key) != -1;
+    }
+
+    @Override
+    public void clear() {
+        table = (MapEntry<K, V>[]) new MapEntry[INITIAL_CAPACITY];
+        distances = new int[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<K> keySet() {
+        Set<K> set = new HashSet<>();
+
+        for (MapEntry<K, V> entry : table) {
+            if (entry != null) {
+                set.add(entry.getKey());
+            }
+        }
+        return set;
+    }
+
+    @Override
+    public List<V> values() {
+        List<V> list = new ArrayList<>();
+
+        for (MapEntry<K, V> entry : table) {
+            if (entry != null) {
+                list.add(entry.getValue());
+            }
+        }
+        return list;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The table must keep at least one empty slot, so {@code length} must
+     * also be greater than the number of items.
+     */
+    @Override
+    public void resizeBackingTable(int length) {
+        if (length <= size) {
+            throw new IllegalArgumentException("Cannot resize backing array to less than the current size.");
+        }
+        MapEntry<K, V>[] temp = (MapEntry<K, V>[]) new MapEntry[length];
+        int[] tempDistances = new int[length];
+
+        for (MapEntry<K, V> entry : table) {
+            if (entry != null) {
+                int probe = home(entry.getKey(), length),
+                    distance = 0;
+                while (temp[probe] != null && tempDistances[probe] >= distance) {
+                    probe = (probe + 1) % length;
+                    distance++;
+                }
+                insert(entry, probe, distance, temp, tempDistances);
+            }
+        }
+
+        table = temp;
+        distances = tempDistances;
+    }
+
+    @Override
+    public int[] probeLengthHistogram() {
+        int max = 0;
+        for (int i = 0; i < table.length; i++) {
+            if (table[i] != null) {
+                max = Math.max(max, distances[i]);
+            }
+        }
+        int[] lengths = new int[max + 1];
+        for (int i = 0; i < table.length; i++) {
+            if (table[i] != null) {
+                lengths[distances[i]]++;
+            }
+        }
+        return lengths;
+    }
+
+    @Override
+    public int[] missProbeLengthHistogram() {
+        int[] lengths = new int[table.length];
+        int max = 0;
+        for (int home = 0; home < table.length; home++) {
+            int probe = home,
+                distance = 0;
+            while (table[probe] != null && distances[probe] >= distance) {
+                probe = (probe + 1) % table.length;
+                distance++;
+            }
+            lengths[distance]++;
+            max = Math.max(max, distance);
+        }
+        return Arrays.copyOf(lengths, max + 1);
+    }
+
+    @Override
+    public MapEntry<K, V>[] getTable() {
+        return table;
+    }
+
+    /**
+     * For testing purposes only.
+     *
+     * @return the distance of each slot's entry from its home slot, not a
+     * copy.
+     */
+    public int[] getDistances() {
+        return distances;
+    }
+
+    /**
+     * Places an entry at the given slot, carrying any entries it displaces
+     * further along the chain until one lands in an empty slot.
+     *
+     * @param entry the entry to place
+     * @param probe the slot to place it in
+     * @param distance how far probe is from the entry's home slot
+     * @param table the table to insert into
+     * @param distances the distances of the table's entries
+     */
+    private static <K, V> void insert(MapEntry<K, V> entry, int probe, int distance,
+                                      MapEntry<K, V>[] table, int[] distances) {
+        while (table[probe] != null) {
+            if (distances[probe] < distance) {
+                MapEntry<K, V> evicted = table[probe];
+                int evictedDistance = distances[probe];
+                table[probe] = entry;
+                distances[probe] = distance;
+                entry = evicted;
+                distance = evictedDistance;
+            }
+            probe = (probe + 1) % table.length;
+            distance++;
+        }
+        table[probe] = entry;
+        distances[probe] = distance;
+    }
+
+    /**
+     * Finds the slot holding the given key, stopping at the first entry that
+     * is closer to its home slot than the key would be.
+     *
+     * @param key the key to search for
+     * @return the index of the key, or -1 if it is not in the map
+     */
+    private int find(K key) {
+        int probe = home(key, table.length),
+            distance = 0;
+        while (table[probe] != null && distances[probe] >= distance) {
+            if (distances[probe] == distance && table[probe].getKey().equals(key)) {
+                return probe;
+            }
+            probe = (probe + 1) % table.length;
+            distance++;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the home slot of the key in a table of the given length.
+     *
+     * @param key the key to hash
+     * @param length the length of the table
+     * @return the home slot of the key
+     */
+    private static int home(Object key, int length) {
+        return Math.abs(key.hashCode() % length);
+    }
+}
@@ -0,0 +1,142 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RobinHoodHashMapTests {
+    private static final int TIMEOUT = 200;
+    private static final int LENGTH = HashMapInterface.INITIAL_CAPACITY;
+
+    private RobinHoodHashMap<Integer, String> map;
+
+    @Before
+    public void setup() {
+        map = new RobinHoodHashMap<>();
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testInsertDisplacesEntryCloserToHome() {
+        map.put(1, "a");
+        map.put(2, "b");
+        map.put(1 + LENGTH, "c");
+
+        /*
+         * 14 has home 1 and reaches slot 2 at distance 1, where 2 sits at
+         * distance 0, so 14 takes slot 2 and 2 moves on to slot 3.
+         */
+        MapEntry<Integer, String>[] table = map.getTable();
+        assertEquals(Integer.valueOf(1), table[1].getKey());
+        assertEquals(Integer.valueOf(1 + LENGTH), table[2].getKey());
+        assertEquals(Integer.valueOf(2), table[3].getKey());
+        assertEquals(1, map.getDistances()[2]);
+        assertEquals(1, map.getDistances()[3]);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testRemoveShiftsChainBack() {
+        map.put(1, "a");
+        map.put(2, "b");
+        map.put(1 + LENGTH, "c");
+        map.put(5, "d");
+
+        assertEquals("a", map.remove(1));
+        MapEntry<Integer, String>[] table = map.getTable();
+        assertEquals(Integer.valueOf(1 + LENGTH), table[1].getKey());
+        assertEquals(Integer.valueOf(2), table[2].getKey());
+        assertNull(table[3]);
+        assertEquals("An entry at its home slot should not move", Integer.valueOf(5), table[5].getKey());
+        assertEquals(0, map.getDistances()[1]);
+        assertEquals(0, map.getDistances()[2]);
+        assertEquals(3, map.size());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testPutGetReplace() {
+        assertNull(map.put(5, "five"));
+        assertNull(map.put(5 + LENGTH, "eighteen"));
+        assertEquals("five", map.put(5, "FIVE"));
+        assertEquals("FIVE", map.get(5));
+        assertEquals("eighteen", map.get(5 + LENGTH));
+        assertEquals(2, map.size());
+    }
+
+    @Test(timeout = TIMEOUT, expected = NoSuchElementException.class)
+    public void testGetMissing() {
+        map.put(5, "five");
+        map.get(5 + LENGTH);
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testLoadFactorOutOfRange() {
+        new RobinHoodHashMap<Integer, String>(LENGTH, 1.0);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testHighLoadFactor() {
+        map = new RobinHoodHashMap<>(LENGTH, 0.95);
+        Random random = new Random(7);
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 0; i < 5000; i++) {
+            int key = random.nextInt(100000);
+            map.put(key, "v");
+            expected.add(key);
+        }
+        for (int i = 0; i < 2000; i++) {
+            int key = random.nextInt(100000);
+            if (expected.remove(key)) {
+                assertEquals("v", map.remove(key));
+            } else {
+                assertFalse(map.containsKey(key));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected, map.keySet());
+        for (int key : expected) {
+            assertTrue(map.containsKey(key));
+        }
+
+        /*
+         * Entries along a chain must never get closer to home by more than
+         * one step at a time, or lookups could stop too early.
+         */
+        int[] distances = map.getDistances();
+        MapEntry<Integer, String>[] table = map.getTable();
+        for (int i = 0; i < table.length; i++) {
+            int next = (i + 1) % table.length;
+            if (table[next] != null) {
+                assertTrue(distances[next] <= (table[i] == null ? 0 : distances[i] + 1));
+            }
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testProbeLengthHistograms() {
+        map.put(1, "a");
+        map.put(2, "b");
+        map.put(1 + LENGTH, "c");
+
+        assertArrayEquals(new int[]{1, 2}, map.probeLengthHistogram());
+
+        /*
+         * A miss from home 1 passes 1 and 14 and stops at 2, which is closer
+         * to home than the missing key would be by then. From home 2 it
+         * passes 14 and 2 before reaching an empty slot, and from home 3 it
+         * passes 2.
+         */
+        int[] misses = map.missProbeLengthHistogram();
+        assertEquals(3, misses.length);
+        assertEquals(LENGTH - 3, misses[0]);
+        assertEquals(1, misses[1]);
+        assertEquals(2, misses[2]);
+    }
+}
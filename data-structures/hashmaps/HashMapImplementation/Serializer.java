@@ -0,0 +1,132 @@
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Converts values of one type to and from a fixed number of bytes, so that
+ * a map can keep them outside the Java heap.
+ *
+ * Two values that are equal must be written as the same bytes and read back
+ * as equal values. They must also have the same hash, and a value's hash
+ * must not change between runs or JVMs, because maps store it in their
+ * files.
+ *
+ * @param <T> the type being serialized
+ */
+public interface Serializer<T> {
+
+    /**
+     * Writes an Integer as 4 bytes.
+     */
+    Serializer<Integer> INTEGER = new Serializer<Integer>() {
+        @Override
+        public int width() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void write(Integer value, ByteBuffer buffer, int index) {
+            buffer.putInt(index, value);
+        }
+
+        @Override
+        public Integer read(ByteBuffer buffer, int index) {
+            return buffer.getInt(index);
+        }
+
+        @Override
+        public int hash(Integer value) {
+            return Integer.hashCode(value);
+        }
+    };
+
+    /**
+     * Writes a Long as 8 bytes.
+     */
+    Serializer<Long> LONG = new Serializer<Long>() {
+        @Override
+        public int width() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void write(Long value, ByteBuffer buffer, int index) {
+            buffer.putLong(index, value);
+        }
+
+        @Override
+        public Long read(ByteBuffer buffer, int index) {
+            return buffer.getLong(index);
+        }
+
+        @Override
+        public int hash(Long value) {
+            return Long.hashCode(value);
+        }
+    };
+
+    /**
+     * Writes a Double as 8 bytes.
+     */
+    Serializer<Double> DOUBLE = new Serializer<Double>() {
+        @Override
+        public int width() {
+            return Double.BYTES;
+        }
+
+        @Override
+        public void write(Double value, ByteBuffer buffer, int index) {
+            buffer.putDouble(index, value);
+        }
+
+        @Override
+        public Double read(ByteBuffer buffer, int index) {
+            return buffer.getDouble(index);
+        }
+
+        @Override
+        public int hash(Double value) {
+            return Double.hashCode(value);
+        }
+    };
+
+    /**
+     * Returns the number of bytes every value is written as.
+     *
+     * @return the width of a serialized value in bytes
+     */
+    int width();
+
+    /**
+     * Writes a value into the buffer without moving its position.
+     *
+     * @param value the value to write, never null
+     * @param buffer the buffer to write to
+     * @param index the index of the first byte to write
+     */
+    void write(T value, ByteBuffer buffer, int index);
+
+    /**
+     * Reads a value from the buffer without moving its position.
+     *
+     * @param buffer the buffer to read from
+     * @param index the index of the first byte to read
+     * @return the value
+     */
+    T read(ByteBuffer buffer, int index);
+
+    /**
+     * Returns a hash of a value that is the same in every run and JVM,
+     * unlike Object.hashCode in general. By default this hashes the value's
+     * serialized bytes with Arrays.hashCode, which is stable because equal
+     * values are written as equal bytes. Override it for speed, but not with
+     * a hashCode that depends on identity or on per-run seeds.
+     *
+     * @param value the value to hash, never null
+     * @return the hash of the value
+     */
+    default int hash(T value) {
+        ByteBuffer buffer = ByteBuffer.allocate(width());
+        write(value, buffer, 0);
+        return Arrays.hashCode(buffer.array());
+    }
+}
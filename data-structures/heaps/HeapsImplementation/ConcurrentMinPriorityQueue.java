@@ -0,0 +1,244 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Implementation of a thread-safe min priority queue, built as a MultiQueue.
+ *
+ * The items are spread over several DaryMinHeaps, each guarded by its own
+ * lock, and there should be a few more heaps than threads. enqueue tries
+ * the lock of a random heap and, if another thread holds it, moves on to
+ * another random heap instead of waiting, so an enqueue never blocks on a
+ * lock. dequeue looks at the smallest items of two random heaps, which each
+ * heap publishes in a volatile field, and takes from the heap with the
+ * smaller one, again moving on if its lock is taken. With many heaps and
+ * random choices, threads rarely meet on the same lock.
+ *
+ * The price is that dequeue is relaxed: it returns an item close to the
+ * smallest, not always the smallest. Choosing the better of two heaps keeps
+ * the rank of the returned item within a small multiple of the number of
+ * heaps with high probability. A queue with a single heap is exact. dequeue
+ * only throws once every heap has been found empty.
+ *
+ * size is not an atomic snapshot when other threads are enqueueing or
+ * dequeueing; it sums counters as they are read.
+ */
+public class ConcurrentMinPriorityQueue<T extends Comparable<? super T>>
+    implements PriorityQueueInterface<T> {
+
+    /**
+     * The default number of heaps per available processor.
+     */
+    public static final int DEFAULT_HEAPS_PER_PROCESSOR = 2;
+
+    private final Shard<T>[] shards;
+    private final LongAdder size;
+
+    /**
+     * Creates a priority queue with {@code DEFAULT_HEAPS_PER_PROCESSOR} heaps
+     * per available processor.
+     */
+    public ConcurrentMinPriorityQueue() {
+        this(DEFAULT_HEAPS_PER_PROCESSOR * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a priority queue.
+     *
+     * @param heaps the number of heaps to spread the items over, best set to
+     * a small multiple of the number of threads sharing the queue
+     * @throws IllegalArgumentException if heaps is not positive
+     */
+    public ConcurrentMinPriorityQueue(int heaps) {
+        if (heaps <= 0) {
+            throw new IllegalArgumentException("Number of heaps must be positive.");
+        }
+        shards = (Shard<T>[]) new Shard[heaps];
+        for (int i = 0; i < heaps; i++) {
+            shards[i] = new Shard<>();
+        }
+        size = new LongAdder();
+    }
+
+    @Override
+    public void enqueue(T item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Cannot insert null data.");
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            Shard<T> shard = shards[random.nextInt(shards.length)];
+            if (shard.lock.tryLock()) {
+                try {
+                    shard.add(item);
+                    size.increment();
+                    return;
+                } finally {
+                    shard.lock.unlock();
+                }
+            }
+        }
+    }
+
+    @Override
+    public T dequeue() {
+        T item = poll();
+        if (item == null) {
+            throw new NoSuchElementException("Cannot dequeue from an empty priority queue.");
+        }
+        return item;
+    }
+
+    /**
+     * Removes and returns an item close to the smallest, like dequeue, but
+     * returns null instead of throwing when the queue is empty.
+     *
+     * @return the item removed, or null if every heap was empty
+     */
+    public T poll() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int attempt = 0; attempt < shards.length; attempt++) {
+            Shard<T> first = shards[random.nextInt(shards.length)],
+                second = shards[random.nextInt(shards.length)];
+            T firstTop = first.top,
+                secondTop = second.top;
+            Shard<T> best;
+            if (firstTop == null) {
+                best = second;
+            } else if (secondTop == null || firstTop.compareTo(secondTop) <= 0) {
+                best = first;
+            } else {
+                best = second;
+            }
+            if (best.top == null || !best.lock.tryLock()) {
+                continue;
+            }
+            try {
+                if (!best.heap.isEmpty()) {
+                    size.decrement();
+                    return best.remove();
+                }
+            } finally {
+                best.lock.unlock();
+            }
+        }
+
+        // Random picks keep missing, so the queue is nearly empty. Visit
+        // every heap, waiting for its lock, so an item is never missed.
+        int start = random.nextInt(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            Shard<T> shard = shards[(start + i) % shards.length];
+            if (shard.top == null) {
+                continue;
+            }
+            shard.lock.lock();
+            try {
+                if (!shard.heap.isEmpty()) {
+                    size.decrement();
+                    return shard.remove();
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (Shard<T> shard : shards) {
+            if (shard.top != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, size.sum()));
+    }
+
+    @Override
+    public void clear() {
+        for (Shard<T> shard : shards) {
+            shard.lock.lock();
+            try {
+                size.add(-shard.heap.size());
+                shard.heap.clear();
+                shard.top = null;
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Used for testing purposes only. The items are spread over several
+     * heaps, so this returns a new MinHeap holding a copy of every item,
+     * taken while holding all of the locks.
+     *
+     * @return a heap with the items of the queue
+     */
+    @Override
+    public HeapInterface<T> getBackingHeap() {
+        for (Shard<T> shard : shards) {
+            shard.lock.lock();
+        }
+        try {
+            List<T> items = new ArrayList<>();
+            for (Shard<T> shard : shards) {
+                Comparable[] backingArray = shard.heap.getBackingArray();
+                for (int i = 1; i <= shard.heap.size(); i++) {
+                    items.add((T) backingArray[i]);
+                }
+            }
+            return new MinHeap<>(items);
+        } finally {
+            for (Shard<T> shard : shards) {
+                shard.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * One heap with its lock and its smallest item.
+     */
+    private static final class Shard<T extends Comparable<? super T>> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final DaryMinHeap<T> heap = new DaryMinHeap<>();
+
+        /**
+         * The smallest item in the heap, or null if it is empty. Only
+         * written while holding the lock, and read without it.
+         */
+        private volatile T top;
+
+        /**
+         * Adds an item. The lock must be held.
+         *
+         * @param item the item to add
+         */
+        void add(T item) {
+            heap.add(item);
+            if (top == null || item.compareTo(top) < 0) {
+                top = item;
+            }
+        }
+
+        /**
+         * Removes the smallest item. The lock must be held and the heap must
+         * not be empty.
+         *
+         * @return the item removed
+         */
+        T remove() {
+            T item = heap.remove();
+            top = heap.isEmpty() ? null : heap.peek();
+            return item;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ConcurrentMinPriorityQueueTests {
+    private static final int TIMEOUT = 200;
+
+    private ConcurrentMinPriorityQueue<Integer> queue;
+
+    @Before
+    public void setUp() {
+        queue = new ConcurrentMinPriorityQueue<>(8);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testSingleHeapIsExact() {
+        ConcurrentMinPriorityQueue<Integer> exact = new ConcurrentMinPriorityQueue<>(1);
+        Random random = new Random(23);
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            items.add(random.nextInt(100));
+            exact.enqueue(items.get(i));
+        }
+        Collections.sort(items);
+        for (Integer item : items) {
+            assertEquals(item, exact.dequeue());
+        }
+        assertTrue(exact.isEmpty());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testEveryItemDequeuedOnce() {
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            items.add(i % 700);
+            queue.enqueue(i % 700);
+        }
+        assertEquals(5000, queue.size());
+        assertEquals(5000, queue.getBackingHeap().size());
+
+        List<Integer> dequeued = new ArrayList<>();
+        while (!queue.isEmpty()) {
+            dequeued.add(queue.dequeue());
+        }
+        Collections.sort(items);
+        Collections.sort(dequeued);
+        assertEquals(items, dequeued);
+        assertEquals(0, queue.size());
+        assertNull(queue.poll());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testDequeueIsCloseToMinimum() {
+        for (int i = 0; i < 10000; i++) {
+            queue.enqueue(i);
+        }
+        long rankSum = 0;
+        List<Integer> remaining = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            remaining.add(i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            int item = queue.dequeue();
+            int rank = Collections.binarySearch(remaining, item);
+            rankSum += rank;
+            remaining.remove(rank);
+        }
+        assertTrue("Average rank error was " + rankSum / 1000.0, rankSum / 1000.0 < 8 * 8);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testConcurrentProducersAndConsumers() throws InterruptedException {
+        int threads = 4,
+            perThread = 5000;
+        ConcurrentLinkedQueue<Integer> dequeued = new ConcurrentLinkedQueue<>();
+        CountDownLatch done = new CountDownLatch(2 * threads);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t * perThread;
+            workers.add(new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    queue.enqueue(offset + i);
+                }
+                done.countDown();
+            }));
+            workers.add(new Thread(() -> {
+                for (int i = 0; i < perThread / 2; i++) {
+                    Integer item = queue.poll();
+                    if (item != null) {
+                        dequeued.add(item);
+                    }
+                }
+                done.countDown();
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        done.await();
+
+        Integer item;
+        while ((item = queue.poll()) != null) {
+            dequeued.add(item);
+        }
+        List<Integer> sorted = new ArrayList<>(dequeued);
+        Collections.sort(sorted);
+        assertEquals(threads * perThread, sorted.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            assertEquals(i, (int) sorted.get(i));
+        }
+        assertEquals(0, queue.size());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testClear() {
+        for (int i = 0; i < 100; i++) {
+            queue.enqueue(i);
+        }
+        queue.clear();
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.size());
+        queue.enqueue(7);
+        assertFalse(queue.isEmpty());
+        assertEquals(7, (int) queue.dequeue());
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testEnqueueNull() {
+        queue.enqueue(null);
+    }
+
+    @Test(timeout = TIMEOUT, expected = NoSuchElementException.class)
+    public void testDequeueEmpty() {
+        queue.dequeue();
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testNoHeaps() {
+        new ConcurrentMinPriorityQueue<Integer>(0);
+    }
+}
@@ -0,0 +1,166 @@
+import java.util.NoSuchElementException;
+
+/**
+ * Implementation of a d-ary min heap.
+ *
+ * Each node has arity children instead of two, so the tree is only
+ * log base arity of n levels deep. add, which moves up, does fewer moves,
+ * and remove, which moves down, touches fewer levels but compares more
+ * children on each. The children of a node sit next to each other in the
+ * backing array, so for a small arity they usually share a cache line.
+ *
+ * Like MinHeap, the root is at index 1 of the backing array, and with an
+ * arity of 2 the nodes are at the same indices as in MinHeap. The children
+ * of index i are at indices arity * (i - 1) + 2 to arity * (i - 1) + arity
+ * + 1. Items are moved up and down with a loop that shifts the items it
+ * passes over into the hole and writes the moving item once at the end,
+ * rather than swapping at every level.
+ */
+public class DaryMinHeap<T extends Comparable<? super T>>
+    implements HeapInterface<T> {
+
+    public static final int DEFAULT_ARITY = 4;
+
+    private final int arity;
+    private T[] backingArray;
+    private int size;
+
+    /**
+     * Creates a heap with {@code DEFAULT_ARITY} children per node and an
+     * initial size of {@code STARTING_SIZE} for the backing array.
+     */
+    public DaryMinHeap() {
+        this(DEFAULT_ARITY);
+    }
+
+    /**
+     * Creates a heap with an initial size of {@code STARTING_SIZE} for the
+     * backing array.
+     *
+     * @param arity the number of children per node
+     * @throws IllegalArgumentException if arity is less than 2
+     */
+    public DaryMinHeap(int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Arity must be at least 2.");
+        }
+        this.arity = arity;
+        backingArray = (T[]) new Comparable[STARTING_SIZE];
+    }
+
+    @Override
+    public void add(T item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Cannot insert null data.");
+        }
+        size++;
+
+        resizeBackingArray();
+
+        int i = size;
+        while (i > 1) {
+            int parent = (i - 2) / arity + 1;
+            if (item.compareTo(backingArray[parent]) >= 0) {
+                break;
+            }
+            backingArray[i] = backingArray[parent];
+            i = parent;
+        }
+        backingArray[i] = item;
+    }
+
+    @Override
+    public T remove() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Cannot remove from an empty heap.");
+        }
+
+        T ret = backingArray[1];
+        T last = backingArray[size];
+        backingArray[size--] = null;
+        if (size > 0) {
+            downheap(last);
+        }
+        return ret;
+    }
+
+    /**
+     * Returns the smallest item without removing it.
+     *
+     * @return the smallest item
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public T peek() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Cannot peek an empty heap.");
+        }
+        return backingArray[1];
+    }
+
+    /**
+     * Moves an item down from the root, which must be empty, until no child
+     * is smaller.
+     *
+     * @param item the item to place
+     */
+    private void downheap(T item) {
+        int i = 1;
+        while (true) {
+            int first = arity * (i - 1) + 2;
+            if (first > size) {
+                break;
+            }
+            int last = Math.min(first + arity - 1, size),
+                child = first;
+            for (int c = first + 1; c <= last; c++) {
+                if (backingArray[c].compareTo(backingArray[child]) < 0) {
+                    child = c;
+                }
+            }
+            if (backingArray[child].compareTo(item) >= 0) {
+                break;
+            }
+            backingArray[i] = backingArray[child];
+            i = child;
+        }
+        backingArray[i] = item;
+    }
+
+    /**
+     * Returns the number of children per node.
+     *
+     * @return the arity of the heap
+     */
+    public int getArity() {
+        return arity;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        backingArray = (T[]) new Comparable[STARTING_SIZE];
+        size = 0;
+    }
+
+    @Override
+    public Comparable[] getBackingArray() {
+        return backingArray;
+    }
+
+    private void resizeBackingArray() {
+        if (backingArray.length <= size) {
+            T[] temp = (T[]) new Comparable[(int) (backingArray.length * 1.5)];
+            System.arraycopy(backingArray, 1, temp, 1, backingArray.length - 1);
+            backingArray = temp;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DaryMinHeapTests {
+    private static final int TIMEOUT = 200;
+
+    private DaryMinHeap<Integer> heap;
+
+    @Before
+    public void setUp() {
+        heap = new DaryMinHeap<>();
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testAddLaysOutChildrenTogether() {
+        heap.add(50);
+        heap.add(40);
+        heap.add(30);
+        heap.add(20);
+        heap.add(10);
+        heap.add(60);
+
+        /*                  Final heap:
+
+                                10
+                         /    /    \    \
+                       50   40     30    20
+                      /
+                    60
+         */
+
+        Integer[] expected = new Integer[10];
+        expected[1] = 10;
+        expected[2] = 50;
+        expected[3] = 40;
+        expected[4] = 30;
+        expected[5] = 20;
+        expected[6] = 60;
+        assertArrayEquals(expected, heap.getBackingArray());
+        assertEquals(6, heap.size());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testBinaryMatchesMinHeap() {
+        Random random = new Random(21);
+        DaryMinHeap<Integer> binary = new DaryMinHeap<>(2);
+        MinHeap<Integer> minHeap = new MinHeap<>();
+        for (int i = 0; i < 500; i++) {
+            int item = random.nextInt();
+            binary.add(item);
+            minHeap.add(item);
+            if (i % 3 == 0) {
+                assertEquals(minHeap.remove(), binary.remove());
+            }
+        }
+        assertArrayEquals(minHeap.getBackingArray(), binary.getBackingArray());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testMatchesPriorityQueue() {
+        Random random = new Random(21);
+        for (int arity = 2; arity <= 8; arity++) {
+            DaryMinHeap<Integer> dary = new DaryMinHeap<>(arity);
+            PriorityQueue<Integer> expected = new PriorityQueue<>();
+            for (int i = 0; i < 2000; i++) {
+                if (random.nextInt(3) == 0 && !expected.isEmpty()) {
+                    assertEquals(expected.poll(), dary.remove());
+                } else {
+                    int item = random.nextInt(100);
+                    dary.add(item);
+                    expected.add(item);
+                }
+            }
+            while (!expected.isEmpty()) {
+                assertEquals(expected.poll(), dary.remove());
+            }
+            assertTrue(dary.isEmpty());
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testClear() {
+        for (int i = 0; i < 20; i++) {
+            heap.add(i);
+        }
+        heap.clear();
+        assertEquals(0, heap.size());
+        assertEquals(HeapInterface.STARTING_SIZE, heap.getBackingArray().length);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testBacksPriorityQueue() {
+        MinPriorityQueue<String> queue = new MinPriorityQueue<>(new DaryMinHeap<String>(3));
+        queue.enqueue("b");
+        queue.enqueue("c");
+        queue.enqueue("a");
+        assertEquals("a", queue.dequeue());
+        assertEquals("b", queue.dequeue());
+        assertEquals(1, queue.size());
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testArityTooSmall() {
+        new DaryMinHeap<Integer>(1);
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testAddNull() {
+        heap.add(null);
+    }
+
+    @Test(timeout = TIMEOUT, expected = NoSuchElementException.class)
+    public void testRemoveEmpty() {
+        heap.remove();
+    }
+}
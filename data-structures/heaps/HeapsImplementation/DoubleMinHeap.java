@@ -0,0 +1,251 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Implementation of a min heap of double keys, each with an optional long
+ * payload.
+ *
+ * Keys and payloads are kept in parallel primitive arrays, so nothing is
+ * boxed, keys are compared with a plain {@code <} instead of compareTo, and
+ * no objects are allocated except when the arrays grow. The payload array is
+ * only created the first time an item is added with a payload; items added
+ * without one have a payload of 0. An int payload, such as an index into a
+ * table of events, fits in the long.
+ *
+ * NaN keys are rejected, since they are not ordered with {@code <}. The
+ * layout and growth are the same as LongMinHeap.
+ */
+public class DoubleMinHeap {
+
+    private static final int ARITY = 4;
+
+    private double[] keys;
+    private long[] payloads;
+    private int size;
+
+    /**
+     * Creates an empty heap with an initial capacity of
+     * {@code HeapInterface.STARTING_SIZE}.
+     */
+    public DoubleMinHeap() {
+        this(HeapInterface.STARTING_SIZE);
+    }
+
+    /**
+     * Creates an empty heap.
+     *
+     * @param initialCapacity the number of items the heap can hold before
+     * its arrays grow
+     * @throws IllegalArgumentException if initialCapacity is not positive
+     */
+    public DoubleMinHeap(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be positive.");
+        }
+        keys = new double[initialCapacity];
+    }
+
+    /**
+     * Adds a key with a payload of 0.
+     *
+     * @param key the key to add
+     * @throws IllegalArgumentException if the key is NaN
+     */
+    public void add(double key) {
+        checkKey(key);
+        if (size == keys.length) {
+            grow();
+        }
+        int i = upheap(size, key);
+        keys[i] = key;
+        if (payloads != null) {
+            payloads[i] = 0;
+        }
+        size++;
+    }
+
+    /**
+     * Adds a key with a payload.
+     *
+     * @param key the key to add
+     * @param payload the payload to keep with the key
+     * @throws IllegalArgumentException if the key is NaN
+     */
+    public void add(double key, long payload) {
+        checkKey(key);
+        if (payloads == null) {
+            payloads = new long[keys.length];
+        }
+        if (size == keys.length) {
+            grow();
+        }
+        int i = upheap(size, key);
+        keys[i] = key;
+        payloads[i] = payload;
+        size++;
+    }
+
+    /**
+     * Removes the smallest key. Call peekPayload first to get its payload.
+     *
+     * @return the key removed
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public double remove() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Cannot remove from an empty heap.");
+        }
+        double min = keys[0];
+        size--;
+        if (size > 0) {
+            double key = keys[size];
+            if (payloads == null) {
+                keys[downheap(key)] = key;
+            } else {
+                long payload = payloads[size];
+                int i = downheap(key);
+                keys[i] = key;
+                payloads[i] = payload;
+            }
+        }
+        return min;
+    }
+
+    /**
+     * Returns the smallest key without removing it.
+     *
+     * @return the smallest key
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public double peek() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Cannot peek an empty heap.");
+        }
+        return keys[0];
+    }
+
+    /**
+     * Returns the payload of the smallest key without removing it.
+     *
+     * @return the payload of the smallest key, or 0 if it was added without
+     * one
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public long peekPayload() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Cannot peek an empty heap.");
+        }
+        return payloads == null ? 0 : payloads[0];
+    }
+
+    /**
+     * Returns if the heap is empty or not.
+     * @return a boolean representing if the heap is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the size of the heap.
+     * @return the size of the heap
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes every item, keeping the arrays for reuse.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Used for testing purposes only.
+     *
+     * @return the backing array of keys
+     */
+    public double[] getKeyArray() {
+        return keys;
+    }
+
+    /**
+     * Moves a hole up from a position while its parent's key is greater than
+     * the key being added, shifting those parents down into it.
+     *
+     * @param i the position of the hole
+     * @param key the key being added
+     * @return the position the key belongs at
+     */
+    private int upheap(int i, double key) {
+        while (i > 0) {
+            int parent = (i - 1) / ARITY;
+            if (keys[parent] <= key) {
+                break;
+            }
+            keys[i] = keys[parent];
+            if (payloads != null) {
+                payloads[i] = payloads[parent];
+            }
+            i = parent;
+        }
+        return i;
+    }
+
+    /**
+     * Moves a hole down from the root while its smallest child's key is
+     * smaller than the key being placed, shifting those children up into it.
+     *
+     * @param key the key being placed
+     * @return the position the key belongs at
+     */
+    private int downheap(double key) {
+        int i = 0;
+        while (true) {
+            int first = i * ARITY + 1;
+            if (first >= size) {
+                break;
+            }
+            int last = Math.min(first + ARITY, size),
+                child = first;
+            for (int c = first + 1; c < last; c++) {
+                if (keys[c] < keys[child]) {
+                    child = c;
+                }
+            }
+            if (keys[child] >= key) {
+                break;
+            }
+            keys[i] = keys[child];
+            if (payloads != null) {
+                payloads[i] = payloads[child];
+            }
+            i = child;
+        }
+        return i;
+    }
+
+    /**
+     * Checks that a key can be ordered.
+     *
+     * @param key the key to check
+     * @throws IllegalArgumentException if the key is NaN
+     */
+    private static void checkKey(double key) {
+        if (Double.isNaN(key)) {
+            throw new IllegalArgumentException("Cannot insert NaN key.");
+        }
+    }
+
+    /**
+     * Grows the arrays by 1.5 times.
+     */
+    private void grow() {
+        int length = Math.max(keys.length + 1, (int) (keys.length * 1.5));
+        keys = Arrays.copyOf(keys, length);
+        if (payloads != null) {
+            payloads = Arrays.copyOf(payloads, length);
+        }
+    }
+}
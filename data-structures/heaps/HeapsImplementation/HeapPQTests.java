@@ -1,7 +1,12 @@
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Random;
 
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
@@ -743,4 +748,125 @@ public class HeapPQTests {
         assertTrue(minPQ.isEmpty());
         checkBackingArray(expected, minPQ.getBackingHeap().getBackingArray(), STARTING_SIZE);
     }
+
+    @Test(timeout = TIMEOUT)
+    public void testHeapifyConstructor() {
+        minHeap = new MinHeap<>(Arrays.asList(43, 56, 23, 81, 1, 42));
+
+        /*                  Final heap:
+
+                                1
+                              /    \
+                          43          23
+                        /    \      /
+                      81      56  42
+         */
+
+        Integer[] expected = new Integer[10];
+        expected[1] = 1;
+        expected[2] = 43;
+        expected[3] = 23;
+        expected[4] = 81;
+        expected[5] = 56;
+        expected[6] = 42;
+
+        assertArrayEquals("BackingArray did not match expected array", expected, minHeap.getBackingArray());
+        assertEquals(6, minHeap.size());
+        for (int expectedItem : new int[] {1, 23, 42, 43, 56, 81}) {
+            assertEquals(expectedItem, (int) minHeap.remove());
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testHeapifyLargeCollection() {
+        Random random = new Random(22);
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            items.add(random.nextInt(1000));
+        }
+        minHeap = new MinHeap<>(items);
+        assertEquals(items.size() + 1, minHeap.getBackingArray().length);
+
+        Collections.sort(items);
+        for (Integer item : items) {
+            assertEquals(item, minHeap.remove());
+        }
+        assertTrue(minHeap.isEmpty());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testAddAll() {
+        minHeap.add(50);
+        minHeap.add(10);
+        MinHeap<Integer> heap = (MinHeap<Integer>) minHeap;
+
+        // Fewer items than the heap holds are added one at a time.
+        heap.addAll(Collections.singletonList(30));
+        // More are appended and the heap rebuilt.
+        heap.addAll(Arrays.asList(60, 5, 40, 20, 70, 0, 15, 25, 35));
+        assertEquals(12, heap.size());
+        assertEquals(15, heap.getBackingArray().length);
+
+        for (int expectedItem : new int[] {0, 5, 10, 15, 20, 25, 30, 35, 40, 50, 60, 70}) {
+            assertEquals(expectedItem, (int) heap.remove());
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testAddAllNullItemLeavesHeapUnchanged() {
+        minHeap.add(3);
+        try {
+            ((MinHeap<Integer>) minHeap).addAll(Arrays.asList(1, null));
+        } catch (IllegalArgumentException e) {
+            assertEquals(1, minHeap.size());
+            assertEquals(3, (int) minHeap.remove());
+            return;
+        }
+        throw new AssertionError("Expected IllegalArgumentException");
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testExceptionHeapifyNullData() {
+        minHeap = new MinHeap<>(Arrays.asList(1, null, 3));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testHeapifyArray() {
+        Integer[] items = {43, 56, 23, 81, 1, 42};
+        minHeap = new MinHeap<>(items);
+        items[0] = 0;
+
+        assertEquals(6, minHeap.size());
+        for (int expectedItem : new int[] {1, 23, 42, 43, 56, 81}) {
+            assertEquals(expectedItem, (int) minHeap.remove());
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testPQFromCollection() {
+        minPQ = MinPriorityQueue.of(Arrays.asList("05", "03", "09", "01"));
+        assertEquals(4, minPQ.size());
+        assertEquals("01", minPQ.dequeue());
+        assertEquals("03", minPQ.dequeue());
+        assertEquals("05", minPQ.dequeue());
+        assertEquals("09", minPQ.dequeue());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testPQFromArray() {
+        minPQ = MinPriorityQueue.of(new String[] {"05", "03", "09", "01"});
+        assertEquals(4, minPQ.size());
+        assertEquals("01", minPQ.dequeue());
+        assertEquals("03", minPQ.dequeue());
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testPQNullBackingHeap() {
+        minPQ = new MinPriorityQueue<>(null);
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testPQFromNullArray() {
+        MinPriorityQueue.of((String[]) null);
+    }
 }
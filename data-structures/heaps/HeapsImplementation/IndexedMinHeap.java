@@ -0,0 +1,279 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Implementation of an indexed d-ary min heap with int keys.
+ *
+ * The heap holds indices from 0 to capacity - 1, each with an int key, and
+ * remembers where every index sits in the heap. That lets decreaseKey move an
+ * index that is already in the heap instead of adding a second copy, so the
+ * heap never holds more than capacity items and nothing is allocated after
+ * construction. This is the priority queue Dijkstra's and Prim's algorithms
+ * want when vertices are numbered densely.
+ *
+ * Each node has arity children. A higher arity makes the heap shallower, so
+ * decreaseKey, which only moves up, does fewer swaps, at the cost of more
+ * comparisons per level in remove.
+ */
+public class IndexedMinHeap {
+
+    public static final int DEFAULT_ARITY = 4;
+
+    private final int arity;
+    private final int[] heap;
+    private final int[] heapKeys;
+    private final int[] position;
+    private int size;
+
+    /**
+     * Creates an empty heap for the indices 0 to capacity - 1 with
+     * {@code DEFAULT_ARITY} children per node.
+     *
+     * @param capacity the number of indices
+     * @throws IllegalArgumentException if capacity is negative
+     */
+    public IndexedMinHeap(int capacity) {
+        this(capacity, DEFAULT_ARITY);
+    }
+
+    /**
+     * Creates an empty heap for the indices 0 to capacity - 1.
+     *
+     * @param capacity the number of indices
+     * @param arity the number of children per node
+     * @throws IllegalArgumentException if capacity is negative or arity is
+     * less than 2
+     */
+    public IndexedMinHeap(int capacity, int arity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative.");
+        }
+        if (arity < 2) {
+            throw new IllegalArgumentException("Arity must be at least 2.");
+        }
+        this.arity = arity;
+        heap = new int[capacity];
+        heapKeys = new int[capacity];
+        position = new int[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    /**
+     * Adds an index to the heap.
+     *
+     * @param index the index to add
+     * @param key the index's key
+     * @throws IllegalArgumentException if the index is out of range or
+     * already in the heap
+     */
+    public void add(int index, int key) {
+        checkIndex(index);
+        if (position[index] != -1) {
+            throw new IllegalArgumentException("Index is already in the heap.");
+        }
+        position[index] = size;
+        heap[size] = index;
+        heapKeys[size] = key;
+        upheap(size++);
+    }
+
+    /**
+     * Lowers the key of an index in the heap.
+     *
+     * @param index the index to update
+     * @param key the new key, no greater than the current one
+     * @throws IllegalArgumentException if the index is out of range or not
+     * in the heap, or if key is greater than its current key
+     */
+    public void decreaseKey(int index, int key) {
+        checkIndex(index);
+        if (position[index] == -1) {
+            throw new IllegalArgumentException("Index is not in the heap.");
+        }
+        if (key > heapKeys[position[index]]) {
+            throw new IllegalArgumentException("New key is greater than the current key.");
+        }
+        heapKeys[position[index]] = key;
+        upheap(position[index]);
+    }
+
+    /**
+     * Adds an index to the heap, or lowers its key if it is already there
+     * with a greater key.
+     *
+     * @param index the index to add or update
+     * @param key the index's key
+     * @return true if the heap changed
+     * @throws IllegalArgumentException if the index is out of range
+     */
+    public boolean addOrDecreaseKey(int index, int key) {
+        checkIndex(index);
+        if (position[index] == -1) {
+            add(index, key);
+            return true;
+        }
+        if (key < heapKeys[position[index]]) {
+            heapKeys[position[index]] = key;
+            upheap(position[index]);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes and returns the index with the smallest key.
+     *
+     * @return the index removed
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public int remove() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Cannot remove from an empty heap.");
+        }
+        int min = heap[0];
+        position[min] = -1;
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            heapKeys[0] = heapKeys[size];
+            position[heap[0]] = 0;
+            downheap(0);
+        }
+        return min;
+    }
+
+    /**
+     * Returns the index with the smallest key without removing it.
+     *
+     * @return the index with the smallest key
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public int peek() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Cannot peek an empty heap.");
+        }
+        return heap[0];
+    }
+
+    /**
+     * Returns whether an index is in the heap.
+     *
+     * @param index the index to look for
+     * @return true if the index is in the heap
+     * @throws IllegalArgumentException if the index is out of range
+     */
+    public boolean contains(int index) {
+        checkIndex(index);
+        return position[index] != -1;
+    }
+
+    /**
+     * Returns the key of an index in the heap.
+     *
+     * @param index the index to look up
+     * @return the index's key
+     * @throws IllegalArgumentException if the index is out of range or not
+     * in the heap
+     */
+    public int keyOf(int index) {
+        checkIndex(index);
+        if (position[index] == -1) {
+            throw new IllegalArgumentException("Index is not in the heap.");
+        }
+        return heapKeys[position[index]];
+    }
+
+    /**
+     * Returns if the heap is empty or not.
+     * @return a boolean representing if the heap is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the size of the heap.
+     * @return the size of the heap
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes every index from the heap.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    /**
+     * Moves the item at a position up until its parent's key is no greater.
+     *
+     * @param i the position to move up from
+     */
+    private void upheap(int i) {
+        int index = heap[i],
+            key = heapKeys[i];
+        while (i > 0) {
+            int parent = (i - 1) / arity;
+            if (heapKeys[parent] <= key) {
+                break;
+            }
+            heap[i] = heap[parent];
+            heapKeys[i] = heapKeys[parent];
+            position[heap[i]] = i;
+            i = parent;
+        }
+        heap[i] = index;
+        heapKeys[i] = key;
+        position[index] = i;
+    }
+
+    /**
+     * Moves the item at a position down until no child's key is smaller.
+     *
+     * @param i the position to move down from
+     */
+    private void downheap(int i) {
+        int index = heap[i],
+            key = heapKeys[i];
+        while (true) {
+            int first = i * arity + 1;
+            if (first >= size) {
+                break;
+            }
+            int last = Math.min(first + arity, size),
+                child = first;
+            for (int c = first + 1; c < last; c++) {
+                if (heapKeys[c] < heapKeys[child]) {
+                    child = c;
+                }
+            }
+            if (heapKeys[child] >= key) {
+                break;
+            }
+            heap[i] = heap[child];
+            heapKeys[i] = heapKeys[child];
+            position[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = index;
+        heapKeys[i] = key;
+        position[index] = i;
+    }
+
+    /**
+     * Checks that an index is in range.
+     *
+     * @param index the index to check
+     * @throws IllegalArgumentException if the index is out of range
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= position.length) {
+            throw new IllegalArgumentException("Index must be between 0 and capacity - 1.");
+        }
+    }
+}
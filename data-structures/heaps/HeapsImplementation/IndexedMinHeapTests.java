@@ -0,0 +1,115 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IndexedMinHeapTests {
+    private static final int TIMEOUT = 200;
+
+    private IndexedMinHeap heap;
+
+    @Before
+    public void setUp() {
+        heap = new IndexedMinHeap(10);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testAddRemoveInKeyOrder() {
+        heap.add(3, 30);
+        heap.add(7, 10);
+        heap.add(0, 20);
+        assertEquals(3, heap.size());
+        assertEquals(7, heap.peek());
+        assertEquals(20, heap.keyOf(0));
+
+        assertEquals(7, heap.remove());
+        assertEquals(0, heap.remove());
+        assertEquals(3, heap.remove());
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(3));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testDecreaseKeyMovesIndexUp() {
+        heap.add(1, 50);
+        heap.add(2, 40);
+        heap.add(3, 30);
+        heap.decreaseKey(1, 5);
+        assertEquals(5, heap.keyOf(1));
+        assertEquals(1, heap.peek());
+
+        assertFalse(heap.addOrDecreaseKey(2, 45));
+        assertTrue(heap.addOrDecreaseKey(2, 1));
+        assertTrue(heap.addOrDecreaseKey(4, 3));
+        assertEquals(4, heap.size());
+        assertEquals(2, heap.remove());
+        assertEquals(4, heap.remove());
+        assertEquals(1, heap.remove());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testIndexCanBeAddedAgainAfterRemoval() {
+        heap.add(4, 10);
+        assertEquals(4, heap.remove());
+        heap.add(4, 20);
+        assertEquals(20, heap.keyOf(4));
+        heap.clear();
+        assertTrue(heap.isEmpty());
+        heap.add(4, 30);
+        assertEquals(1, heap.size());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testMatchesSortOrder() {
+        Random random = new Random(5);
+        for (int arity = 2; arity <= 8; arity++) {
+            int n = 2000;
+            IndexedMinHeap big = new IndexedMinHeap(n, arity);
+            int[] keys = new int[n];
+            for (int i = 0; i < n; i++) {
+                keys[i] = random.nextInt(1000000);
+                big.add(i, keys[i]);
+            }
+            for (int i = 0; i < n; i += 3) {
+                keys[i] -= random.nextInt(1000);
+                big.decreaseKey(i, keys[i]);
+            }
+
+            int[] removed = new int[n];
+            for (int i = 0; i < n; i++) {
+                removed[i] = keys[big.remove()];
+            }
+            int[] sorted = keys.clone();
+            Arrays.sort(sorted);
+            assertEquals(Arrays.toString(sorted), Arrays.toString(removed));
+        }
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testAddTwice() {
+        heap.add(1, 10);
+        heap.add(1, 5);
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testIncreaseKey() {
+        heap.add(1, 10);
+        heap.decreaseKey(1, 11);
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testIndexOutOfRange() {
+        heap.add(10, 1);
+    }
+
+    @Test(timeout = TIMEOUT, expected = NoSuchElementException.class)
+    public void testRemoveEmpty() {
+        heap.remove();
+    }
+}
@@ -1,3 +1,5 @@
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.NoSuchElementException;
 
 /**
@@ -17,6 +19,41 @@ public class MinHeap<T extends Comparable<? super T>>
         backingArray = (T[]) new Comparable[STARTING_SIZE];
     }
 
+    /**
+     * Creates a Heap holding the given items, built in O(n) time with
+     * Floyd's bottom-up heapify. The backing array is sized to fit the
+     * items, but is never smaller than {@code STARTING_SIZE}.
+     *
+     * @throws IllegalArgumentException if the collection or any item in it
+     * is null
+     * @param items the items to put in the heap
+     */
+    public MinHeap(Collection<? extends T> items) {
+        if (items == null) {
+            throw new IllegalArgumentException("Cannot build a heap from a null collection.");
+        }
+        backingArray = (T[]) new Comparable[Math.max(STARTING_SIZE, items.size() + 1)];
+        for (T item : items) {
+            if (item == null) {
+                throw new IllegalArgumentException("Cannot insert null data.");
+            }
+            backingArray[++size] = item;
+        }
+        heapify();
+    }
+
+    /**
+     * Creates a Heap holding the items of an array, built in O(n) time as
+     * with the collection constructor. The array is copied, not kept.
+     *
+     * @throws IllegalArgumentException if the array or any item in it is
+     * null
+     * @param items the items to put in the heap
+     */
+    public MinHeap(T[] items) {
+        this(items == null ? null : Arrays.asList(items));
+    }
+
     @Override
     public void add(T item) {
         if (item == null) {
@@ -37,6 +74,46 @@ public class MinHeap<T extends Comparable<? super T>>
         }
     }
 
+    /**
+     * Adds every item of a collection to the heap, growing the backing array
+     * at most once. When the collection is at least as large as the heap,
+     * the items are appended and the whole heap is rebuilt with Floyd's
+     * heapify in O(n) time. Otherwise they are added one at a time, which is
+     * cheaper for a few items.
+     *
+     * @throws IllegalArgumentException if the collection or any item in it
+     * is null
+     * @param items the items to add
+     */
+    public void addAll(Collection<? extends T> items) {
+        if (items == null) {
+            throw new IllegalArgumentException("Cannot add a null collection.");
+        }
+        for (T item : items) {
+            if (item == null) {
+                throw new IllegalArgumentException("Cannot insert null data.");
+            }
+        }
+
+        int needed = size + items.size() + 1;
+        if (backingArray.length < needed) {
+            T[] temp = (T[]) new Comparable[Math.max(needed, (int) (backingArray.length * 1.5))];
+            System.arraycopy(backingArray, 1, temp, 1, size);
+            backingArray = temp;
+        }
+
+        if (items.size() >= size) {
+            for (T item : items) {
+                backingArray[++size] = item;
+            }
+            heapify();
+        } else {
+            for (T item : items) {
+                add(item);
+            }
+        }
+    }
+
     @Override
     public T remove() {
         if (isEmpty()) {
@@ -52,6 +129,17 @@ public class MinHeap<T extends Comparable<? super T>>
         return ret;
     }
 
+    /**
+     * Restores the heap property over the whole backing array by moving
+     * every parent down, from the last one back to the root. Most nodes are
+     * near the bottom and move only a level or two, so this is O(n).
+     */
+    private void heapify() {
+        for (int i = size / 2; i >= 1; i--) {
+            downheap(i);
+        }
+    }
+
     private void downheap(int i) {
         if (i > size / 2) {
             return;
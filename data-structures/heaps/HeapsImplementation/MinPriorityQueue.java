@@ -1,3 +1,5 @@
+import java.util.Collection;
+
 /**
  * Implementation of a min priority queue.
  */
@@ -13,6 +15,50 @@ public class MinPriorityQueue<T extends Comparable<? super T>>
         backingHeap = new MinHeap<>();
     }
 
+    /**
+     * Creates a priority queue backed by the given heap, such as a
+     * DaryMinHeap or a PairingHeap. The queue takes ownership of the heap.
+     *
+     * @param backingHeap the heap to store the items in
+     * @throws IllegalArgumentException if backingHeap is null
+     */
+    public MinPriorityQueue(HeapInterface<T> backingHeap) {
+        if (backingHeap == null) {
+            throw new IllegalArgumentException("Backing heap must be valid.");
+        }
+        this.backingHeap = backingHeap;
+    }
+
+    /**
+     * Creates a priority queue holding the given items, built in O(n) time
+     * by MinHeap's bulk constructor. These are static factories rather than
+     * constructors so that {@code new MinPriorityQueue<>(null)} still
+     * resolves to the heap constructor.
+     *
+     * @param <T> the type of the items
+     * @param items the items to put in the queue
+     * @return the new queue
+     * @throws IllegalArgumentException if the collection or any item in it
+     * is null
+     */
+    public static <T extends Comparable<? super T>> MinPriorityQueue<T> of(Collection<? extends T> items) {
+        return new MinPriorityQueue<>(new MinHeap<T>(items));
+    }
+
+    /**
+     * Creates a priority queue holding the items of an array, built in O(n)
+     * time by MinHeap's bulk constructor. The array is copied, not kept.
+     *
+     * @param <T> the type of the items
+     * @param items the items to put in the queue
+     * @return the new queue
+     * @throws IllegalArgumentException if the array or any item in it is
+     * null
+     */
+    public static <T extends Comparable<? super T>> MinPriorityQueue<T> of(T[] items) {
+        return new MinPriorityQueue<>(new MinHeap<T>(items));
+    }
+
     @Override
     public void enqueue(T item) {
         backingHeap.add(item);
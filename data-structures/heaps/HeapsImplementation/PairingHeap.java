@@ -0,0 +1,189 @@
+import java.util.ArrayDeque;
+import java.util.NoSuchElementException;
+
+/**
+ * Implementation of a pairing heap.
+ *
+ * The heap is a tree of nodes, each no greater than its children, stored as
+ * a first child and a next sibling per node. Two trees are melded in
+ * constant time by making the root with the larger item the first child of
+ * the other, so add and merge are constant time. remove takes the root away
+ * and melds its children back together in two passes, first in pairs from
+ * left to right and then the pairs from right to left, which is amortized
+ * logarithmic time.
+ *
+ * Both passes are loops rather than recursion, since a root can have a
+ * child for almost every item in the heap. There is no backing array, so
+ * getBackingArray only builds one for testing.
+ */
+public class PairingHeap<T extends Comparable<? super T>>
+    implements HeapInterface<T> {
+
+    private Node<T> root;
+    private int size;
+
+    @Override
+    public void add(T item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Cannot insert null data.");
+        }
+        Node<T> node = new Node<>(item);
+        root = root == null ? node : meld(root, node);
+        size++;
+    }
+
+    @Override
+    public T remove() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Cannot remove from an empty heap.");
+        }
+
+        T ret = root.item;
+        root = combine(root.child);
+        size--;
+        return ret;
+    }
+
+    /**
+     * Moves every item of another heap into this one, leaving the other
+     * heap empty. This takes constant time.
+     *
+     * @param other the heap to take the items of
+     * @throws IllegalArgumentException if other is null or this heap
+     */
+    public void merge(PairingHeap<T> other) {
+        if (other == null || other == this) {
+            throw new IllegalArgumentException("Cannot merge with null or the same heap.");
+        }
+        if (other.root != null) {
+            root = root == null ? other.root : meld(root, other.root);
+            size += other.size;
+            other.clear();
+        }
+    }
+
+    /**
+     * Makes the root with the larger item the first child of the other. Ties
+     * keep first as the root.
+     *
+     * @param first the root of a tree with no siblings
+     * @param second the root of another tree with no siblings
+     * @return the root of the melded tree
+     */
+    private static <T extends Comparable<? super T>> Node<T> meld(Node<T> first, Node<T> second) {
+        if (second.item.compareTo(first.item) < 0) {
+            Node<T> temp = first;
+            first = second;
+            second = temp;
+        }
+        second.sibling = first.child;
+        first.child = second;
+        return first;
+    }
+
+    /**
+     * Melds a list of siblings into one tree with the two-pass method.
+     *
+     * @param first the first sibling, or null
+     * @return the root of the melded tree, or null if there were none
+     */
+    private static <T extends Comparable<? super T>> Node<T> combine(Node<T> first) {
+        if (first == null) {
+            return null;
+        }
+
+        // Meld in pairs from left to right, stacking each pair on the
+        // sibling links so the last pair ends up on top.
+        Node<T> pairs = null;
+        while (first != null) {
+            Node<T> second = first.sibling;
+            Node<T> pair;
+            if (second == null) {
+                pair = first;
+                first = null;
+            } else {
+                Node<T> rest = second.sibling;
+                first.sibling = null;
+                second.sibling = null;
+                pair = meld(first, second);
+                first = rest;
+            }
+            pair.sibling = pairs;
+            pairs = pair;
+        }
+
+        // Meld the pairs from right to left.
+        Node<T> tree = pairs;
+        pairs = pairs.sibling;
+        tree.sibling = null;
+        while (pairs != null) {
+            Node<T> next = pairs.sibling;
+            pairs.sibling = null;
+            tree = meld(pairs, tree);
+            pairs = next;
+        }
+        return tree;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+        size = 0;
+    }
+
+    /**
+     * Used for testing purposes only. A pairing heap has no backing array,
+     * so this makes a new array of length size() holding the items in
+     * preorder, with the minimum at index 0.
+     *
+     * @return the items of the heap
+     */
+    @Override
+    public Comparable[] getBackingArray() {
+        Comparable[] items = new Comparable[size];
+        ArrayDeque<Node<T>> stack = new ArrayDeque<>();
+        if (root != null) {
+            stack.push(root);
+        }
+        int i = 0;
+        while (!stack.isEmpty()) {
+            Node<T> node = stack.pop();
+            items[i++] = node.item;
+            if (node.sibling != null) {
+                stack.push(node.sibling);
+            }
+            if (node.child != null) {
+                stack.push(node.child);
+            }
+        }
+        return items;
+    }
+
+    /**
+     * A node of the heap, with its first child and its next sibling.
+     */
+    private static final class Node<T> {
+        private final T item;
+        private Node<T> child;
+        private Node<T> sibling;
+
+        /**
+         * Creates a node with no children or siblings.
+         *
+         * @param item the item in the node
+         */
+        Node(T item) {
+            this.item = item;
+        }
+    }
+}
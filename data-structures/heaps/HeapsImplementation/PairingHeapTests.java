@@ -0,0 +1,100 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PairingHeapTests {
+    private static final int TIMEOUT = 200;
+
+    private PairingHeap<Integer> heap;
+
+    @Before
+    public void setUp() {
+        heap = new PairingHeap<>();
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testMatchesPriorityQueue() {
+        Random random = new Random(21);
+        PriorityQueue<Integer> expected = new PriorityQueue<>();
+        for (int i = 0; i < 5000; i++) {
+            if (random.nextInt(3) == 0 && !expected.isEmpty()) {
+                assertEquals(expected.poll(), heap.remove());
+            } else {
+                int item = random.nextInt(100);
+                heap.add(item);
+                expected.add(item);
+            }
+            assertEquals(expected.size(), heap.size());
+        }
+        while (!expected.isEmpty()) {
+            assertEquals(expected.poll(), heap.remove());
+        }
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testLongSiblingList() {
+        int n = 100000;
+        for (int i = 0; i < n; i++) {
+            heap.add(i);
+        }
+        for (int i = 0; i < n; i++) {
+            assertEquals(i, (int) heap.remove());
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testMerge() {
+        PairingHeap<Integer> other = new PairingHeap<>();
+        heap.add(5);
+        heap.add(1);
+        other.add(3);
+        other.add(0);
+        other.add(4);
+        heap.merge(other);
+
+        assertTrue(other.isEmpty());
+        assertEquals(5, heap.size());
+        Comparable[] items = heap.getBackingArray();
+        assertEquals(0, items[0]);
+        Arrays.sort(items);
+        assertArrayEquals(new Integer[] {0, 1, 3, 4, 5}, items);
+        for (int expected : new int[] {0, 1, 3, 4, 5}) {
+            assertEquals(expected, (int) heap.remove());
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testBacksPriorityQueue() {
+        MinPriorityQueue<String> queue = new MinPriorityQueue<>(new PairingHeap<String>());
+        queue.enqueue("b");
+        queue.enqueue("c");
+        queue.enqueue("a");
+        assertEquals("a", queue.dequeue());
+        queue.clear();
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testMergeSelf() {
+        heap.merge(heap);
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testAddNull() {
+        heap.add(null);
+    }
+
+    @Test(timeout = TIMEOUT, expected = NoSuchElementException.class)
+    public void testRemoveEmpty() {
+        heap.remove();
+    }
+}
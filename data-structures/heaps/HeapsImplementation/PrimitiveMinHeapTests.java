@@ -0,0 +1,121 @@
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PrimitiveMinHeapTests {
+    private static final int TIMEOUT = 200;
+
+    @Test(timeout = TIMEOUT)
+    public void testLongMatchesPriorityQueue() {
+        Random random = new Random(24);
+        LongMinHeap heap = new LongMinHeap(1);
+        PriorityQueue<Long> expected = new PriorityQueue<>();
+        for (int i = 0; i < 5000; i++) {
+            if (random.nextInt(3) == 0 && !expected.isEmpty()) {
+                assertEquals((long) expected.poll(), heap.remove());
+            } else {
+                long key = random.nextLong() % 1000;
+                heap.add(key);
+                expected.add(key);
+            }
+        }
+        while (!expected.isEmpty()) {
+            assertEquals((long) expected.poll(), heap.remove());
+        }
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testLongPayloadsFollowKeys() {
+        Random random = new Random(24);
+        LongMinHeap heap = new LongMinHeap();
+        heap.add(500);
+        long[] keys = new long[3000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextInt(1000000) * 2L + 1;
+            heap.add(keys[i], keys[i] * 10);
+        }
+        assertEquals(keys.length + 1, heap.size());
+
+        Arrays.sort(keys);
+        int next = 0;
+        while (!heap.isEmpty()) {
+            long key = heap.peek();
+            long payload = heap.peekPayload();
+            assertEquals(key, heap.remove());
+            if (key == 500) {
+                assertEquals(0, payload);
+            } else {
+                assertEquals(keys[next++], key);
+                assertEquals(key * 10, payload);
+            }
+        }
+        assertEquals(keys.length, next);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testLongClearKeepsArrays() {
+        LongMinHeap heap = new LongMinHeap();
+        for (int i = 100; i > 0; i--) {
+            heap.add(i, -i);
+        }
+        long[] keyArray = heap.getKeyArray();
+        heap.clear();
+        assertTrue(heap.isEmpty());
+        for (int i = 100; i > 0; i--) {
+            heap.add(i, -i);
+        }
+        assertSame(keyArray, heap.getKeyArray());
+        assertEquals(1, heap.peek());
+        assertEquals(-1, heap.peekPayload());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testDoubleMatchesPriorityQueue() {
+        Random random = new Random(24);
+        DoubleMinHeap heap = new DoubleMinHeap();
+        PriorityQueue<Double> expected = new PriorityQueue<>();
+        for (int i = 0; i < 5000; i++) {
+            if (random.nextInt(3) == 0 && !expected.isEmpty()) {
+                long payload = heap.peekPayload();
+                double key = heap.remove();
+                assertEquals(expected.poll(), key, 0);
+                assertEquals(Double.doubleToLongBits(key), payload);
+            } else {
+                double key = random.nextGaussian();
+                heap.add(key, Double.doubleToLongBits(key));
+                expected.add(key);
+            }
+        }
+        heap.add(Double.NEGATIVE_INFINITY);
+        assertEquals(Double.NEGATIVE_INFINITY, heap.peek(), 0);
+        assertEquals(0, heap.peekPayload());
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testDoubleNaN() {
+        new DoubleMinHeap().add(Double.NaN);
+    }
+
+    @Test(timeout = TIMEOUT, expected = NoSuchElementException.class)
+    public void testLongRemoveEmpty() {
+        new LongMinHeap().remove();
+    }
+
+    @Test(timeout = TIMEOUT, expected = NoSuchElementException.class)
+    public void testDoublePeekEmpty() {
+        new DoubleMinHeap().peek();
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testZeroCapacity() {
+        new LongMinHeap(0);
+    }
+}
@@ -0,0 +1,244 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collector;
+
+/**
+ * A heap that keeps the k best items offered to it and discards the rest.
+ *
+ * Items are ranked by a comparator, best first, so keeping the k smallest
+ * items uses natural order and keeping the k largest uses reverse order.
+ * The heap is ordered the other way round, with the worst kept item at the
+ * root. Once k items are kept, a new item is compared with the root only:
+ * if it is not better it is dropped at once, and otherwise it replaces the
+ * root and moves down. A stream of n items therefore takes O(n log k) time
+ * and never holds more than k of them.
+ *
+ * The backing array starts small and grows by 1.5 times up to k, so a large
+ * k costs nothing until that many items arrive. The collectors returned by
+ * smallest and largest fill one heap per stream partition and combine them
+ * with merge, so they work on parallel streams.
+ */
+public class TopKHeap<T> {
+
+    private final int k;
+    private final Comparator<? super T> comparator;
+    private T[] backingArray;
+    private int size;
+
+    /**
+     * Creates a heap that keeps the k best items.
+     *
+     * @param k the number of items to keep
+     * @param comparator orders the items, best first
+     * @throws IllegalArgumentException if k is negative or comparator is
+     * null
+     */
+    public TopKHeap(int k, Comparator<? super T> comparator) {
+        if (k < 0) {
+            throw new IllegalArgumentException("K cannot be negative.");
+        }
+        if (comparator == null) {
+            throw new IllegalArgumentException("Comparator must be valid.");
+        }
+        this.k = k;
+        this.comparator = comparator;
+        backingArray = (T[]) new Object[Math.min(k, HeapInterface.STARTING_SIZE)];
+    }
+
+    /**
+     * Returns a collector of the k smallest items of a stream, in ascending
+     * order.
+     *
+     * @param <T> the type of the items
+     * @param k the number of items to keep
+     * @return the collector
+     * @throws IllegalArgumentException if k is negative
+     */
+    public static <T extends Comparable<? super T>> Collector<T, ?, List<T>> smallest(int k) {
+        return collector(k, Comparator.naturalOrder());
+    }
+
+    /**
+     * Returns a collector of the k largest items of a stream, in descending
+     * order.
+     *
+     * @param <T> the type of the items
+     * @param k the number of items to keep
+     * @return the collector
+     * @throws IllegalArgumentException if k is negative
+     */
+    public static <T extends Comparable<? super T>> Collector<T, ?, List<T>> largest(int k) {
+        return collector(k, Comparator.reverseOrder());
+    }
+
+    /**
+     * Returns a collector of the k best items of a stream by a comparator,
+     * best first.
+     *
+     * @param <T> the type of the items
+     * @param k the number of items to keep
+     * @param comparator orders the items, best first
+     * @return the collector
+     * @throws IllegalArgumentException if k is negative or comparator is
+     * null
+     */
+    public static <T> Collector<T, ?, List<T>> collector(int k, Comparator<? super T> comparator) {
+        if (k < 0) {
+            throw new IllegalArgumentException("K cannot be negative.");
+        }
+        if (comparator == null) {
+            throw new IllegalArgumentException("Comparator must be valid.");
+        }
+        return Collector.of(
+            () -> new TopKHeap<T>(k, comparator),
+            TopKHeap::offer,
+            (first, second) -> {
+                if (first.size < second.size) {
+                    second.merge(first);
+                    return second;
+                }
+                first.merge(second);
+                return first;
+            },
+            TopKHeap::toSortedList,
+            Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Offers an item, keeping it if it is among the k best seen so far.
+     *
+     * @param item the item to offer
+     * @return true if the item was kept
+     * @throws IllegalArgumentException if the item is null
+     */
+    public boolean offer(T item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Cannot insert null data.");
+        }
+        if (size < k) {
+            if (size == backingArray.length) {
+                int length = Math.min(k, Math.max(size + 1, (int) (size * 1.5)));
+                backingArray = Arrays.copyOf(backingArray, length);
+            }
+            upheap(size++, item);
+            return true;
+        }
+        if (k == 0 || comparator.compare(item, backingArray[0]) >= 0) {
+            return false;
+        }
+        downheap(item);
+        return true;
+    }
+
+    /**
+     * Offers every item kept by another heap to this one. The other heap is
+     * left unchanged.
+     *
+     * @param other the heap to take items from
+     * @throws IllegalArgumentException if other is null or this heap
+     */
+    public void merge(TopKHeap<? extends T> other) {
+        if (other == null || other == this) {
+            throw new IllegalArgumentException("Cannot merge with null or the same heap.");
+        }
+        for (int i = 0; i < other.size; i++) {
+            offer(other.backingArray[i]);
+        }
+    }
+
+    /**
+     * Returns the worst item kept, which an item must beat to be kept once
+     * the heap is full.
+     *
+     * @return the worst item kept
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public T peek() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Cannot peek an empty heap.");
+        }
+        return backingArray[0];
+    }
+
+    /**
+     * Returns the items kept, best first. The heap is left unchanged.
+     *
+     * @return a new list of the items kept
+     */
+    public List<T> toSortedList() {
+        T[] items = Arrays.copyOf(backingArray, size);
+        Arrays.sort(items, comparator);
+        return new ArrayList<>(Arrays.asList(items));
+    }
+
+    /**
+     * Returns if the heap is empty or not.
+     * @return a boolean representing if the heap is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of items kept, at most k.
+     * @return the size of the heap
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of items this heap keeps.
+     * @return k
+     */
+    public int getK() {
+        return k;
+    }
+
+    /**
+     * Places an item at a position, moving it up past every parent it is
+     * worse than.
+     *
+     * @param i the position to start at, which must be empty
+     * @param item the item to place
+     */
+    private void upheap(int i, T item) {
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (comparator.compare(backingArray[parent], item) >= 0) {
+                break;
+            }
+            backingArray[i] = backingArray[parent];
+            i = parent;
+        }
+        backingArray[i] = item;
+    }
+
+    /**
+     * Replaces the root with an item, moving it down past every child that
+     * is worse than it.
+     *
+     * @param item the item to place
+     */
+    private void downheap(T item) {
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && comparator.compare(backingArray[child + 1], backingArray[child]) > 0) {
+                child++;
+            }
+            if (comparator.compare(backingArray[child], item) <= 0) {
+                break;
+            }
+            backingArray[i] = backingArray[child];
+            i = child;
+        }
+        backingArray[i] = item;
+    }
+}
@@ -0,0 +1,114 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TopKHeapTests {
+    private static final int TIMEOUT = 200;
+
+    private TopKHeap<Integer> heap;
+
+    @Before
+    public void setUp() {
+        heap = new TopKHeap<>(3, Comparator.naturalOrder());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testKeepsSmallest() {
+        assertTrue(heap.offer(50));
+        assertTrue(heap.offer(20));
+        assertTrue(heap.offer(40));
+        assertEquals(50, (int) heap.peek());
+
+        assertTrue(heap.offer(10));
+        assertEquals(40, (int) heap.peek());
+        assertFalse(heap.offer(40));
+        assertFalse(heap.offer(90));
+        assertEquals(3, heap.size());
+        assertEquals(Arrays.asList(10, 20, 40), heap.toSortedList());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testMatchesSort() {
+        Random random = new Random(25);
+        for (int k : new int[] {1, 2, 7, 100, 5000}) {
+            List<Integer> items = new ArrayList<>();
+            TopKHeap<Integer> largest = new TopKHeap<>(k, Comparator.reverseOrder());
+            for (int i = 0; i < 3000; i++) {
+                int item = random.nextInt(500);
+                items.add(item);
+                largest.offer(item);
+            }
+            items.sort(Collections.reverseOrder());
+            assertEquals(items.subList(0, Math.min(k, items.size())), largest.toSortedList());
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testMerge() {
+        TopKHeap<Integer> other = new TopKHeap<>(3, Comparator.naturalOrder());
+        heap.offer(5);
+        heap.offer(8);
+        other.offer(1);
+        other.offer(9);
+        other.offer(6);
+        heap.merge(other);
+        assertEquals(Arrays.asList(1, 5, 6), heap.toSortedList());
+        assertEquals(3, other.size());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testCollectors() {
+        List<Integer> items = IntStream.range(0, 5000)
+            .map(i -> (int) ((i * 2654435761L) % 5003))
+            .boxed()
+            .collect(Collectors.toList());
+        List<Integer> sorted = new ArrayList<>(items);
+        Collections.sort(sorted);
+
+        assertEquals(sorted.subList(0, 10), items.stream().collect(TopKHeap.smallest(10)));
+        assertEquals(sorted.subList(0, 10), items.parallelStream().collect(TopKHeap.smallest(10)));
+
+        List<Integer> descending = new ArrayList<>(sorted.subList(sorted.size() - 25, sorted.size()));
+        Collections.reverse(descending);
+        assertEquals(descending, items.parallelStream().collect(TopKHeap.largest(25)));
+
+        assertEquals(Arrays.asList("a", "bb"), Arrays.asList("dddd", "bb", "ccc", "a").stream()
+            .collect(TopKHeap.collector(2, Comparator.comparingInt(String::length))));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testZeroK() {
+        TopKHeap<Integer> none = new TopKHeap<>(0, Comparator.naturalOrder());
+        assertFalse(none.offer(1));
+        assertTrue(none.isEmpty());
+        assertEquals(Collections.emptyList(), Arrays.asList(3, 1, 2).stream().collect(TopKHeap.smallest(0)));
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testNegativeK() {
+        TopKHeap.smallest(-1);
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testOfferNull() {
+        heap.offer(null);
+    }
+
+    @Test(timeout = TIMEOUT, expected = NoSuchElementException.class)
+    public void testPeekEmpty() {
+        heap.peek();
+    }
+}